@@ -0,0 +1,63 @@
+package com.tuanhust.datagenerator;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Ghi dữ liệu vào Postgres bằng {@code COPY ... FROM STDIN} (định dạng text, phân tách bằng tab).
+ */
+public final class CopyWriter implements AutoCloseable {
+    private final Writer writer;
+    private final String table;
+    private long rows;
+
+    public CopyWriter(Connection connection, String table, String columns) throws SQLException {
+        this.table = table;
+        PGCopyOutputStream out = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                "COPY " + table + " (" + columns + ") FROM STDIN", 1 << 16);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    public void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            Object value = values[i];
+            if (value == null) {
+                writer.write("\\N");
+            } else {
+                escape(value.toString());
+            }
+        }
+        writer.write('\n');
+        rows++;
+    }
+
+    private void escape(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        System.out.printf("✓ %-20s %,d rows%n", table, rows);
+    }
+}
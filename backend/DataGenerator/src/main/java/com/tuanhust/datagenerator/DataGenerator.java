@@ -0,0 +1,39 @@
+package com.tuanhust.datagenerator;
+
+/**
+ * Sinh dữ liệu tổng hợp cỡ production cho môi trường benchmark/load test.
+ * <pre>
+ * mvn -q compile exec:java -Dexec.args="--users=100000 --projects=10000 --tasks=5000000 --reset"
+ * </pre>
+ * Tham số: users, projects, tasks, activities, notifications, vectors, dimensions, project-skew,
+ * user-skew, comments-per-task, checklists-per-task, seed, pg-url, pg-user, pg-password, mongo-uri,
+ * only (users,core,mongo,vector), reset. Cùng seed luôn sinh ra cùng dữ liệu.
+ */
+public class DataGenerator {
+
+    public static void main(String[] args) throws Exception {
+        GeneratorConfig config = GeneratorConfig.parse(args);
+        long start = System.currentTimeMillis();
+
+        Dataset dataset = new Dataset(config);
+        Dataset.Project hottest = dataset.projects()[0];
+        System.out.printf("✓ Planned %,d projects, hottest %s has %,d tasks and %d members%n",
+                config.projects(), hottest.id(), hottest.tasks(), hottest.members().length);
+
+        PostgresLoader postgres = new PostgresLoader(dataset);
+        if (config.includes("users")) {
+            postgres.loadUsers();
+        }
+        if (config.includes("core")) {
+            postgres.loadCore();
+        }
+        if (config.includes("vector")) {
+            postgres.loadVectors();
+        }
+        if (config.includes("mongo")) {
+            new MongoLoader(dataset).load();
+        }
+
+        System.out.printf("✓ Done in %,d s%n", (System.currentTimeMillis() - start) / 1000);
+    }
+}
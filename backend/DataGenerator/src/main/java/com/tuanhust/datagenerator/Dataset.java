@@ -0,0 +1,224 @@
+package com.tuanhust.datagenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Mô hình dữ liệu sinh ra, hoàn toàn xác định theo {@code seed}: mỗi project/task có Random riêng
+ * nên từng bảng có thể được sinh lại độc lập (task, assignee, comment... mỗi bảng một lượt COPY).
+ * Kích thước project theo Zipf: project hạng 0 là dự án nóng nhất.
+ */
+public final class Dataset {
+    private static final String[] LAST_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan",
+            "Vũ", "Võ", "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương"};
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Minh", "Đức", "Thu", "Ngọc", "Quang", "Hữu",
+            "Thanh", "Gia"};
+    private static final String[] FIRST_NAMES = {"An", "Bình", "Chi", "Dũng", "Giang", "Hà", "Hải", "Hùng",
+            "Khánh", "Lan", "Linh", "Long", "Mai", "Nam", "Phương", "Quân", "Sơn", "Tâm", "Thảo", "Trang",
+            "Tuấn", "Việt"};
+    private static final String[] WORDS = {"thiết kế", "giao diện", "API", "kiểm thử", "triển khai", "báo cáo",
+            "tối ưu", "dữ liệu", "người dùng", "bảo mật", "tài liệu", "sửa lỗi", "đăng nhập", "thanh toán",
+            "thông báo", "hiệu năng", "di chuyển", "cấu hình", "giám sát", "phân quyền"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    public static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private final GeneratorConfig config;
+    private final PowerLaw userPopularity;
+    private final Project[] projects;
+    private final long[] taskOffsets;
+
+    public record Project(int index, String id, String name, boolean archived, int[] members, String[] roles,
+                          String[] columns, String archivedColumn, String[] labels, long tasks) {
+    }
+
+    public record Task(long index, String id, Project project, String title, String description, boolean archived,
+                       String priority, boolean completed, Instant dueAt, Instant createdAt, int creator,
+                       double sortOrder, String column, int[] assignees, String[] labels,
+                       int comments, int checkLists) {
+    }
+
+    public record Comment(String id, String taskId, String body, int creator, Instant createdAt, Integer mention) {
+    }
+
+    public Dataset(GeneratorConfig config) {
+        this.config = config;
+        this.userPopularity = new PowerLaw(config.users(), config.userSkew());
+        long[] sizes = new PowerLaw(config.projects(), config.projectSkew()).partition(config.tasks());
+        this.projects = new Project[config.projects()];
+        this.taskOffsets = new long[config.projects() + 1];
+        for (int p = 0; p < projects.length; p++) {
+            projects[p] = project(p, sizes[p]);
+            taskOffsets[p + 1] = taskOffsets[p] + sizes[p];
+        }
+    }
+
+    public GeneratorConfig config() {
+        return config;
+    }
+
+    public Project[] projects() {
+        return projects;
+    }
+
+    public String userId(int user) {
+        return id("user", user);
+    }
+
+    public String userEmail(int user) {
+        return "user" + user + "@loadtest.local";
+    }
+
+    public String userName(int user) {
+        return LAST_NAMES[user % LAST_NAMES.length] + " "
+                + MIDDLE_NAMES[(user / LAST_NAMES.length) % MIDDLE_NAMES.length] + " "
+                + FIRST_NAMES[(user / 7) % FIRST_NAMES.length] + " " + user;
+    }
+
+    public int popularUser(Random random) {
+        return userPopularity.sample(random);
+    }
+
+    public Task task(long g) {
+        int p = Arrays.binarySearch(taskOffsets, g);
+        p = p >= 0 ? p : -p - 2;
+        while (p + 1 < taskOffsets.length && taskOffsets[p + 1] == g) {
+            p++;
+        }
+        Project project = projects[p];
+        Random r = random("task", g);
+        int[] members = project.members();
+        boolean archived = r.nextDouble() < 0.05;
+        int assigneeCount = Math.min(members.length, PowerLaw.heavyTailCount(r, 1.2, 5));
+        int labelCount = Math.min(project.labels().length, r.nextInt(3));
+        return new Task(
+                g,
+                id("task", g),
+                project,
+                "Task #" + (g - taskOffsets[p] + 1) + " " + words(r, 2 + r.nextInt(5)),
+                description(r),
+                archived,
+                PRIORITIES[r.nextInt(PRIORITIES.length)],
+                r.nextDouble() < 0.3,
+                r.nextDouble() < 0.8 ? NOW.plus(r.nextInt(120) - 60, ChronoUnit.DAYS) : null,
+                NOW.minus(r.nextInt(400 * 24), ChronoUnit.HOURS),
+                members[r.nextInt(members.length)],
+                (g - taskOffsets[p] + 1) * 1024.0,
+                project.columns()[r.nextInt(project.columns().length)],
+                distinct(r, members, assigneeCount),
+                distinct(r, project.labels(), labelCount),
+                PowerLaw.heavyTailCount(r, config.commentsPerTask(), 300),
+                PowerLaw.heavyTailCount(r, config.checkListsPerTask(), 50)
+        );
+    }
+
+    public void forEachTask(Consumer<Task> consumer) {
+        for (long g = 0; g < config.tasks(); g++) {
+            consumer.accept(task(g));
+        }
+    }
+
+    public void forEachComment(Task task, Consumer<Comment> consumer) {
+        Random r = random("comment", task.index());
+        int[] members = task.project().members();
+        for (int k = 0; k < task.comments(); k++) {
+            consumer.accept(new Comment(
+                    id("comment-" + task.index(), k),
+                    task.id(),
+                    "Bình luận về " + words(r, 3 + r.nextInt(20)),
+                    members[r.nextInt(members.length)],
+                    task.createdAt().plus(r.nextInt(24 * 60), ChronoUnit.MINUTES),
+                    r.nextDouble() < 0.2 ? members[r.nextInt(members.length)] : null
+            ));
+        }
+    }
+
+    public String checkListId(Task task, int k) {
+        return id("checklist-" + task.index(), k);
+    }
+
+    public String words(Random r, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[r.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    public Random random(String kind, long index) {
+        return new Random(config.seed() * 0x9E3779B97F4A7C15L ^ kind.hashCode() * 31L ^ index * 0xBF58476D1CE4E5B9L);
+    }
+
+    public String id(String kind, long index) {
+        return UUID.nameUUIDFromBytes((config.seed() + ":" + kind + ":" + index)
+                .getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private Project project(int p, long tasks) {
+        Random r = random("project", p);
+        int memberCount = (int) Math.min(Math.min(config.users(), 300), 3 + tasks / 50);
+        LinkedHashSet<Integer> members = new LinkedHashSet<>();
+        members.add(popularUser(r));
+        for (int attempts = 0; members.size() < memberCount && attempts < memberCount * 10; attempts++) {
+            members.add(popularUser(r));
+        }
+        int[] memberArray = members.stream().mapToInt(Integer::intValue).toArray();
+        String[] roles = new String[memberArray.length];
+        roles[0] = "OWNER";
+        for (int i = 1; i < roles.length; i++) {
+            double d = r.nextDouble();
+            roles[i] = d < 0.1 ? "ADMIN" : d < 0.2 ? "OBSERVER" : "MEMBER";
+        }
+        String[] columns = new String[3 + r.nextInt(5)];
+        for (int k = 0; k < columns.length; k++) {
+            columns[k] = id("column-" + p, k);
+        }
+        String[] labels = new String[4 + r.nextInt(7)];
+        for (int k = 0; k < labels.length; k++) {
+            labels[k] = id("label-" + p, k);
+        }
+        return new Project(p, id("project", p), "Dự án " + words(r, 2) + " " + p,
+                r.nextDouble() < 0.02, memberArray, roles, columns,
+                r.nextDouble() < 0.1 ? id("column-" + p, columns.length) : null, labels, tasks);
+    }
+
+    private String description(Random r) {
+        if (r.nextDouble() < 0.6) {
+            return words(r, 5 + r.nextInt(15));
+        }
+        StringBuilder sb = new StringBuilder();
+        int paragraphs = 1 + PowerLaw.heavyTailCount(r, 3, 40);
+        for (int i = 0; i < paragraphs; i++) {
+            sb.append(words(r, 20 + r.nextInt(60))).append(".\n");
+        }
+        return sb.toString();
+    }
+
+    private static int[] distinct(Random r, int[] source, int count) {
+        int[] copy = source.clone();
+        for (int i = 0; i < count; i++) {
+            int j = i + r.nextInt(copy.length - i);
+            int tmp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = tmp;
+        }
+        return Arrays.copyOf(copy, count);
+    }
+
+    private static String[] distinct(Random r, String[] source, int count) {
+        String[] copy = source.clone();
+        for (int i = 0; i < count; i++) {
+            int j = i + r.nextInt(copy.length - i);
+            String tmp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = tmp;
+        }
+        return Arrays.copyOf(copy, count);
+    }
+}
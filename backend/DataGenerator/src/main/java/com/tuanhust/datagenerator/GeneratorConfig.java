@@ -0,0 +1,75 @@
+package com.tuanhust.datagenerator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tham số dòng lệnh dạng {@code --key=value}. Mặc định tạo một môi trường cỡ vừa
+ * (20k user, 2k project, 500k task) chạy xong trong vài phút.
+ */
+public record GeneratorConfig(
+        int users,
+        int projects,
+        int tasks,
+        int activities,
+        int notifications,
+        int vectors,
+        int dimensions,
+        double projectSkew,
+        double userSkew,
+        double commentsPerTask,
+        double checkListsPerTask,
+        long seed,
+        String pgUrl,
+        String pgUser,
+        String pgPassword,
+        String mongoUri,
+        Set<String> targets,
+        boolean reset
+) {
+    public static GeneratorConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Invalid argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        int tasks = Integer.parseInt(values.getOrDefault("tasks", "500000"));
+        return new GeneratorConfig(
+                Integer.parseInt(values.getOrDefault("users", "20000")),
+                Integer.parseInt(values.getOrDefault("projects", "2000")),
+                tasks,
+                Integer.parseInt(values.getOrDefault("activities", String.valueOf(tasks * 4))),
+                Integer.parseInt(values.getOrDefault("notifications", String.valueOf(tasks))),
+                Integer.parseInt(values.getOrDefault("vectors", String.valueOf(Math.min(tasks, 200_000)))),
+                Integer.parseInt(values.getOrDefault("dimensions", "384")),
+                Double.parseDouble(values.getOrDefault("project-skew", "1.1")),
+                Double.parseDouble(values.getOrDefault("user-skew", "0.8")),
+                Double.parseDouble(values.getOrDefault("comments-per-task", "2")),
+                Double.parseDouble(values.getOrDefault("checklists-per-task", "1.5")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.getOrDefault("pg-url", env("PG_URL", "jdbc:postgresql://localhost:5432")),
+                values.getOrDefault("pg-user", env("POSTGRES_USER", "postgres")),
+                values.getOrDefault("pg-password", env("POSTGRES_PASSWORD", "postgres")),
+                values.getOrDefault("mongo-uri", env("MONGO_URI", "mongodb://localhost:27017")),
+                Set.of(values.getOrDefault("only", "users,core,mongo,vector").split(",")),
+                Boolean.parseBoolean(values.getOrDefault("reset", "false"))
+        );
+    }
+
+    public boolean includes(String target) {
+        return targets.contains(target);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
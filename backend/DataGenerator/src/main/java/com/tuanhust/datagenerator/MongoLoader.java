@@ -0,0 +1,124 @@
+package com.tuanhust.datagenerator;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nạp activity_db.activities và notification_db.notifications bằng {@code insertMany}.
+ * Activity chọn task ngẫu nhiên đều trên toàn bộ task nên dự án nóng nhận nhiều activity hơn;
+ * notification dồn vào các user phổ biến.
+ */
+public final class MongoLoader {
+    private static final int BATCH_SIZE = 10_000;
+    // Tỉ lệ xấp xỉ các loại activity thực tế: cập nhật/di chuyển task chiếm đa số
+    private static final String[] ACTION_TYPES = {
+            "UPDATE_TASK", "UPDATE_TASK", "UPDATE_TASK", "MOVE_TASK", "MOVE_TASK", "MOVE_TASK",
+            "ADD_COMMENT", "ADD_COMMENT", "COMPLETE_CHECKLIST", "COMPLETE_CHECKLIST", "CREATE_TASK",
+            "ADD_MEMBER_TASK", "ADD_LABEL_TASK", "COMPLETE_TASK", "ARCHIVE_TASK", "ADD_CHECKLIST",
+            "UPDATE_COMMENT", "DELETE_MEMBER_TASK"
+    };
+
+    private final Dataset dataset;
+    private final GeneratorConfig config;
+
+    public MongoLoader(Dataset dataset) {
+        this.dataset = dataset;
+        this.config = dataset.config();
+    }
+
+    public void load() {
+        try (MongoClient client = MongoClients.create(config.mongoUri())) {
+            loadActivities(client.getDatabase("activity_db").getCollection("activities"));
+            loadNotifications(client.getDatabase("notification_db").getCollection("notifications"));
+        }
+    }
+
+    private void loadActivities(MongoCollection<Document> activities) {
+        if (config.reset()) {
+            activities.drop();
+        }
+        Random r = dataset.random("activities", 0);
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < config.activities(); i++) {
+            Dataset.Task task = dataset.task((long) (r.nextDouble() * config.tasks()));
+            int[] members = task.project().members();
+            int actor = members[r.nextInt(members.length)];
+            String actionType = ACTION_TYPES[r.nextInt(ACTION_TYPES.length)];
+            batch.add(new Document()
+                    .append("projectId", task.project().id())
+                    .append("taskId", task.id())
+                    .append("actorId", dataset.userId(actor))
+                    .append("actorName", dataset.userName(actor))
+                    .append("actorEmail", dataset.userEmail(actor))
+                    .append("actionType", actionType)
+                    .append("description", "Đã " + dataset.words(r, 3))
+                    .append("targetId", task.id())
+                    .append("targetName", task.title())
+                    .append("metadata", new Document("old", new Document("priority", "LOW"))
+                            .append("new", new Document("priority", task.priority())))
+                    // TTL của activity là 90 ngày
+                    .append("createdAt", Date.from(Dataset.NOW.minus(r.nextInt(89 * 24 * 60), ChronoUnit.MINUTES)))
+                    .append("_class", "com.tuanhust.activityservice.entity.Activity"));
+            if (batch.size() == BATCH_SIZE) {
+                flush(activities, batch);
+            }
+        }
+        flush(activities, batch);
+        activities.createIndex(Indexes.ascending("projectId"));
+        activities.createIndex(Indexes.ascending("taskId"));
+        activities.createIndex(Indexes.ascending("actorId"));
+        activities.createIndex(Indexes.compoundIndex(Indexes.ascending("projectId"), Indexes.descending("createdAt")),
+                new IndexOptions().name("idx_project_created_desc"));
+        activities.createIndex(Indexes.compoundIndex(Indexes.ascending("taskId"), Indexes.descending("createdAt")),
+                new IndexOptions().name("idx_task_created_desc"));
+        activities.createIndex(Indexes.ascending("createdAt"), new IndexOptions().expireAfter(90L, TimeUnit.DAYS));
+        System.out.printf("✓ %-20s %,d documents%n", "activities", config.activities());
+    }
+
+    private void loadNotifications(MongoCollection<Document> notifications) {
+        if (config.reset()) {
+            notifications.drop();
+        }
+        Random r = dataset.random("notifications", 0);
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < config.notifications(); i++) {
+            int recipient = dataset.popularUser(r);
+            Dataset.Task task = dataset.task((long) (r.nextDouble() * config.tasks()));
+            batch.add(new Document()
+                    .append("recipientId", dataset.userId(recipient))
+                    .append("subject", "Bạn được nhắc đến trong " + task.title())
+                    .append("content", dataset.words(r, 10 + r.nextInt(30)))
+                    .append("isRead", r.nextDouble() < 0.7)
+                    .append("properties", new Document("link",
+                            "/project/" + task.project().id() + "/task/" + task.id()))
+                    .append("createdAt", Date.from(Dataset.NOW.minus(r.nextInt(89 * 24 * 60), ChronoUnit.MINUTES)))
+                    .append("_class", "com.tuanhust.notificationservice.entity.Notification"));
+            if (batch.size() == BATCH_SIZE) {
+                flush(notifications, batch);
+            }
+        }
+        flush(notifications, batch);
+        notifications.createIndex(Indexes.ascending("recipientId"));
+        notifications.createIndex(Indexes.ascending("createdAt"), new IndexOptions().expireAfter(90L, TimeUnit.DAYS));
+        System.out.printf("✓ %-20s %,d documents%n", "notifications", config.notifications());
+    }
+
+    private static void flush(MongoCollection<Document> collection, List<Document> batch) {
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch, new InsertManyOptions().ordered(false));
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.tuanhust.datagenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Nạp user_db, core_db và vector_store của ai_db bằng COPY. Schema phải có sẵn (init.sql);
+ * riêng vector_store được tạo nếu ai-service chưa chạy lần nào.
+ */
+public final class PostgresLoader {
+    // password123
+    private static final String PASSWORD_HASH = "$2a$10$Y2Ox8oqI9oX02Y91Uv/52OB6BcVxFsgmqSvjJoZQ14JRfcv0uejou";
+
+    private final Dataset dataset;
+    private final GeneratorConfig config;
+
+    public PostgresLoader(Dataset dataset) {
+        this.dataset = dataset;
+        this.config = dataset.config();
+    }
+
+    public void loadUsers() throws SQLException, IOException {
+        try (Connection connection = connect("user_db")) {
+            if (config.reset()) {
+                execute(connection, "delete from users where email like '%@loadtest.local'");
+            }
+            try (CopyWriter users = new CopyWriter(connection, "users",
+                    "user_id, email, password_hash, full_name, oauth_provider, oauth_provider_id, "
+                            + "status, role, created_at, updated_at")) {
+                Random r = dataset.random("users", 0);
+                for (int u = 0; u < config.users(); u++) {
+                    users.row(dataset.userId(u), dataset.userEmail(u), PASSWORD_HASH, dataset.userName(u),
+                            "GOOGLE", "loadtest_" + config.seed() + "_" + u,
+                            r.nextDouble() < 0.01 ? "SUSPENDED" : "ACTIVE", "USER",
+                            Dataset.NOW.minus(r.nextInt(730), ChronoUnit.DAYS), Dataset.NOW);
+                }
+            }
+            commitAndAnalyze(connection);
+        }
+    }
+
+    public void loadCore() throws SQLException, IOException {
+        try (Connection connection = connect("core_db")) {
+            if (config.reset()) {
+                execute(connection, "truncate projects cascade");
+            }
+            try (CopyWriter projects = new CopyWriter(connection, "projects",
+                    "project_id, name, description, status, creator_id, due_at, created_at, updated_at, archived_at")) {
+                for (Dataset.Project p : dataset.projects()) {
+                    projects.row(p.id(), p.name(), "Mô tả " + p.name(), p.archived() ? "ARCHIVED" : "ACTIVE",
+                            dataset.userId(p.members()[0]), Dataset.NOW.plus(30 + p.index() % 180, ChronoUnit.DAYS),
+                            Dataset.NOW.minus(p.index() % 720, ChronoUnit.DAYS), Dataset.NOW,
+                            p.archived() ? Dataset.NOW.minus(p.index() % 90, ChronoUnit.DAYS) : null);
+                }
+            }
+            try (CopyWriter members = new CopyWriter(connection, "project_members",
+                    "member_id, project_id, email, joined_at, role")) {
+                for (Dataset.Project p : dataset.projects()) {
+                    for (int i = 0; i < p.members().length; i++) {
+                        members.row(dataset.userId(p.members()[i]), p.id(), dataset.userEmail(p.members()[i]),
+                                Dataset.NOW.minus(p.index() % 720, ChronoUnit.DAYS), p.roles()[i]);
+                    }
+                }
+            }
+            try (CopyWriter columns = new CopyWriter(connection, "board_columns",
+                    "board_column_id, name, sort_order, status, archived_at, project_id")) {
+                for (Dataset.Project p : dataset.projects()) {
+                    for (int k = 0; k < p.columns().length; k++) {
+                        columns.row(p.columns()[k], "Cột " + (k + 1), (k + 1) * 1024.0, "ACTIVE", null, p.id());
+                    }
+                    if (p.archivedColumn() != null) {
+                        columns.row(p.archivedColumn(), "Cột lưu trữ", null, "ARCHIVED",
+                                Dataset.NOW.minus(p.index() % 60, ChronoUnit.DAYS), p.id());
+                    }
+                }
+            }
+            try (CopyWriter labels = new CopyWriter(connection, "labels", "label_id, color, name, project_id")) {
+                for (Dataset.Project p : dataset.projects()) {
+                    for (int k = 0; k < p.labels().length; k++) {
+                        labels.row(p.labels()[k], String.format("#%06x", (k * 0x2F4F7B) & 0xFFFFFF),
+                                "Nhãn " + (k + 1), p.id());
+                    }
+                }
+            }
+            connection.commit();
+
+            try (CopyWriter tasks = new CopyWriter(connection, "tasks",
+                    "task_id, title, description, status, priority, completed, due_at, archived_at, created_at, "
+                            + "updated_at, creator_id, sort_order, project_id, board_column_id")) {
+                dataset.forEachTask(t -> write(tasks, t.id(), t.title(), t.description(),
+                        t.archived() ? "ARCHIVED" : "ACTIVE", t.priority(), t.completed(), t.dueAt(),
+                        t.archived() ? t.createdAt().plus(30, ChronoUnit.DAYS) : null, t.createdAt(),
+                        t.createdAt(), dataset.userId(t.creator()), t.archived() ? null : t.sortOrder(),
+                        t.project().id(), t.column()));
+            }
+            connection.commit();
+
+            try (CopyWriter assignees = new CopyWriter(connection, "task_assignee", "assignee_id, task_id, join_at")) {
+                dataset.forEachTask(t -> {
+                    for (int assignee : t.assignees()) {
+                        write(assignees, dataset.userId(assignee), t.id(), t.createdAt());
+                    }
+                });
+            }
+            try (CopyWriter taskLabels = new CopyWriter(connection, "task_labels", "label_id, task_id")) {
+                dataset.forEachTask(t -> {
+                    for (String label : t.labels()) {
+                        write(taskLabels, label, t.id());
+                    }
+                });
+            }
+            try (CopyWriter comments = new CopyWriter(connection, "comments",
+                    "comment_id, body, created_at, creator_id, task_id, updated_at")) {
+                dataset.forEachTask(t -> dataset.forEachComment(t, c -> write(comments, c.id(), c.body(),
+                        c.createdAt(), dataset.userId(c.creator()), c.taskId(), c.createdAt())));
+            }
+            connection.commit();
+            try (CopyWriter mentions = new CopyWriter(connection, "comment_mentions", "comment_id, mention_id")) {
+                dataset.forEachTask(t -> dataset.forEachComment(t, c -> {
+                    if (c.mention() != null) {
+                        write(mentions, c.id(), dataset.userId(c.mention()));
+                    }
+                }));
+            }
+            try (CopyWriter checkLists = new CopyWriter(connection, "check_list",
+                    "check_list_id, body, created_at, creator_id, done, task_id, updated_at")) {
+                dataset.forEachTask(t -> {
+                    for (int k = 0; k < t.checkLists(); k++) {
+                        write(checkLists, dataset.checkListId(t, k), "Bước " + (k + 1), t.createdAt(),
+                                dataset.userId(t.creator()), k % 3 == 0, t.id(), t.createdAt());
+                    }
+                });
+            }
+            commitAndAnalyze(connection);
+        }
+    }
+
+    public void loadVectors() throws SQLException, IOException {
+        try (Connection connection = connect("ai_db")) {
+            execute(connection, "create extension if not exists vector");
+            execute(connection, """
+                    create table if not exists vector_store (
+                        id uuid default gen_random_uuid() primary key,
+                        content text,
+                        metadata json,
+                        embedding vector(%d)
+                    )""".formatted(config.dimensions()));
+            if (config.reset()) {
+                execute(connection, "truncate vector_store");
+            }
+            connection.commit();
+            try (CopyWriter vectors = new CopyWriter(connection, "vector_store", "id, content, metadata, embedding")) {
+                long step = Math.max(1, config.tasks() / Math.max(1, config.vectors()));
+                for (long g = 0, n = 0; g < config.tasks() && n < config.vectors(); g += step, n++) {
+                    Dataset.Task t = dataset.task(g);
+                    String content = """
+                            THÔNG TIN NHIỆM VỤ (TASK) của dự án có id là %s:
+                             - Mã TaskId: %s
+                             - Tiêu đề: %s
+                             - Mô tả: %s
+                             - Độ ưu tiên: %s
+                             - Hạn chót (Deadline): %s
+                            """.formatted(t.project().id(), t.id(), t.title(), t.description(), t.priority(),
+                            t.dueAt());
+                    vectors.row(t.id(), content, "{\"projectId\":\"" + t.project().id() + "\"}",
+                            embedding(dataset.random("embedding", g)));
+                }
+            }
+            execute(connection, "create index if not exists spring_ai_vector_index on vector_store "
+                    + "using hnsw (embedding vector_cosine_ops)");
+            commitAndAnalyze(connection);
+        }
+    }
+
+    private String embedding(Random r) {
+        double[] values = new double[config.dimensions()];
+        double norm = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = r.nextGaussian();
+            norm += values[i] * values[i];
+        }
+        norm = Math.sqrt(norm);
+        StringBuilder sb = new StringBuilder(values.length * 10).append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(String.format(Locale.ROOT, "%.6f", values[i] / norm));
+        }
+        return sb.append(']').toString();
+    }
+
+    private Connection connect(String database) throws SQLException {
+        Connection connection = DriverManager.getConnection(config.pgUrl() + "/" + database,
+                config.pgUser(), config.pgPassword());
+        connection.setAutoCommit(false);
+        execute(connection, "set synchronous_commit = off");
+        return connection;
+    }
+
+    private static void commitAndAnalyze(Connection connection) throws SQLException {
+        connection.commit();
+        connection.setAutoCommit(true);
+        execute(connection, "analyze");
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void write(CopyWriter writer, Object... values) {
+        try {
+            writer.row(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.tuanhust.datagenerator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Phân phối Zipf trên {@code n} phần tử: phần tử hạng {@code i} có trọng số {@code 1/(i+1)^s}.
+ * Hạng 0 là phần tử "nóng" nhất.
+ */
+public final class PowerLaw {
+    private final double[] cumulative;
+
+    public PowerLaw(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+
+    /**
+     * Chia {@code total} phần tử cho {@code n} nhóm theo trọng số Zipf, phần dư dồn vào nhóm nóng nhất.
+     */
+    public long[] partition(long total) {
+        long[] sizes = new long[cumulative.length];
+        long assigned = 0;
+        double previous = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = (long) Math.floor(total * (cumulative[i] - previous));
+            previous = cumulative[i];
+            assigned += sizes[i];
+        }
+        sizes[0] += total - assigned;
+        return sizes;
+    }
+
+    /**
+     * Số lượng có đuôi dài (Pareto, alpha = 2) với kỳ vọng {@code mean}; phần lớn bằng 0 hoặc nhỏ.
+     */
+    public static int heavyTailCount(Random random, double mean, int max) {
+        double u = 1 - random.nextDouble();
+        return (int) Math.min(max, Math.floor(mean * (Math.pow(u, -0.5) - 1)));
+    }
+}
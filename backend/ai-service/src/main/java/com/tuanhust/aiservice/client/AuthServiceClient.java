@@ -4,6 +4,7 @@ package com.tuanhust.aiservice.client;
 import com.tuanhust.aiservice.config.FeignConfig;
 import com.tuanhust.aiservice.dto.UserInfo;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.PostMapping;
 
@@ -12,6 +13,7 @@ import java.util.List;
 @Component
 @FeignClient(name = "auth-service",configuration = FeignConfig.class)
 public interface AuthServiceClient {
-    @PostMapping("/internal/users")
+    @PostMapping(value = "/internal/users",
+            consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
     List<UserInfo> getUsers(List<String> usersId);
 }
\ No newline at end of file
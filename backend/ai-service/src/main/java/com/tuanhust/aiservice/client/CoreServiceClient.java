@@ -2,26 +2,28 @@ package com.tuanhust.aiservice.client;
 
 import com.tuanhust.aiservice.config.FeignConfig;
 import com.tuanhust.aiservice.dto.ApiResponse;
+import com.tuanhust.aiservice.dto.ProjectDetail;
+import com.tuanhust.aiservice.dto.TaskDetail;
 import com.tuanhust.aiservice.dto.TaskRequest;
 import jakarta.validation.Valid;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-
-import java.util.Map;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @Component
 @FeignClient(name = "core-service", configuration = FeignConfig.class)
 public interface CoreServiceClient {
-    @GetMapping("internal/project/{projectId}")
-    Map<String, Object> getProject(@PathVariable String projectId);
+    @GetMapping(value = "internal/project/{projectId}", produces = MediaType.APPLICATION_CBOR_VALUE)
+    ProjectDetail getProject(@PathVariable String projectId);
 
-    @GetMapping("internal/project/{projectId}/task/{taskId}")
-    Map<String, Object> getTask(
+    @GetMapping(value = "internal/project/{projectId}/task/{taskId}", produces = MediaType.APPLICATION_CBOR_VALUE)
+    TaskDetail getTask(
             @PathVariable String projectId,
             @PathVariable String taskId
     );
@@ -33,6 +35,7 @@ public interface CoreServiceClient {
     @PostMapping("/project/{projectId}/task")
     ResponseEntity<ApiResponse<?>> createTask(
             @PathVariable String projectId,
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
             @RequestBody TaskRequest taskRequest
     );
 }
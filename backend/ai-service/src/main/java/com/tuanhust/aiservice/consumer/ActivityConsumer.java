@@ -5,6 +5,8 @@ import com.tuanhust.aiservice.client.CoreServiceClient;
 import com.tuanhust.aiservice.client.StorageServiceClient;
 import com.tuanhust.aiservice.config.RabbitMQConfig;
 import com.tuanhust.aiservice.dto.ActivityEvent;
+import com.tuanhust.aiservice.dto.TaskDetail;
+import com.tuanhust.aiservice.dto.TaskSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.messages.UserMessage;
@@ -24,6 +26,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.MimeType;
 
 
+import java.time.Instant;
 import java.util.*;
 
 
@@ -42,15 +45,26 @@ public class ActivityConsumer {
         try {
             switch (event.actionType()) {
                 case "CREATE_TASK", "UPDATE_TASK": {
-                    Map<String, Object> task = coreServiceClient.getTask(event.projectId(), event.taskId());
-                    if (task == null || task.isEmpty()) {
-                        break;
+                    String taskId, title, description, priority;
+                    Instant dueAt;
+                    TaskSnapshot snapshot = event.snapshot();
+                    if (snapshot != null && snapshot.indexable()) {
+                        taskId = snapshot.taskId();
+                        title = snapshot.title();
+                        description = snapshot.description();
+                        priority = snapshot.priority();
+                        dueAt = snapshot.dueAt();
+                    } else {
+                        TaskDetail task = coreServiceClient.getTask(event.projectId(), event.taskId());
+                        if (task == null || task.taskId() == null) {
+                            break;
+                        }
+                        taskId = task.taskId();
+                        title = task.title();
+                        description = task.description();
+                        priority = task.priority();
+                        dueAt = task.dueAt();
                     }
-                    String taskId = (String) task.get("taskId");
-                    String title = (String) task.get("title");
-                    String description = (String) task.get("description");
-                    String priority = (String) task.get("priority");
-                    String dueAt = (String) task.get("dueAt");
                     String content = """
                             THÔNG TIN NHIỆM VỤ (TASK) của dự án có id là %s:
                              - Mã TaskId: %s
@@ -70,10 +84,18 @@ public class ActivityConsumer {
                             Map.of("projectId", event.projectId()))));
                     break;
                 }
-                case "DELETE_TASK": {
-                    vectorStore.delete(List.of(event.taskId()));
+                case "DELETE_TASK", "DELETE_BOARD_COLUMN": {
+                    // DELETE_TASK thường chỉ có taskId; lô xóa theo hạn giữ lại gửi metadata.taskIds
+                    List<String> taskIds = new ArrayList<>(taskIds(event));
+                    if (event.taskId() != null && "DELETE_TASK".equals(event.actionType())) {
+                        taskIds.add(event.taskId());
+                    }
+                    if (taskIds.isEmpty()) {
+                        break;
+                    }
+                    vectorStore.delete(taskIds);
                     String sql = "DELETE FROM vector_store WHERE metadata ->> 'taskId' = ?";
-                    jdbcTemplate.update(sql, event.taskId());
+                    jdbcTemplate.batchUpdate(sql, taskIds.stream().map(id -> new Object[]{id}).toList());
                     break;
                 }
                 case "DELETE_PROJECT": {
@@ -147,6 +169,13 @@ public class ActivityConsumer {
             log.error("Failed to publish activity event: {}", event, e);
         }
     }
+
+    private static List<String> taskIds(ActivityEvent event) {
+        if (event.metadata() == null || !(event.metadata().get("taskIds") instanceof List<?> ids)) {
+            return List.of();
+        }
+        return ids.stream().map(String::valueOf).toList();
+    }
 }
 
 
@@ -17,5 +17,6 @@ public record ActivityEvent(
         Map<String, Object> metadata,
         Instant createdAt,
         String targetId,
-        String targetName
+        String targetName,
+        TaskSnapshot snapshot
 ) {}
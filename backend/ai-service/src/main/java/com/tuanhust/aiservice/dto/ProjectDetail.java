@@ -0,0 +1,30 @@
+package com.tuanhust.aiservice.dto;
+
+
+import java.time.Instant;
+import java.util.List;
+
+
+// Bản typed của ProjectDetailResponse (core-service /internal/project/{projectId})
+public record ProjectDetail(
+        String projectId,
+        String name,
+        String description,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant dueAt,
+        String status,
+        Member creator,
+        List<Label> labels,
+        List<BoardColumn> boardColumns,
+        List<Member> members
+) {
+    public record Member(String userId, String fullName, String email, String roleInProject, Instant joinAt) {
+    }
+
+    public record Label(String labelId, String name, String color) {
+    }
+
+    public record BoardColumn(String boardColumnId, String name, Double sortOrder, String status) {
+    }
+}
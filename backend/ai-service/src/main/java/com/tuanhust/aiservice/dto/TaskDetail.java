@@ -0,0 +1,37 @@
+package com.tuanhust.aiservice.dto;
+
+
+import java.time.Instant;
+import java.util.List;
+
+
+// Bản typed của TaskDetailResponse (core-service /internal/project/{projectId}/task/{taskId})
+public record TaskDetail(
+        String taskId,
+        String title,
+        String description,
+        Double sortOrder,
+        String status,
+        String priority,
+        Boolean completed,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant dueAt,
+        String projectId,
+        String boardColumnId,
+        String creatorId,
+        List<String> assigneeIds,
+        List<String> labelIds,
+        // Chỉ vài bình luận mới nhất, commentCount là tổng số
+        List<Comment> comments,
+        Long commentCount,
+        List<CheckList> checkLists
+) {
+    public record Comment(String commentId, String body, String creatorId, Instant createdAt,
+                          Instant updatedAt, List<String> mentionIds) {
+    }
+
+    public record CheckList(String checkListId, String body, String creatorId, Boolean done,
+                            Instant createdAt, Instant updatedAt) {
+    }
+}
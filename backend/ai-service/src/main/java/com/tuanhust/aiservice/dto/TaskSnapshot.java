@@ -0,0 +1,26 @@
+package com.tuanhust.aiservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.Instant;
+
+// Snapshot task gửi kèm ActivityEvent (core-service TaskSnapshot), chỉ giữ các trường cần cho vector store
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TaskSnapshot(
+        Integer version,
+        String taskId,
+        String title,
+        String description,
+        String priority,
+        Instant dueAt,
+        Boolean truncated
+) {
+    public static final int SUPPORTED_VERSION = 1;
+
+    // Đủ để index mà không gọi lại core-service
+    public boolean indexable() {
+        return version != null && version == SUPPORTED_VERSION
+                && !Boolean.TRUE.equals(truncated)
+                && taskId != null && title != null;
+    }
+}
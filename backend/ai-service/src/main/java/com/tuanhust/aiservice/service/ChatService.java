@@ -6,6 +6,7 @@ import com.tuanhust.aiservice.config.CustomChatMemory;
 import com.tuanhust.aiservice.config.ProjectAdvisor;
 import com.tuanhust.aiservice.config.UserPrincipal;
 import com.tuanhust.aiservice.dto.ChatHistory;
+import com.tuanhust.aiservice.dto.ProjectDetail;
 import com.tuanhust.aiservice.dto.ProjectChatBotRequest;
 import com.tuanhust.aiservice.tool.AiTools;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,8 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -38,14 +41,17 @@ public class ChatService {
     private final AiTools aiTools;
     private final CoreServiceClient coreServiceClient;
     private final CustomChatMemory customChatMemory;
+    private final ObjectMapper objectMapper;
 
     @Value("classpath:prompts/chatbot_project.st")
     private Resource systemText;
 
     @Autowired
     public ChatService(ChatClient.Builder chatClientBuilder, VectorStore vectorStore,
-                       AiTools aiTools, ProjectAdvisor projectAdvisor, CoreServiceClient coreServiceClient, CustomChatMemory customChatMemory) {
+                       AiTools aiTools, ProjectAdvisor projectAdvisor, CoreServiceClient coreServiceClient, CustomChatMemory customChatMemory,
+                       ObjectMapper objectMapper) {
         this.coreServiceClient = coreServiceClient;
+        this.objectMapper = objectMapper;
         this.customChatMemory = customChatMemory;
         this.chatClient = chatClientBuilder
                 .defaultAdvisors(projectAdvisor)
@@ -81,6 +87,7 @@ public class ChatService {
                 .advisors(a -> a.param("projectId", projectId)
                         .param("userId", userId))
                 .tools(aiTools)
+                .toolContext(Map.of(AiTools.TURN_ID, UUID.randomUUID().toString()))
                 .call()
                 .content();
     }
@@ -108,19 +115,18 @@ public class ChatService {
 
     private String getProject(String projectId) {
         try {
-            Map<String, Object> project = coreServiceClient.getProject(projectId);
-            if (project == null || project.isEmpty()) {
+            ProjectDetail project = coreServiceClient.getProject(projectId);
+            if (project == null || project.projectId() == null) {
                 return "";
             }
-            List<Map<String, Object>> cols = (List<Map<String, Object>>) project.getOrDefault("boardColumns", List.of());
-            List<Map<String, Object>> members = (List<Map<String, Object>>) project.getOrDefault("members", List.of());
-            List<Map<String, Object>> labels = (List<Map<String, Object>>) project.getOrDefault("labels", List.of());
-            String name = (String) project.get("name");
-            String desc = (String) project.getOrDefault("description", "Không có mô tả");
-            String status = (String) project.get("status");
-            String createdAt = (String) project.get("createdAt");
-            String dueAt = (String) project.get("dueAt");
-            ObjectMapper objectMapper = new ObjectMapper();
+            List<ProjectDetail.BoardColumn> cols = Objects.requireNonNullElse(project.boardColumns(), List.of());
+            List<ProjectDetail.Member> members = Objects.requireNonNullElse(project.members(), List.of());
+            List<ProjectDetail.Label> labels = Objects.requireNonNullElse(project.labels(), List.of());
+            String name = project.name();
+            String desc = Objects.requireNonNullElse(project.description(), "Không có mô tả");
+            String status = project.status();
+            Instant createdAt = project.createdAt();
+            Instant dueAt = project.dueAt();
             String colsPretty = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(cols);
             String membersPretty = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(members);
             String labelsPretty = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(labels);
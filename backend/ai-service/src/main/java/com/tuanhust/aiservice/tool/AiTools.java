@@ -4,8 +4,10 @@ package com.tuanhust.aiservice.tool;
 import com.tuanhust.aiservice.client.ActivityServiceClient;
 import com.tuanhust.aiservice.client.CoreServiceClient;
 import com.tuanhust.aiservice.dto.ApiResponse;
+import com.tuanhust.aiservice.dto.TaskDetail;
 import com.tuanhust.aiservice.dto.TaskRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
@@ -17,14 +19,20 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 
 @Component
 @RequiredArgsConstructor
 public class AiTools {
+    // Khoá trong tool context: mỗi lượt chat một giá trị, do ChatService gán
+    public static final String TURN_ID = "turnId";
+
     private final CoreServiceClient coreServiceClient;
     private final ActivityServiceClient activityServiceClient;
     private final VectorStore vectorStore;
@@ -43,13 +51,14 @@ public class AiTools {
             @ToolParam(description = "Id cột chứa nhiệm vụ") String boardColumnId,
             @ToolParam(description = "Danh sách id thành viên làm nhiệm vụ") List<String> assigneeIds,
             @ToolParam(description = "Danh sách id nhãn của nhiệm vụ") List<String> labelIds,
-            @ToolParam(description = "Danh sách các công việc con cần làm của nhiệm vụ") List<String> checkLists
+            @ToolParam(description = "Danh sách các công việc con cần làm của nhiệm vụ") List<String> checkLists,
+            ToolContext toolContext
     ) {
         TaskRequest taskRequest = new TaskRequest(title, description, priority, dueAt,
                 projectId, boardColumnId, assigneeIds, labelIds, checkLists);
         try {
             ResponseEntity<ApiResponse<?>> response =
-                    coreServiceClient.createTask(projectId, taskRequest);
+                    coreServiceClient.createTask(projectId, idempotencyKey(toolContext, taskRequest), taskRequest);
             if (response.getStatusCode().is2xxSuccessful()) {
                 return "Hệ thống đã tạo thành công nhiệm vụ: " + title;
             } else {
@@ -61,8 +70,21 @@ public class AiTools {
     }
 
 
+    // Model gọi lại tool với cùng tham số trong một lượt chat thì cùng key, core-service chỉ tạo một task.
+    // Cùng nội dung ở lượt chat khác là yêu cầu mới của người dùng nên khác key
+    static String idempotencyKey(ToolContext toolContext, TaskRequest taskRequest) {
+        Object turnId = toolContext == null ? null : toolContext.getContext().get(TURN_ID);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((turnId + "|" + taskRequest).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Tool(description = "Lấy thông tin chi tiết mới nhất của task")
-    public Map<String, Object> getTask(
+    public TaskDetail getTask(
             @ToolParam(description = "Id của dự án") String projectId,
             @ToolParam(description = "Id của nhiệm vụ") String taskId
     ) {
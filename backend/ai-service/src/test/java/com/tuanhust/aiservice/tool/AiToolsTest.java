@@ -0,0 +1,61 @@
+package com.tuanhust.aiservice.tool;
+
+import com.tuanhust.aiservice.client.ActivityServiceClient;
+import com.tuanhust.aiservice.client.CoreServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AiToolsTest {
+    private final CoreServiceClient coreServiceClient = mock(CoreServiceClient.class);
+    private final AiTools aiTools = new AiTools(coreServiceClient, mock(ActivityServiceClient.class),
+            mock(VectorStore.class));
+    // Đóng vai IdempotencyAspect của core-service: key đã thấy thì không tạo task nữa
+    private final Set<String> createdKeys = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        when(coreServiceClient.createTask(anyString(), anyString(), any())).thenAnswer(i -> {
+            createdKeys.add(i.getArgument(1));
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    @Test
+    void retriedToolCallInSameTurnCreatesOneTask() {
+        ToolContext turn = new ToolContext(Map.of(AiTools.TURN_ID, "turn-1"));
+
+        createTask("Viết báo cáo", turn);
+        createTask("Viết báo cáo", turn);
+
+        assertThat(createdKeys).hasSize(1);
+    }
+
+    @Test
+    void differentTaskOrTurnGetsNewKey() {
+        createTask("Viết báo cáo", new ToolContext(Map.of(AiTools.TURN_ID, "turn-1")));
+        createTask("Sửa lỗi đăng nhập", new ToolContext(Map.of(AiTools.TURN_ID, "turn-1")));
+        createTask("Viết báo cáo", new ToolContext(Map.of(AiTools.TURN_ID, "turn-2")));
+
+        assertThat(createdKeys).hasSize(3);
+        assertThat(createdKeys).allSatisfy(key -> assertThat(key).hasSizeLessThanOrEqualTo(128));
+    }
+
+    private void createTask(String title, ToolContext toolContext) {
+        aiTools.createTask(title, "Mô tả", "HIGH", "2026-11-01T00:00:00Z", "project-id", "column-id",
+                List.of("member-id"), List.of("label-id"), List.of("Bước 1"), toolContext);
+    }
+}
@@ -5,5 +5,8 @@ public enum ActivityType {
     LOGOUT,
     CREATE_ACCOUNT,
     UPDATE_ACCOUNT,
-    UPDATE_PASSWORD
+    UPDATE_PASSWORD,
+    // core-service gỡ người dùng khỏi mọi dự án khi nhận hai event này
+    BAN_USER,
+    DELETE_USER
 }
@@ -97,6 +97,7 @@ public class UserServiceImpl implements UserService {
         User user =  userRepository.findById(id).orElseThrow();
         user.setStatus(User.UserStatus.SUSPENDED);
         sessionService.deleteAllUserSessions(id);
+        publishOffboarding(user, ActivityType.BAN_USER, "đã khóa tài khoản");
         return user;
     }
 
@@ -114,6 +115,18 @@ public class UserServiceImpl implements UserService {
         User user =  userRepository.findById(id).orElseThrow();
         user.setStatus(User.UserStatus.DELETED);
         sessionService.deleteAllUserSessions(id);
+        publishOffboarding(user, ActivityType.DELETE_USER, "đã xóa tài khoản");
         return user;
     }
+
+    private void publishOffboarding(User user, ActivityType type, String description) {
+        UserPrincipal admin = (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+        eventPublisher.publishEvent(new ActivityEvent(
+                admin.getUserId(), admin.getFullName(), admin.getEmail(),
+                type, description + " " + user.getEmail(),
+                Map.of("userId", user.getUserId(), "email", user.getEmail()),
+                Instant.now()
+        ));
+    }
 }
@@ -0,0 +1,111 @@
+package com.tuanhust.authservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAIN (ANALYZE, BUFFERS) cho các truy vấn của UserRepository trên bảng users lớn.
+ * Chạy bằng {@code mvn test -Pquery-plan [-Dqueryplan.users=1000000]}.
+ */
+@Tag("query-plan")
+@Testcontainers(disabledWithoutDocker = true)
+class UserQueryPlanTest {
+    private static final int USERS = Integer.getInteger("queryplan.users", 1_000_000);
+    private static final Path INIT_SQL = Path.of(System.getProperty("queryplan.init-sql", "../../init.sql"));
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void loadUsers() throws Exception {
+        String initSql = Files.readString(INIT_SQL, StandardCharsets.UTF_8);
+        String schema = initSql.substring(initSql.indexOf("\\c user_db") + "\\c user_db".length(),
+                initSql.indexOf("\\c ai_db"));
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute(schema);
+            statement.execute("""
+                    insert into users (user_id, email, password_hash, full_name, oauth_provider,
+                                       oauth_provider_id, status, role, created_at, updated_at)
+                    select 'u' || g, 'user' || g || '@example.com', null,
+                           'Nguyen Van ' || md5(g::text),
+                           'GOOGLE', 'google_' || g,
+                           case when g % 100 = 0 then 'SUSPENDED' else 'ACTIVE' end,
+                           'USER', now() - (g % 730) * interval '1 day', now()
+                    from generate_series(1, %d) g;
+                    analyze users;
+                    """.formatted(USERS));
+        }
+    }
+
+    @Test
+    @DisplayName("findByEmail: unique index lookup")
+    void findByEmail_UsesIndex() throws Exception {
+        JsonNode plan = explain("select * from users u where u.email=?", "user42@example.com");
+
+        assertTrue(seqScans(plan.get("Plan")).isEmpty(), plan.toPrettyString());
+        assertTrue(plan.get("Execution Time").asDouble() <= 20, plan.toPrettyString());
+    }
+
+    @Test
+    @DisplayName("searchUsers: ilike '%text%' stays within the latency budget")
+    void searchUsers_WithinBudget() throws Exception {
+        // ilike '%text%' không dùng được btree: seq scan là đã biết, chỉ chặn thời gian thực thi
+        JsonNode plan = explain("""
+                select u.user_id, u.email, u.full_name from users u
+                where (u.full_name ilike concat('%', ?, '%') or u.email ilike concat('%', ?, '%'))
+                and u.user_id <> ? and u.status = 'ACTIVE' and u.role <> 'ADMIN'
+                offset 0 limit 10
+                """, "abc", "abc", "u1");
+
+        assertTrue(plan.get("Execution Time").asDouble()
+                <= Double.parseDouble(System.getProperty("queryplan.search-budget-ms", "1500")), plan.toPrettyString());
+    }
+
+    private static JsonNode explain(String sql, Object... params) throws Exception {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return MAPPER.readTree(rs.getString(1)).get(0);
+            }
+        }
+    }
+
+    private static Set<String> seqScans(JsonNode node) {
+        Set<String> relations = new TreeSet<>();
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> relations.addAll(seqScans(child)));
+        return relations;
+    }
+
+    private static Connection connect() throws Exception {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
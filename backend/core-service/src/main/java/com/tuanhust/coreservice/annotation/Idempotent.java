@@ -0,0 +1,13 @@
+package com.tuanhust.coreservice.annotation;
+
+
+import java.lang.annotation.*;
+
+
+/**
+ * Endpoint tạo mới hỗ trợ header {@code Idempotency-Key}: gửi lại cùng key trả về kết quả lần đầu.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
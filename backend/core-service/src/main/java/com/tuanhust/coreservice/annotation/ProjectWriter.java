@@ -0,0 +1,21 @@
+package com.tuanhust.coreservice.annotation;
+
+
+import java.lang.annotation.*;
+
+
+/**
+ * Thao tác ghi phụ thuộc thứ tự trong một dự án (tạo/di chuyển cột, di chuyển/khôi phục task).
+ * Phương thức phải có tham số {@code projectId}; các lời gọi cùng dự án được chạy lần lượt trên
+ * một worker của {@link com.tuanhust.coreservice.service.ProjectWriteMailbox}.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ProjectWriter {
+    /**
+     * Cho phép chạy chung transaction với các lệnh batchable khác của dự án. Lô bị rollback thì mọi lệnh
+     * chạy lại từng lệnh một, nên chỉ bật cho phương thức mà mọi tác dụng phụ đều gắn với transaction
+     * (event AFTER_COMMIT, cache evict, lịch nhắc sau commit).
+     */
+    boolean batchable() default false;
+}
@@ -0,0 +1,15 @@
+package com.tuanhust.coreservice.annotation;
+
+import com.tuanhust.coreservice.config.DataSourcePool;
+
+import java.lang.annotation.*;
+
+/**
+ * Chạy phương thức (hoặc mọi phương thức public của lớp) trên pool connection chỉ định. Chỉ có tác dụng khi
+ * transaction được mở bên trong lời gọi; nếu đã nằm trong transaction khác thì dùng connection của transaction đó.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UsePool {
+    DataSourcePool value();
+}
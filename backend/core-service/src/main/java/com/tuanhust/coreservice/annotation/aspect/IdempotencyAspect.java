@@ -0,0 +1,159 @@
+package com.tuanhust.coreservice.annotation.aspect;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuanhust.coreservice.annotation.Idempotent;
+import com.tuanhust.coreservice.config.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Xử lý {@link Idempotent}: yêu cầu đầu tiên giữ key trong Redis ở trạng thái IN_FLIGHT, khi xong
+ * thì ghi đè bằng response đã serialize. Yêu cầu trùng key chờ yêu cầu đầu rồi trả lại response đó
+ * mà không chạm tới Postgres. Cả hai trạng thái đều kèm hash của tham số yêu cầu: dùng lại key với
+ * nội dung khác bị từ chối (422) thay vì nhận lại kết quả của yêu cầu trước.
+ */
+@Aspect
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyAspect {
+    public static final String HEADER = "Idempotency-Key";
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String IN_FLIGHT = "IN_FLIGHT";
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${app.idempotency.in-flight-seconds:30}")
+    private long inFlightSeconds;
+
+    @Value("${app.idempotency.wait-seconds:10}")
+    private long waitSeconds;
+
+    record StoredResponse(int status, JsonNode body, String requestHash) {
+    }
+
+    @Around("@annotation(idempotent)")
+    public Object handle(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return joinPoint.proceed();
+        }
+        if (idempotencyKey.length() > 128) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key không hợp lệ");
+        }
+        UserPrincipal principal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        // Cùng key nhưng khác người dùng hoặc endpoint là hai yêu cầu khác nhau
+        String key = KEY_PREFIX + principal.getUserId() + ":" + request.getMethod() + ":"
+                + request.getRequestURI() + ":" + idempotencyKey;
+        String requestHash = requestHash(joinPoint.getArgs());
+        String inFlight = IN_FLIGHT + ":" + requestHash;
+
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(waitSeconds).toNanos();
+            while (true) {
+                if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                        .setIfAbsent(key, inFlight, Duration.ofSeconds(inFlightSeconds)))) {
+                    return execute(joinPoint, key, requestHash);
+                }
+                String stored = stringRedisTemplate.opsForValue().get(key);
+                if (stored != null && stored.startsWith(IN_FLIGHT)) {
+                    if (!stored.equals(inFlight)) {
+                        throw mismatch();
+                    }
+                } else if (stored != null) {
+                    return replay(stored, requestHash);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Yêu cầu với Idempotency-Key này đang được xử lý");
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+        } catch (RedisConnectionFailureException e) {
+            // Redis lỗi thì vẫn phục vụ yêu cầu, chỉ mất khả năng chống trùng
+            log.warn("Idempotency store unavailable, processing {} without deduplication", request.getRequestURI());
+            return joinPoint.proceed();
+        }
+    }
+
+    private Object execute(ProceedingJoinPoint joinPoint, String key, String requestHash) throws Throwable {
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            // Không lưu lỗi: lần gửi lại sẽ được xử lý từ đầu
+            release(key);
+            throw e;
+        }
+        if (result instanceof ResponseEntity<?> response) {
+            try {
+                StoredResponse stored = new StoredResponse(response.getStatusCode().value(),
+                        objectMapper.valueToTree(response.getBody()), requestHash);
+                stringRedisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(stored),
+                        Duration.ofSeconds(ttlSeconds));
+            } catch (Exception e) {
+                log.error("Failed to store idempotent response for {}", key, e);
+                release(key);
+            }
+        }
+        return result;
+    }
+
+    // Yêu cầu đã chạy rồi nên lỗi Redis ở đây không được lan ra ngoài handle() để chạy lại
+    private void release(String key) {
+        try {
+            stringRedisTemplate.delete(key);
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key {}", key, e);
+        }
+    }
+
+    private ResponseEntity<JsonNode> replay(String stored, String requestHash) throws Exception {
+        StoredResponse response = objectMapper.readValue(stored, StoredResponse.class);
+        if (!requestHash.equals(response.requestHash())) {
+            throw mismatch();
+        }
+        return ResponseEntity.status(response.status())
+                .header("Idempotent-Replayed", "true")
+                .body(response.body());
+    }
+
+    // Luồng body đã bị @RequestBody đọc hết nên băm các tham số controller đã bind
+    private String requestHash(Object[] args) throws Exception {
+        byte[] payload = objectMapper.writeValueAsString(args).getBytes(StandardCharsets.UTF_8);
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+    }
+
+    private static ResponseStatusException mismatch() {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key đã được dùng cho một yêu cầu có nội dung khác");
+    }
+}
@@ -2,13 +2,16 @@ package com.tuanhust.coreservice.annotation.aspect;
 
 import com.tuanhust.coreservice.annotation.ProjectRoles;
 import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.entity.ProjectMember;
 import com.tuanhust.coreservice.entity.enums.Role;
+import com.tuanhust.coreservice.entity.ids.ProjectMemberID;
 import com.tuanhust.coreservice.repository.ProjectMemberRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -22,6 +25,7 @@ import java.util.Map;
 
 @Aspect
 @Component
+@Order(0)
 @RequiredArgsConstructor
 public class ProjectRoleAspect {
     private final ProjectMemberRepository projectMemberRepository;
@@ -49,9 +53,11 @@ public class ProjectRoleAspect {
             roles = new String[]{"OWNER", "ADMIN", "MEMBER", "OBSERVER"};
         }
 
-        Role roleUserId = projectMemberRepository.getRole(projectId, userId).orElseThrow(
-                () -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Bạn không có quyền thực hiện")
-        );
+        Role roleUserId = projectMemberRepository.findById(new ProjectMemberID(projectId, userId))
+                .map(ProjectMember::getRole)
+                .orElseThrow(
+                        () -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Bạn không có quyền thực hiện")
+                );
 
         if (!Arrays.asList(roles).contains(roleUserId.name())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Bạn không có quyền thực hiện");
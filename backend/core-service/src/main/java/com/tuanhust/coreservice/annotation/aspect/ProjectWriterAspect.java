@@ -0,0 +1,45 @@
+package com.tuanhust.coreservice.annotation.aspect;
+
+import com.tuanhust.coreservice.annotation.ProjectWriter;
+import com.tuanhust.coreservice.service.ProjectWriteMailbox;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chuyển lời gọi {@link ProjectWriter} vào mailbox của dự án. Chạy ngoài @Transactional
+ * để transaction được mở trên worker chứ không phải trên thread của request.
+ */
+@Aspect
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class ProjectWriterAspect {
+    private final ProjectWriteMailbox projectWriteMailbox;
+
+    @Value("${app.project-writer.enabled:true}")
+    private boolean enabled;
+
+    @Around("@annotation(projectWriter)")
+    public Object serialize(ProceedingJoinPoint joinPoint, ProjectWriter projectWriter) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        return projectWriteMailbox.submit(projectId(joinPoint), projectWriter.batchable(), joinPoint::proceed);
+    }
+
+    private static String projectId(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        for (int i = 0; i < names.length; i++) {
+            if ("projectId".equals(names[i]) && joinPoint.getArgs()[i] instanceof String projectId) {
+                return projectId;
+            }
+        }
+        throw new IllegalStateException("@ProjectWriter method without projectId: " + joinPoint.getSignature());
+    }
+}
@@ -0,0 +1,45 @@
+package com.tuanhust.coreservice.annotation.aspect;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.PoolRoutingDataSource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Gắn pool của {@link UsePool} vào thread trong suốt lời gọi. Chạy trước mọi aspect khác và trước
+ * @Transactional vì connection được lấy ngay khi transaction bắt đầu.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UsePoolAspect {
+
+    @Around("@annotation(com.tuanhust.coreservice.annotation.UsePool) "
+            + "|| @within(com.tuanhust.coreservice.annotation.UsePool)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = AopUtils.getMostSpecificMethod(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        // Khai báo trên phương thức ưu tiên hơn trên lớp
+        UsePool usePool = AnnotatedElementUtils.findMergedAnnotation(method, UsePool.class);
+        if (usePool == null) {
+            usePool = AnnotatedElementUtils.findMergedAnnotation(targetClass, UsePool.class);
+        }
+        DataSourcePool previous = PoolRoutingDataSource.bind(usePool.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PoolRoutingDataSource.bind(previous);
+        }
+    }
+}
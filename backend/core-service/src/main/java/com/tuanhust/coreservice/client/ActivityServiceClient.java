@@ -0,0 +1,19 @@
+package com.tuanhust.coreservice.client;
+
+import com.tuanhust.coreservice.config.FeignConfig;
+import com.tuanhust.coreservice.response.PaginatedResponse;
+import com.tuanhust.coreservice.response.RecentActivityResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Component
+@FeignClient(name = "activity-service", configuration = FeignConfig.class)
+public interface ActivityServiceClient {
+    @GetMapping("/internal/activity/{projectId}")
+    PaginatedResponse<RecentActivityResponse> getActivities(@PathVariable("projectId") String projectId,
+                                                            @RequestParam("page") int page,
+                                                            @RequestParam("size") int size);
+}
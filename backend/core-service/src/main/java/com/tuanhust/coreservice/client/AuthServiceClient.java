@@ -3,6 +3,7 @@ package com.tuanhust.coreservice.client;
 import com.tuanhust.coreservice.config.FeignConfig;
 import com.tuanhust.coreservice.config.UserPrincipal;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.PostMapping;
 
@@ -11,7 +12,8 @@ import java.util.List;
 @Component
 @FeignClient(name = "auth-service",configuration = FeignConfig.class)
 public interface AuthServiceClient {
-    @PostMapping("/internal/users")
+    @PostMapping(value = "/internal/users",
+            consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
     List<UserPrincipal> getUsers(List<String> usersId);
 
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.tuanhust.coreservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot gửi kèm activity event: routing key nào có trong {@code fields} mới được đính kèm,
+ * chỉ với các trường liệt kê; payload vượt {@code maxBytes} bị bỏ description rồi mới bỏ hẳn.
+ */
+@ConfigurationProperties(prefix = "app.activity.snapshot")
+public record ActivitySnapshotProperties(
+        @DefaultValue("8192") int maxBytes,
+        Map<String, List<String>> fields
+) {
+    public ActivitySnapshotProperties {
+        fields = fields == null ? Map.of() : fields;
+    }
+}
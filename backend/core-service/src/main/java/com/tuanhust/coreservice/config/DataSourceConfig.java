@@ -0,0 +1,77 @@
+package com.tuanhust.coreservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tách pool connection theo loại tải để báo cáo hay job nặng không chiếm hết connection của thao tác board.
+ * Mỗi pool có kích thước, connection timeout và statement_timeout riêng; metric Hikari
+ * ({@code hikaricp.connections.*}) được gắn tag {@code pool=core-oltp|core-reporting|core-background}.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+public class DataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public PoolRoutingDataSource dataSource(DataSourceProperties properties,
+                                            ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                            DataSourcePoolProperties poolProperties, MeterRegistry meterRegistry) {
+        // @ServiceConnection (Testcontainers) cung cấp JdbcConnectionDetails; không có thì đọc spring.datasource.*
+        JdbcConnectionDetails connection = connectionDetails.getIfAvailable(() -> new JdbcConnectionDetails() {
+            @Override
+            public String getUsername() {
+                return properties.determineUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return properties.determinePassword();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return properties.determineUrl();
+            }
+
+            @Override
+            public String getDriverClassName() {
+                return properties.determineDriverClassName();
+            }
+        });
+        Map<DataSourcePool, HikariDataSource> pools = new EnumMap<>(DataSourcePool.class);
+        for (DataSourcePool pool : DataSourcePool.values()) {
+            pools.put(pool, createPool(connection, pool, poolProperties.get(pool), meterRegistry));
+        }
+        return new PoolRoutingDataSource(pools);
+    }
+
+    private static HikariDataSource createPool(JdbcConnectionDetails connection, DataSourcePool pool,
+                                               DataSourcePoolProperties.Pool config, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(connection.getJdbcUrl());
+        dataSource.setUsername(connection.getUsername());
+        dataSource.setPassword(connection.getPassword());
+        if (connection.getDriverClassName() != null) {
+            dataSource.setDriverClassName(connection.getDriverClassName());
+        }
+        dataSource.setPoolName("core-" + pool.name().toLowerCase());
+        dataSource.setMaximumPoolSize(config.maximumPoolSize());
+        dataSource.setMinimumIdle(config.minimumIdle());
+        dataSource.setConnectionTimeout(config.connectionTimeoutMs());
+        dataSource.addDataSourceProperty("options", "-c statement_timeout=" + config.statementTimeoutMs());
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,13 @@
+package com.tuanhust.coreservice.config;
+
+/**
+ * Pool connection theo loại tải, chọn bằng {@link com.tuanhust.coreservice.annotation.UsePool}.
+ */
+public enum DataSourcePool {
+    // Thao tác board, request tương tác; mặc định khi không khai báo
+    OLTP,
+    // Đọc nặng phục vụ người dùng: lưu trữ, tổng quan, lịch
+    REPORTING,
+    // Job định kỳ, consumer RabbitMQ, lời nhắc, snapshot hàng loạt cho indexer
+    BACKGROUND
+}
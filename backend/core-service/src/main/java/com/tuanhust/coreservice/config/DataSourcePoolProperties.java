@@ -0,0 +1,30 @@
+package com.tuanhust.coreservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Kích thước và timeout riêng cho từng {@link DataSourcePool}; pool không khai báo dùng giá trị mặc định.
+ */
+@ConfigurationProperties(prefix = "app.datasource")
+public record DataSourcePoolProperties(Map<DataSourcePool, Pool> pools) {
+
+    public DataSourcePoolProperties {
+        pools = pools == null ? Map.of() : pools;
+    }
+
+    public Pool get(DataSourcePool pool) {
+        return pools.getOrDefault(pool, new Pool(10, 2, 3000, 30000));
+    }
+
+    public record Pool(
+            @DefaultValue("10") int maximumPoolSize,
+            @DefaultValue("2") int minimumIdle,
+            @DefaultValue("3000") long connectionTimeoutMs,
+            // statement_timeout của PostgreSQL cho mọi câu lệnh trên pool
+            @DefaultValue("30000") long statementTimeoutMs
+    ) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.tuanhust.coreservice.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.tuanhust.coreservice.dto.FieldSelection;
+import com.tuanhust.coreservice.response.ProjectDetailResponse;
+import com.tuanhust.coreservice.response.TaskResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Gắn filter qua mix-in để ObjectMapper của Redis cache (RedisConfig) không bị ảnh hưởng
+    @JsonFilter(FieldSelection.FILTER_ID)
+    interface FieldSelectionMixin {
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+        return builder -> builder
+                .mixIn(TaskResponse.class, FieldSelectionMixin.class)
+                .mixIn(ProjectDetailResponse.class, FieldSelectionMixin.class)
+                .filters(new SimpleFilterProvider()
+                        .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                        .setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,46 @@
+package com.tuanhust.coreservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+
+/**
+ * Chọn pool theo {@link DataSourcePool} gắn với thread hiện tại. Connection được lấy khi transaction
+ * bắt đầu, nên phải {@link #bind} trước đó; đổi pool giữa chừng không ảnh hưởng transaction đang chạy.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource {
+    private static final ThreadLocal<DataSourcePool> CURRENT = new ThreadLocal<>();
+
+    private final Map<DataSourcePool, HikariDataSource> pools;
+
+    public PoolRoutingDataSource(Map<DataSourcePool, HikariDataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(Map.copyOf(pools));
+        setDefaultTargetDataSource(pools.get(DataSourcePool.OLTP));
+    }
+
+    // Trả về pool trước đó để khôi phục; null là quay về mặc định (OLTP)
+    public static DataSourcePool bind(DataSourcePool pool) {
+        DataSourcePool previous = CURRENT.get();
+        if (pool == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(pool);
+        }
+        return previous;
+    }
+
+    public static DataSourcePool current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CURRENT.get();
+    }
+
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -1,14 +1,56 @@
 package com.tuanhust.coreservice.config;
 
+import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(ActivitySnapshotProperties.class)
 public class RabbitMQConfig {
+    public static final String ACTIVITY_EXCHANGE = "activity.exchange";
+    public static final String FILE_ACTIVITY_QUEUE = "activity.queue.core.files";
+    public static final String USER_OFFBOARDING_QUEUE = "activity.queue.core.users";
+
+    @Bean
+    public TopicExchange activityExchange() {
+        return new TopicExchange(ACTIVITY_EXCHANGE);
+    }
+
+    @Bean
+    public Queue fileActivityQueue() {
+        return QueueBuilder.durable(FILE_ACTIVITY_QUEUE).build();
+    }
+
+    @Bean
+    public Binding uploadFileBinding(Queue fileActivityQueue, TopicExchange activityExchange) {
+        return BindingBuilder.bind(fileActivityQueue).to(activityExchange).with("activity.upload_file");
+    }
+
+    @Bean
+    public Binding deleteFileBinding(Queue fileActivityQueue, TopicExchange activityExchange) {
+        return BindingBuilder.bind(fileActivityQueue).to(activityExchange).with("activity.delete_file");
+    }
+
+    @Bean
+    public Queue userOffboardingQueue() {
+        return QueueBuilder.durable(USER_OFFBOARDING_QUEUE).build();
+    }
+
+    @Bean
+    public Binding banUserBinding(Queue userOffboardingQueue, TopicExchange activityExchange) {
+        return BindingBuilder.bind(userOffboardingQueue).to(activityExchange).with("activity.ban_user");
+    }
+
+    @Bean
+    public Binding deleteUserBinding(Queue userOffboardingQueue, TopicExchange activityExchange) {
+        return BindingBuilder.bind(userOffboardingQueue).to(activityExchange).with("activity.delete_user");
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
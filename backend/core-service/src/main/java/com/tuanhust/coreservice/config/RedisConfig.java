@@ -6,6 +6,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tuanhust.coreservice.listener.BoardChangeSubscriber;
+import com.tuanhust.coreservice.publisher.BoardChangePublisher;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +15,8 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -66,6 +70,19 @@ public class RedisConfig {
 
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(cacheConfiguration)
+                // @CacheEvict trong transaction chỉ chạy sau commit: không xóa khi rollback, không xóa hai lần
+                // khi lô của ProjectWriteMailbox chạy lại, và không để request khác nạp lại dữ liệu cũ trước commit
+                .transactionAware()
                 .build();
     }
+
+    @Bean
+    public RedisMessageListenerContainer boardChannelListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       BoardChangeSubscriber boardChangeSubscriber) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(boardChangeSubscriber,
+                new PatternTopic(BoardChangePublisher.CHANNEL_PREFIX + "*"));
+        return container;
+    }
 }
@@ -0,0 +1,73 @@
+package com.tuanhust.coreservice.config;
+
+import com.tuanhust.coreservice.listener.SecondLevelCacheInvalidationListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class SecondLevelCacheConfig {
+    public static final List<String> REGIONS = List.of(
+            "label", "boardColumn", "projectMember",
+            "project.labels", "project.boardColumns", "project.members"
+    );
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SecondLevelCacheInvalidationListener invalidationListener;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void registerInvalidationListener() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, invalidationListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, invalidationListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, invalidationListener);
+
+        // hibernate.* (truy vấn, flush, cache theo region); cần generate_statistics
+        new HibernateMetrics(sessionFactory, "entityManagerFactory", Tags.empty()).bindTo(meterRegistry);
+        Statistics statistics = sessionFactory.getStatistics();
+        REGIONS.forEach(region -> Gauge.builder("hibernate.l2.hit.ratio", statistics,
+                        s -> hitRatio(s, region))
+                .tag("region", region)
+                .description("Second-level cache hit ratio per region")
+                .register(meterRegistry));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer l2CacheInvalidationContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationListener,
+                new ChannelTopic(SecondLevelCacheInvalidationListener.CHANNEL));
+        return container;
+    }
+
+    private double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        if (regionStatistics == null) {
+            return 0.0;
+        }
+        long hits = regionStatistics.getHitCount();
+        long total = hits + regionStatistics.getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tuanhust.coreservice.consumer;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.RabbitMQConfig;
+import com.tuanhust.coreservice.dto.ActivityEvent;
+import com.tuanhust.coreservice.entity.TaskAttachment;
+import com.tuanhust.coreservice.repository.TaskAttachmentRepository;
+import com.tuanhust.coreservice.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Cập nhật tasks.attachment_count từ event UPLOAD_FILE/DELETE_FILE của storage-service để board không phải
+ * liệt kê S3. task_attachments giữ các key đã đếm nên event gửi lại (at-least-once) không làm lệch bộ đếm.
+ */
+@Service
+@RequiredArgsConstructor
+@UsePool(DataSourcePool.BACKGROUND)
+@Slf4j
+public class FileActivityConsumer {
+    private final TaskRepository taskRepository;
+    private final TaskAttachmentRepository taskAttachmentRepository;
+
+    @RabbitListener(queues = RabbitMQConfig.FILE_ACTIVITY_QUEUE)
+    @Transactional
+    public void handleFileEvent(ActivityEvent event) {
+        if (event.getTaskId() == null || event.getMetadata() == null
+                || !(event.getMetadata().get("fileKey") instanceof String fileKey)) {
+            log.warn("Skip file event without task or file key: {}", event.getActionType());
+            return;
+        }
+        switch (event.getActionType()) {
+            case UPLOAD_FILE -> {
+                if (!taskAttachmentRepository.existsById(fileKey) && taskRepository.existsById(event.getTaskId())) {
+                    taskAttachmentRepository.save(TaskAttachment.builder()
+                            .fileKey(fileKey)
+                            .taskId(event.getTaskId())
+                            .build());
+                    taskRepository.adjustAttachmentCount(event.getTaskId(), 1);
+                }
+            }
+            case DELETE_FILE -> taskAttachmentRepository.findById(fileKey).ifPresent(attachment -> {
+                taskAttachmentRepository.delete(attachment);
+                taskRepository.adjustAttachmentCount(attachment.getTaskId(), -1);
+            });
+            default -> {
+            }
+        }
+    }
+}
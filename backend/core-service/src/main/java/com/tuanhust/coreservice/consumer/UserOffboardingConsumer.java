@@ -0,0 +1,32 @@
+package com.tuanhust.coreservice.consumer;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.RabbitMQConfig;
+import com.tuanhust.coreservice.dto.ActivityEvent;
+import com.tuanhust.coreservice.service.UserOffboardingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Nhận event BAN_USER/DELETE_USER của auth-service và gỡ người dùng khỏi các dự án.
+ */
+@Service
+@RequiredArgsConstructor
+@UsePool(DataSourcePool.BACKGROUND)
+@Slf4j
+public class UserOffboardingConsumer {
+    private final UserOffboardingService userOffboardingService;
+
+    @RabbitListener(queues = RabbitMQConfig.USER_OFFBOARDING_QUEUE)
+    public void handleUserEvent(ActivityEvent event) {
+        if (event.getMetadata() == null || !(event.getMetadata().get("userId") instanceof String userId)) {
+            log.warn("Skip user event without user id: {}", event.getActionType());
+            return;
+        }
+        int projects = userOffboardingService.offboard(userId);
+        log.info("Offboarded user {} from {} projects after {}", userId, projects, event.getActionType());
+    }
+}
@@ -0,0 +1,94 @@
+package com.tuanhust.coreservice.controller;
+
+import com.tuanhust.coreservice.annotation.ProjectRoles;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Kênh realtime của board: nhận {@code BoardDelta} từ Redis pub/sub (mọi instance core-service)
+ * và đẩy tới người đang xem board qua SSE, không cần refetch.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/project")
+public class BoardStreamController {
+    private final Map<String, CopyOnWriteArrayList<SseEmitter>> projectEmitters =
+            new ConcurrentHashMap<>();
+
+    @GetMapping(value = "/{projectId}/board/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ProjectRoles
+    public SseEmitter streamBoard(@PathVariable String projectId) {
+        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
+        // Thêm và xóa đều đi qua compute trên map để không thêm nhầm vào danh sách vừa bị gỡ khỏi map
+        projectEmitters.compute(projectId, (k, emitters) -> {
+            CopyOnWriteArrayList<SseEmitter> list = emitters == null ? new CopyOnWriteArrayList<>() : emitters;
+            list.add(emitter);
+            return list;
+        });
+
+        emitter.onCompletion(() -> removeEmitter(projectId, emitter));
+        emitter.onTimeout(() -> {
+            removeEmitter(projectId, emitter);
+            emitter.complete();
+        });
+        emitter.onError(e -> removeEmitter(projectId, emitter));
+
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("connected")
+                    .data("Connected to board stream for project: " + projectId));
+        } catch (IOException e) {
+            removeEmitter(projectId, emitter);
+        }
+        return emitter;
+    }
+
+    // delta đã được serialize sẵn thành JSON ở BoardChangePublisher
+    public void broadcast(String projectId, String delta) {
+        CopyOnWriteArrayList<SseEmitter> emitters = projectEmitters.get(projectId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        emitters.removeIf(emitter -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("board")
+                        .data(delta));
+                return false;
+            } catch (Exception e) {
+                return true;
+            }
+        });
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void sendHeartbeat() {
+        projectEmitters.values().forEach(emitters ->
+                emitters.removeIf(emitter -> {
+                    try {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        return false;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }));
+    }
+
+    private void removeEmitter(String projectId, SseEmitter emitter) {
+        projectEmitters.computeIfPresent(projectId, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
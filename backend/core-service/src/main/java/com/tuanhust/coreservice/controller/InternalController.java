@@ -1,5 +1,7 @@
 package com.tuanhust.coreservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.tuanhust.coreservice.annotation.ProjectRoles;
 import com.tuanhust.coreservice.entity.enums.Role;
 import com.tuanhust.coreservice.repository.ProjectMemberRepository;
@@ -10,23 +12,36 @@ import com.tuanhust.coreservice.response.TaskDetailResponse;
 import com.tuanhust.coreservice.response.TaskResponse;
 import com.tuanhust.coreservice.service.ProjectService;
 import com.tuanhust.coreservice.service.TaskService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/internal")
 public class InternalController {
+    private static final int MAX_SNAPSHOT_IDS = 5000;
+    // Chỉ riêng snapshot hàng loạt được chạy lâu, các request async khác giữ timeout mặc định
+    private static final long SNAPSHOT_TIMEOUT_MS = Duration.ofMinutes(10).toMillis();
+
     private final ProjectService projectService;
     private final TaskService taskService;
     private final ProjectMemberRepository projectMemberRepository;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("project/{projectId}")
     public ProjectDetailResponse getProject(
@@ -42,6 +57,47 @@ public class InternalController {
         return taskService.getTask(projectId, taskId);
     }
 
+    // NDJSON, mỗi dòng một TaskDetailResponse (không kèm bình luận), ghi dần theo lô cho indexer/analytics
+    @GetMapping(value = "/project/{projectId}/tasks/snapshot", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> getTaskSnapshots(
+            @PathVariable String projectId,
+            HttpServletResponse response
+    ) {
+        return streamTaskSnapshots(projectId, null, response);
+    }
+
+    @PostMapping(value = "/project/{projectId}/tasks/snapshot", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> getTaskSnapshotsByIds(
+            @PathVariable String projectId,
+            @RequestBody List<String> taskIds,
+            HttpServletResponse response
+    ) {
+        if (taskIds.size() > MAX_SNAPSHOT_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Tối đa " + MAX_SNAPSHOT_IDS + " nhiệm vụ mỗi yêu cầu");
+        }
+        return streamTaskSnapshots(projectId, taskIds, response);
+    }
+
+    // Ghi thẳng vào response trên thread async; WebAsyncTask mang timeout riêng của endpoint này
+    private WebAsyncTask<Void> streamTaskSnapshots(String projectId, Collection<String> taskIds,
+                                                   HttpServletResponse response) {
+        return new WebAsyncTask<>(SNAPSHOT_TIMEOUT_MS, () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n")
+                    .writeValues(response.getOutputStream())) {
+                taskService.streamTaskSnapshots(projectId, taskIds, snapshot -> {
+                    try {
+                        writer.write(snapshot);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            return null;
+        });
+    }
+
     @Transactional(readOnly = true)
     @Cacheable(value = "roleInCurrentProject", key = "#projectId+':'+#userId")
     @GetMapping("/project/{projectId}/user/{userId}/role")
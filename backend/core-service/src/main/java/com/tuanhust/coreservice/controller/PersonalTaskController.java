@@ -1,14 +1,20 @@
 package com.tuanhust.coreservice.controller;
 
+import com.tuanhust.coreservice.dto.FieldSelection;
 import com.tuanhust.coreservice.response.ApiResponse;
+import com.tuanhust.coreservice.response.CalendarDayResponse;
 import com.tuanhust.coreservice.response.TaskResponse;
 import com.tuanhust.coreservice.service.TaskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,9 +24,23 @@ public class PersonalTaskController {
     private final TaskService taskService;
 
     @GetMapping("/me")
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getMyTasks() {
-        return ResponseEntity.ok(
-                ApiResponse.success(taskService.getMyTasks())
-        );
+    public ResponseEntity<MappingJacksonValue> getMyTasks(
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, TaskResponse.class);
+        return ResponseEntity.ok(selection.wrap(
+                ApiResponse.success(taskService.getMyTasks(selection))
+        ));
+    }
+
+    // to tính cả ngày cuối; zone là múi giờ IANA của người gọi để chia task theo ngày
+    @GetMapping("/me/calendar")
+    public ResponseEntity<ApiResponse<List<CalendarDayResponse>>> getMyCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String zone,
+            @RequestParam(defaultValue = "false") boolean includeCompleted) {
+        return ResponseEntity.ok(ApiResponse.success(
+                taskService.getMyCalendar(from, to, zone, includeCompleted)
+        ));
     }
 }
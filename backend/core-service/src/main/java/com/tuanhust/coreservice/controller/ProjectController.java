@@ -4,6 +4,7 @@ import com.tuanhust.coreservice.annotation.ProjectRoles;
 import com.tuanhust.coreservice.config.UserPrincipal;
 import com.tuanhust.coreservice.dto.ActionType;
 import com.tuanhust.coreservice.dto.ActivityEvent;
+import com.tuanhust.coreservice.dto.FieldSelection;
 import com.tuanhust.coreservice.entity.enums.Role;
 import com.tuanhust.coreservice.publisher.ActivityPublisher;
 import com.tuanhust.coreservice.request.BoardColumnRequest;
@@ -11,7 +12,9 @@ import com.tuanhust.coreservice.request.InviteMemberRequest;
 import com.tuanhust.coreservice.request.LabelRequest;
 import com.tuanhust.coreservice.request.ProjectRequest;
 import com.tuanhust.coreservice.response.*;
+import com.tuanhust.coreservice.service.PortfolioService;
 import com.tuanhust.coreservice.service.ProjectService;
+import com.tuanhust.coreservice.service.WorkloadService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -19,6 +22,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -29,6 +33,8 @@ import java.util.List;
 @RequestMapping("/project")
 public class ProjectController {
     private final ProjectService projectService;
+    private final WorkloadService workloadService;
+    private final PortfolioService portfolioService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<ProjectResponse>> createProject(
@@ -93,11 +99,18 @@ public class ProjectController {
 
     @GetMapping("/{projectId}")
     @ProjectRoles
-    public ResponseEntity<ApiResponse<ProjectDetailResponse>> getProject(
-            @PathVariable String projectId) {
-        ProjectDetailResponse response = projectService.getProject(projectId);
-        response.setCurrentRoleInProject(projectService.getCurrentRoleInProject(projectId));
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<MappingJacksonValue> getProject(
+            @PathVariable String projectId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ProjectDetailResponse.class);
+        // Không có fields thì dùng bản đầy đủ trong cache projectDetail
+        ProjectDetailResponse response = selection.isAll()
+                ? projectService.getProject(projectId)
+                : projectService.getProject(projectId, selection);
+        if (selection.includes("currentRoleInProject")) {
+            response.setCurrentRoleInProject(projectService.getCurrentRoleInProject(projectId));
+        }
+        return ResponseEntity.ok(selection.wrap(ApiResponse.success(response)));
     }
 
     @PostMapping("/{projectId}/invitation/send")
@@ -240,4 +253,24 @@ public class ProjectController {
     public ResponseEntity<ApiResponse<List<ArchivedItemResponse>>> getMyArchivedProjects() {
         return ResponseEntity.ok(ApiResponse.success(projectService.getMyArchivedProjects()));
     }
+
+    @GetMapping("/{projectId}/workload")
+    @ProjectRoles
+    public ResponseEntity<ApiResponse<List<MemberWorkloadResponse>>> getProjectWorkload(
+            @PathVariable String projectId) {
+        return ResponseEntity.ok(ApiResponse.success(workloadService.getProjectWorkload(projectId)));
+    }
+
+    // Mọi dự án người gọi là OWNER/ADMIN
+    @GetMapping("/workload/me")
+    public ResponseEntity<ApiResponse<List<MemberWorkloadResponse>>> getPortfolioWorkload() {
+        return ResponseEntity.ok(ApiResponse.success(workloadService.getPortfolioWorkload()));
+    }
+
+    // Tổng quan mọi dự án của người gọi, có thể thiếu hoạt động gần đây (partial) khi hết budget
+    @GetMapping("/portfolio")
+    public ResponseEntity<ApiResponse<PortfolioResponse>> getPortfolio(
+            @RequestParam(required = false) String zone) {
+        return ResponseEntity.ok(ApiResponse.success(portfolioService.getPortfolio(zone)));
+    }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.tuanhust.coreservice.controller;
 
+import com.tuanhust.coreservice.annotation.Idempotent;
 import com.tuanhust.coreservice.annotation.ProjectRoles;
+import com.tuanhust.coreservice.dto.FieldSelection;
 import com.tuanhust.coreservice.request.CommentRequest;
+import com.tuanhust.coreservice.request.TaskFilterRequest;
 import com.tuanhust.coreservice.request.TaskRequest;
 import com.tuanhust.coreservice.response.*;
 import com.tuanhust.coreservice.service.TaskService;
@@ -9,6 +12,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,6 +25,7 @@ public class TaskController {
 
     @PostMapping
     @ProjectRoles(roles = {"OWNER", "ADMIN"})
+    @Idempotent
     public ResponseEntity<ApiResponse<TaskResponse>> createTask(
             @PathVariable String projectId,
             @RequestBody @Valid TaskRequest taskRequest
@@ -33,11 +38,51 @@ public class TaskController {
 
     @GetMapping
     @ProjectRoles
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getTasksForProject(
-            @PathVariable String projectId
+    public ResponseEntity<MappingJacksonValue> getTasksForProject(
+            @PathVariable String projectId,
+            @RequestParam(required = false) String fields
     ) {
-        return ResponseEntity.ok(
-                ApiResponse.success(taskService.getTaskForProject(projectId)));
+        FieldSelection selection = FieldSelection.parse(fields, TaskResponse.class);
+        return ResponseEntity.ok(selection.wrap(
+                ApiResponse.success(taskService.getTaskForProject(projectId, selection))));
+    }
+
+    @GetMapping("/filter")
+    @ProjectRoles
+    public ResponseEntity<MappingJacksonValue> filterTasks(
+            @PathVariable String projectId,
+            @ModelAttribute TaskFilterRequest filter,
+            @RequestParam(required = false) String fields
+    ) {
+        FieldSelection selection = FieldSelection.parse(fields, TaskResponse.class);
+        return ResponseEntity.ok(selection.wrap(
+                ApiResponse.success(taskService.filterTasks(projectId, filter, selection))));
+    }
+
+    @GetMapping("/board")
+    @ProjectRoles
+    public ResponseEntity<MappingJacksonValue> getBoard(
+            @PathVariable String projectId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields
+    ) {
+        FieldSelection selection = FieldSelection.parse(fields, TaskResponse.class);
+        return ResponseEntity.ok(selection.wrap(
+                ApiResponse.success(taskService.getBoard(projectId, limit, selection))));
+    }
+
+    @GetMapping("/board/{boardColumnId}")
+    @ProjectRoles
+    public ResponseEntity<MappingJacksonValue> getBoardColumnTasks(
+            @PathVariable String projectId,
+            @PathVariable String boardColumnId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields
+    ) {
+        FieldSelection selection = FieldSelection.parse(fields, TaskResponse.class);
+        return ResponseEntity.ok(selection.wrap(ApiResponse.success(
+                taskService.getBoardColumnTasks(projectId, boardColumnId, cursor, limit, selection))));
     }
 
     @PostMapping("/{taskId}/archive")
@@ -160,6 +205,7 @@ public class TaskController {
 
     @PostMapping("/{taskId}/checkList")
     @ProjectRoles(roles = {"OWNER", "ADMIN", "MEMBER"})
+    @Idempotent
     public ResponseEntity<ApiResponse<CheckListResponse>> createCheckList(
             @PathVariable String projectId,
             @PathVariable String taskId,
@@ -192,8 +238,20 @@ public class TaskController {
     }
 
 
+    @GetMapping("/{taskId}/comment")
+    @ProjectRoles
+    public ResponseEntity<ApiResponse<CommentPageResponse>> getComments(
+            @PathVariable String projectId,
+            @PathVariable String taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(
+                taskService.getComments(projectId, taskId, cursor, limit)));
+    }
+
     @PostMapping("/{taskId}/comment")
     @ProjectRoles(roles = {"OWNER", "ADMIN", "MEMBER"})
+    @Idempotent
     public ResponseEntity<ApiResponse<CommentResponse>> createComment(
             @PathVariable String projectId,
             @PathVariable String taskId,
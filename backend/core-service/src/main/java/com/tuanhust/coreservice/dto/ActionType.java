@@ -49,4 +49,12 @@ public enum ActionType {
     INCOMPLETE_CHECKLIST,
     UPDATE_CHECKLIST,
     DELETE_CHECKLIST, INVITE_MEMBER,
+
+    // do storage-service phát, core chỉ tiêu thụ để đếm file đính kèm
+    UPLOAD_FILE,
+    DELETE_FILE,
+
+    // do auth-service phát khi khóa/xóa tài khoản, core gỡ người dùng khỏi mọi dự án
+    BAN_USER,
+    DELETE_USER,
 }
@@ -1,6 +1,8 @@
 package com.tuanhust.coreservice.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -37,4 +39,8 @@ public class ActivityEvent implements Serializable {
     private String targetName;
 
     private Instant createdAt;
+
+    // TaskSnapshot đã lọc theo routing key, xem TaskSnapshotSelector
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private JsonNode snapshot;
 }
\ No newline at end of file
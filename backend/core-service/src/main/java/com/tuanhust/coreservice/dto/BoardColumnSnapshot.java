@@ -0,0 +1,12 @@
+package com.tuanhust.coreservice.dto;
+
+import com.tuanhust.coreservice.entity.BoardColumn;
+import com.tuanhust.coreservice.entity.enums.Status;
+
+public record BoardColumnSnapshot(String boardColumnId, String name, Double sortOrder, Status status) {
+
+    public static BoardColumnSnapshot of(BoardColumn column) {
+        return new BoardColumnSnapshot(column.getBoardColumnId(), column.getName(), column.getSortOrder(),
+                column.getStatus());
+    }
+}
@@ -0,0 +1,52 @@
+package com.tuanhust.coreservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tuanhust.coreservice.entity.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Thay đổi nhỏ trên board gửi qua kênh realtime, chỉ mang các trường của thẻ/cột bị đổi.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardDelta implements Serializable {
+
+    public enum Type {
+        TASK_MOVED,
+        TASK_UPDATED,
+        TASK_REMOVED,
+        COLUMN_MOVED,
+        COLUMN_REMOVED
+    }
+
+    private Type type;
+
+    private String projectId;
+
+    private String taskId;
+
+    private String boardColumnId;
+
+    private Double sortOrder;
+
+    private String title;
+
+    private Priority priority;
+
+    private Instant dueAt;
+
+    private Boolean completed;
+
+    private String actorId;
+
+    private Instant createdAt;
+}
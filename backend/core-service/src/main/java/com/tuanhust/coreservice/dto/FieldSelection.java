@@ -0,0 +1,66 @@
+package com.tuanhust.coreservice.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tham số {@code fields=} (tên trường cách nhau bởi dấu phẩy) của các endpoint đọc.
+ * Service chỉ tải association của trường được yêu cầu; {@link #wrap} lọc JSON theo đúng các trường đó.
+ * Không truyền {@code fields} nghĩa là lấy tất cả.
+ */
+public record FieldSelection(Set<String> fields) {
+    public static final String FILTER_ID = "fields";
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    public static FieldSelection parse(String fields, Class<?> responseType) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> allowed = Arrays.stream(responseType.getDeclaredFields())
+                .filter(f -> !Modifier.isStatic(f.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Trường không hợp lệ: " + name);
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? ALL : new FieldSelection(selected);
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public boolean includesAny(String... names) {
+        return Arrays.stream(names).anyMatch(this::includes);
+    }
+
+    public MappingJacksonValue wrap(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID, isAll()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+}
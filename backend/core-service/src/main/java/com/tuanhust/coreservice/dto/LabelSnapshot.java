@@ -0,0 +1,10 @@
+package com.tuanhust.coreservice.dto;
+
+import com.tuanhust.coreservice.entity.Label;
+
+public record LabelSnapshot(String labelId, String name, String color) {
+
+    public static LabelSnapshot of(Label label) {
+        return new LabelSnapshot(label.getLabelId(), label.getName(), label.getColor());
+    }
+}
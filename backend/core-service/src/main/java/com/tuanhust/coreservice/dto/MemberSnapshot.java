@@ -0,0 +1,15 @@
+package com.tuanhust.coreservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tuanhust.coreservice.entity.ProjectMember;
+import com.tuanhust.coreservice.entity.enums.Role;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MemberSnapshot(String memberId, String email, Role role, Instant joinedAt) {
+
+    public static MemberSnapshot of(ProjectMember member) {
+        return new MemberSnapshot(member.getMemberId(), member.getEmail(), member.getRole(), member.getJoinedAt());
+    }
+}
@@ -0,0 +1,13 @@
+package com.tuanhust.coreservice.dto;
+
+import com.tuanhust.coreservice.entity.Project;
+import org.hibernate.Hibernate;
+
+// Dự án trong ProjectEvent; name null nếu project chỉ là proxy chưa được nạp
+public record ProjectSnapshot(String projectId, String name) {
+
+    public static ProjectSnapshot of(Project project) {
+        return new ProjectSnapshot(project.getProjectId(),
+                Hibernate.isInitialized(project) ? project.getName() : null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tuanhust.coreservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tuanhust.coreservice.entity.Task;
+import com.tuanhust.coreservice.entity.TaskAssignee;
+import com.tuanhust.coreservice.entity.TaskLabel;
+import com.tuanhust.coreservice.entity.enums.Priority;
+import com.tuanhust.coreservice.entity.enums.Status;
+import org.hibernate.Hibernate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Trạng thái task tại thời điểm phát TaskEvent, dựng trong transaction nên listener chạy sau commit
+ * không chạm tới entity. Cũng là payload snapshot gửi kèm ActivityEvent; đổi tên/kiểu trường thì
+ * tăng {@link #VERSION}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskSnapshot(
+        int version,
+        String taskId,
+        String title,
+        String description,
+        Status status,
+        Priority priority,
+        Boolean completed,
+        Double sortOrder,
+        Instant dueAt,
+        String boardColumnId,
+        String projectName,
+        List<String> assigneeIds,
+        List<String> labelIds
+) {
+    public static final int VERSION = 1;
+
+    // Các trường có thể chọn trong app.activity.snapshot.fields; version và taskId luôn có
+    public static final Set<String> FIELDS = Set.of(
+            "title", "description", "status", "priority", "completed", "sortOrder",
+            "dueAt", "boardColumnId", "projectName", "assigneeIds", "labelIds");
+
+    // Chỉ đọc association và description đã được nạp, không phát sinh thêm truy vấn cho mỗi event
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(
+                VERSION,
+                task.getTaskId(),
+                task.getTitle(),
+                Hibernate.isPropertyInitialized(task, "description") ? task.getDescription() : null,
+                task.getStatus(),
+                task.getPriority(),
+                task.getCompleted(),
+                task.getSortOrder(),
+                task.getDueAt(),
+                // boardColumnId chỉ đọc (insertable = false), sau moveTask phải lấy từ association
+                task.getBoardColumn() != null ? task.getBoardColumn().getBoardColumnId() : task.getBoardColumnId(),
+                task.getProject() != null && Hibernate.isInitialized(task.getProject())
+                        ? task.getProject().getName() : null,
+                Hibernate.isInitialized(task.getAssignees())
+                        ? task.getAssignees().stream().map(TaskAssignee::getAssigneeId).toList() : null,
+                Hibernate.isInitialized(task.getTaskLabels())
+                        ? task.getTaskLabels().stream().map(TaskLabel::getLabelId).toList() : null
+        );
+    }
+}
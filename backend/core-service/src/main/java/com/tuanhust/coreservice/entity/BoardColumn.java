@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.tuanhust.coreservice.entity.enums.Status;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.SQLRestriction;
@@ -26,6 +28,7 @@ import java.time.Instant;
 @AllArgsConstructor
 @NoArgsConstructor
 @SQLRestriction("status <> 'ARCHIVED'")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "boardColumn")
 public class BoardColumn {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -0,0 +1,29 @@
+package com.tuanhust.coreservice.entity;
+
+import com.tuanhust.coreservice.entity.ids.MemberWorkloadId;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Read model số task đang mở / quá hạn của từng thành viên trong dự án, do WorkloadService duy trì
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@IdClass(MemberWorkloadId.class)
+@Table(name = "member_workloads")
+public class MemberWorkload {
+    @Id
+    private String projectId;
+    @Id
+    private String memberId;
+    @Column(nullable = false)
+    private Integer openCount;
+    @Column(nullable = false)
+    private Integer overdueCount;
+    // Lần đối soát gần nhất; overdueCount chỉ tính thêm task mới quá hạn ở lần đối soát
+    private Instant reconciledAt;
+}
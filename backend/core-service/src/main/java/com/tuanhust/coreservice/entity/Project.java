@@ -4,6 +4,9 @@ package com.tuanhust.coreservice.entity;
 import com.tuanhust.coreservice.entity.enums.Status;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -30,6 +33,9 @@ public class Project {
     private String projectId;
     @Column(nullable = false)
     private String name;
+    // Project được nạp kèm mọi thẻ task và mỗi lần kiểm tra tồn tại; mô tả chỉ nạp ở danh sách/chi tiết dự án
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("description")
     @Column(columnDefinition = "TEXT")
     private String description;
     @Column(nullable = false)
@@ -47,12 +53,15 @@ public class Project {
 
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "project",orphanRemoval = true)
     @OrderBy("name ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.labels")
     private Set<Label> labels;
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "project",orphanRemoval = true)
     @OrderBy("sortOrder ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.boardColumns")
     private Set<BoardColumn> boardColumns;
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "project",orphanRemoval = true)
     @OrderBy("joinedAt ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.members")
     private Set<ProjectMember> members;
     @OrderBy("completed ASC, priority DESC ")
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "project",orphanRemoval = true)
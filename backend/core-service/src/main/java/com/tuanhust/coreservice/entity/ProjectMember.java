@@ -5,6 +5,8 @@ import com.tuanhust.coreservice.entity.enums.Role;
 import com.tuanhust.coreservice.entity.ids.ProjectMemberID;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.annotation.CreatedDate;
@@ -23,6 +25,7 @@ import java.time.Instant;
 @EntityListeners(AuditingEntityListener.class)
 @IdClass(ProjectMemberID.class)
 @Table(name = "project_members")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projectMember")
 public class ProjectMember {
 
     @Column(name = "project_id",insertable = false,updatable = false)
@@ -5,6 +5,9 @@ import com.tuanhust.coreservice.entity.enums.Priority;
 import com.tuanhust.coreservice.entity.enums.Status;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.SQLRestriction;
@@ -25,6 +28,21 @@ import java.util.Set;
         indexes = {
                 @Index(name = "idx_project_id", columnList = "projectId"),
         })
+@NamedEntityGraph(name = Task.CARD_GRAPH, attributeNodes = {
+        @NamedAttributeNode("project"),
+        @NamedAttributeNode("assignees")
+})
+@NamedEntityGraph(name = Task.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("description"),
+        @NamedAttributeNode("assignees")
+})
+@NamedEntityGraph(name = Task.REMINDER_GRAPH, attributeNodes = {
+        @NamedAttributeNode("project"),
+        @NamedAttributeNode("assignees")
+})
+@NamedEntityGraph(name = Task.EVENT_GRAPH, attributeNodes = {
+        @NamedAttributeNode("project")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -33,11 +51,24 @@ import java.util.Set;
 @EntityListeners(AuditingEntityListener.class)
 @SQLRestriction("status <> 'ARCHIVED'")
 public class Task {
+    // Mỗi graph fetch join tối đa một collection để không sinh tích Descartes; các collection còn lại
+    // nạp theo @BatchSize, một câu cho mỗi collection
+    // Fetch plan cho thẻ trên board/danh sách: project name, người thực hiện (nhãn theo lô)
+    public static final String CARD_GRAPH = "Task.card";
+    // Fetch plan cho chi tiết task: description, người thực hiện (nhãn, checklist theo lô; comments nạp riêng)
+    public static final String DETAIL_GRAPH = "Task.detail";
+    public static final String REMINDER_GRAPH = "Task.reminder";
+    // Fetch plan cho các event gửi sau commit (listener đọc project name ngoài session)
+    public static final String EVENT_GRAPH = "Task.event";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String taskId;
     @Column(nullable = false)
     private String title;
+    // Thẻ không hiển thị mô tả: chỉ nạp khi chạm tới (cần bytecode enhancement) hoặc qua DETAIL_GRAPH
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("description")
     @Column(columnDefinition = "TEXT")
     private String description;
     @Enumerated(EnumType.STRING)
@@ -59,21 +90,39 @@ public class Task {
     private String creatorId;
     private Double sortOrder;
 
+    // Bộ đếm cho thẻ, chỉ thay đổi qua các câu UPDATE nguyên tử trong TaskRepository; entity không bao giờ ghi đè
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer commentCount;
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer checkListCount;
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer checkListDoneCount;
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer attachmentCount;
+
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "task",orphanRemoval = true)
     @OrderBy("updatedAt desc")
+    @BatchSize(size = 50)
     @Builder.Default
     private Set<Comment> comments = new HashSet<>();
 
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "task", orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private Set<TaskLabel> taskLabels = new HashSet<>();
 
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "task", orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private Set<TaskAssignee> assignees = new HashSet<>();
 
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "task", orphanRemoval = true)
     @OrderBy("done ASC, createdAt DESC")
+    @BatchSize(size = 50)
     @Builder.Default
     private Set<CheckList> checkLists = new HashSet<>();
 
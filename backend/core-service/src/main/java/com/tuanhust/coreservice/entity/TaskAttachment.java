@@ -0,0 +1,29 @@
+package com.tuanhust.coreservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+// File đính kèm đã đếm vào tasks.attachment_count, khóa theo S3 key để event UPLOAD_FILE/DELETE_FILE lặp lại không đếm hai lần
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "task_attachments",
+        indexes = {
+                @Index(name = "idx_task_attachments_task_id", columnList = "task_id")
+        })
+public class TaskAttachment {
+    @Id
+    private String fileKey;
+    @Column(name = "task_id", nullable = false)
+    private String taskId;
+    @CreatedDate
+    private Instant createdAt;
+}
@@ -0,0 +1,26 @@
+package com.tuanhust.coreservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Lời nhắc trước hạn của task; claimedBy/claimedUntil là lease của instance đang giữ lời nhắc trong timing wheel
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "task_reminders",
+        indexes = {
+                @Index(name = "idx_task_reminders_fire_at", columnList = "fire_at")
+        })
+public class TaskReminder {
+    @Id
+    private String taskId;
+    @Column(nullable = false)
+    private Instant fireAt;
+    private String claimedBy;
+    private Instant claimedUntil;
+}
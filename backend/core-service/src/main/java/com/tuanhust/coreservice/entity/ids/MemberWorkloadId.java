@@ -0,0 +1,15 @@
+package com.tuanhust.coreservice.entity.ids;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberWorkloadId implements Serializable {
+    private String projectId;
+    private String memberId;
+}
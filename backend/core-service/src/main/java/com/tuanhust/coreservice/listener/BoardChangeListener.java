@@ -0,0 +1,77 @@
+package com.tuanhust.coreservice.listener;
+
+import com.tuanhust.coreservice.dto.BoardDelta;
+import com.tuanhust.coreservice.dto.TaskSnapshot;
+import com.tuanhust.coreservice.publisher.BoardChangePublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+/**
+ * Chuyển TaskEvent/ProjectEvent đã commit thành delta cho kênh realtime của board.
+ * Không dùng @Async như TaskEventListener: publish lên Redis đủ nhanh, còn moveTask chỉ
+ * được đưa vào hàng đợi gộp.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardChangeListener {
+    private final BoardChangePublisher boardChangePublisher;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleTaskEvent(TaskEvent event) {
+        TaskSnapshot task = event.task();
+        BoardDelta.BoardDeltaBuilder delta = BoardDelta.builder()
+                .projectId(event.projectId())
+                .taskId(task.taskId())
+                .actorId(event.actor().getUserId());
+        switch (event.actionType()) {
+            case MOVE_TASK -> boardChangePublisher.publishMove(delta
+                    .type(BoardDelta.Type.TASK_MOVED)
+                    .boardColumnId(task.boardColumnId())
+                    .sortOrder(task.sortOrder())
+                    .build());
+            case UPDATE_TASK, COMPLETE_TASK, INCOMPLETE_TASK -> boardChangePublisher.publish(delta
+                    .type(BoardDelta.Type.TASK_UPDATED)
+                    .title(task.title())
+                    .priority(task.priority())
+                    .dueAt(task.dueAt())
+                    .completed(task.completed())
+                    .build());
+            case ARCHIVE_TASK, DELETE_TASK -> boardChangePublisher.publish(delta
+                    .type(BoardDelta.Type.TASK_REMOVED)
+                    .build());
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleProjectEvent(ProjectEvent event) {
+        BoardDelta.Type type = switch (event.actionType()) {
+            case MOVE_BOARD_COLUMN -> BoardDelta.Type.COLUMN_MOVED;
+            case ARCHIVE_BOARD_COLUMN, DELETE_BOARD_COLUMN -> BoardDelta.Type.COLUMN_REMOVED;
+            default -> null;
+        };
+        if (type == null) {
+            return;
+        }
+        boardChangePublisher.publish(BoardDelta.builder()
+                .type(type)
+                .projectId(event.project().projectId())
+                .boardColumnId(event.targetId())
+                .sortOrder(type == BoardDelta.Type.COLUMN_MOVED ? newSortOrder(event.metadata()) : null)
+                .actorId(event.actor().getUserId())
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Double newSortOrder(Map<String, Object> metadata) {
+        if (metadata != null && metadata.get("new") instanceof Map<?, ?> newData) {
+            return (Double) ((Map<String, Object>) newData).get("sortOrder");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.tuanhust.coreservice.listener;
+
+import com.tuanhust.coreservice.controller.BoardStreamController;
+import com.tuanhust.coreservice.publisher.BoardChangePublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+public class BoardChangeSubscriber implements MessageListener {
+    private final BoardStreamController boardStreamController;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String projectId = channel.substring(BoardChangePublisher.CHANNEL_PREFIX.length());
+        boardStreamController.broadcast(projectId, new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
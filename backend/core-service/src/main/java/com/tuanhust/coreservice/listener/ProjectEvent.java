@@ -2,12 +2,17 @@ package com.tuanhust.coreservice.listener;
 
 import com.tuanhust.coreservice.config.UserPrincipal;
 import com.tuanhust.coreservice.dto.ActionType;
+import com.tuanhust.coreservice.dto.ProjectSnapshot;
 import com.tuanhust.coreservice.entity.Project;
 
 import java.util.Map;
 
 
-public record ProjectEvent(Project project,
+/**
+ * Event bất biến: project được chụp thành {@link ProjectSnapshot} trong transaction;
+ * thành viên/nhãn/cột trong metadata là MemberSnapshot/LabelSnapshot/BoardColumnSnapshot.
+ */
+public record ProjectEvent(ProjectSnapshot project,
                            UserPrincipal actor,
                            UserPrincipal recipient,
                            ActionType actionType,
@@ -15,6 +20,13 @@ public record ProjectEvent(Project project,
                            String targetId,
                            String targetName,
                            Map<String, Object> metadata) {
+    public ProjectEvent(Project project, UserPrincipal actor, UserPrincipal recipient,
+                        ActionType actionType, String description,
+                        String targetId, String targetName, Map<String, Object> metadata) {
+        this(ProjectSnapshot.of(project), actor, recipient, actionType, description,
+                targetId, targetName, metadata);
+    }
+
     public ProjectEvent(Project project, UserPrincipal actor,
                         ActionType actionType, String description,
                         String targetId, String targetName, Map<String, Object> metadata) {
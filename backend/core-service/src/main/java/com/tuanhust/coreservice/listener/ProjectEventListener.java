@@ -43,11 +43,11 @@ public class ProjectEventListener {
             return;
         }
         try {
-            Map<String, Object> props = event.metadata();
+            Map<String, Object> props = new HashMap<>(meta);
             props.put("template", "email-invite");
             props.put("creatorName", event.actor().getFullName());
             props.put("creatorId", event.actor().getUserId());
-            props.put("projectName", event.project().getName());
+            props.put("projectName", event.project().name());
             props.put("expiryDays", 7);
             props.put("type", "INVITE_MEMBER");
             props.put("recipientName", event.recipient().getFullName());
@@ -56,7 +56,7 @@ public class ProjectEventListener {
                     .channel("ALL")
                     .recipient(event.recipient().getEmail())
                     .recipientId(event.recipient().getUserId())
-                    .subject("Lời mời tham gia dự án: " + event.project().getName())
+                    .subject("Lời mời tham gia dự án: " + event.project().name())
                     .content("Bạn nhận được lời mời tham gia dự án.")
                     .properties(props)
                     .build();
@@ -71,7 +71,7 @@ public class ProjectEventListener {
     private void sendActivityLog(ProjectEvent event) {
         try {
             ActivityEvent activity = ActivityEvent.builder()
-                    .projectId(event.project().getProjectId())
+                    .projectId(event.project().projectId())
                     .actorId(event.actor().getUserId())
                     .actorName(event.actor().getFullName())
                     .actorEmail(event.actor().getEmail())
@@ -0,0 +1,226 @@
+package com.tuanhust.coreservice.listener;
+
+import com.tuanhust.coreservice.entity.BoardColumn;
+import com.tuanhust.coreservice.entity.Label;
+import com.tuanhust.coreservice.entity.Project;
+import com.tuanhust.coreservice.entity.ProjectMember;
+import com.tuanhust.coreservice.entity.ids.ProjectMemberID;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Giữ L2 cache của dữ liệu tham chiếu dự án (nhãn, cột, thành viên) nhất quán giữa các node core-service.
+ * Mỗi thay đổi đã commit được xóa khỏi collection của {@link Project} ở node hiện tại và phát qua Redis để
+ * các node khác xóa cả entity lẫn collection. Một message gồm dòng đầu là id node, mỗi dòng sau là
+ * {@code type|projectId|id}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidationListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener, MessageListener {
+    public static final String CHANNEL = "core-service:l2-invalidation";
+    private static final String NODE_ID = UUID.randomUUID().toString();
+    private static final String PROJECT = "Project";
+    private static final String LABEL = "Label";
+    private static final String BOARD_COLUMN = "BoardColumn";
+    private static final String PROJECT_MEMBER = "ProjectMember";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Label.class || type == BoardColumn.class || type == ProjectMember.class;
+    }
+
+    /**
+     * Dùng cho các thao tác bulk/native SQL mà Hibernate không phát sinh event cho từng entity. Id nhãn, cột
+     * và thành viên của dự án được đọc lúc gọi để chỉ xóa đúng các entry đó, nên phải gọi trước câu lệnh xóa.
+     */
+    @SuppressWarnings("unchecked")
+    public void invalidateProject(String projectId) {
+        List<String> entries = new ArrayList<>();
+        entries.add(entry(PROJECT, projectId, projectId));
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        select 'Label', label_id from labels where project_id=:projectId
+                        union all
+                        select 'BoardColumn', board_column_id from board_columns where project_id=:projectId
+                        union all
+                        select 'ProjectMember', member_id from project_members where project_id=:projectId
+                        """)
+                .setParameter("projectId", projectId)
+                .getResultList();
+        rows.forEach(row -> entries.add(entry((String) row[0], projectId, (String) row[1])));
+        afterCommit(entries);
+    }
+
+    // Cột đã xóa bằng native SQL, vd. xóa lưu trữ quá hạn
+    public void invalidateBoardColumns(String projectId, Collection<String> boardColumnIds) {
+        afterCommit(boardColumnIds.stream().map(id -> entry(BOARD_COLUMN, projectId, id)).toList());
+    }
+
+    // Một thành viên bị gỡ khỏi nhiều dự án bằng câu xóa bulk: chỉ xóa các ProjectMember đó, gửi một message
+    public void invalidateProjects(String memberId, Collection<String> projectIds) {
+        afterCommit(projectIds.stream().map(projectId -> entry(PROJECT_MEMBER, projectId, memberId)).toList());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (lines.length < 2 || NODE_ID.equals(lines[0])) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            String[] parts = lines[i].split("\\|", 3);
+            if (parts.length == 3) {
+                evict(parts[0], parts[1], parts[2]);
+            }
+        }
+    }
+
+    private void afterCommit(List<String> entries) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            evictAndPublish(entries);
+                        }
+                    }
+            );
+        } else {
+            evictAndPublish(entries);
+        }
+    }
+
+    private void evictAndPublish(List<String> entries) {
+        for (String entry : entries) {
+            String[] parts = entry.split("\\|", 3);
+            evict(parts[0], parts[1], parts[2]);
+        }
+        publish(entries);
+    }
+
+    private void invalidate(Object entity) {
+        switch (entity) {
+            case Label label -> {
+                String projectId = label.getProjectId() != null ? label.getProjectId()
+                        : label.getProject().getProjectId();
+                evictCollection("labels", projectId);
+                publish(List.of(entry(LABEL, projectId, label.getLabelId())));
+            }
+            case BoardColumn column -> {
+                String projectId = column.getProjectId() != null ? column.getProjectId()
+                        : column.getProject().getProjectId();
+                evictCollection("boardColumns", projectId);
+                publish(List.of(entry(BOARD_COLUMN, projectId, column.getBoardColumnId())));
+            }
+            case ProjectMember member -> {
+                String projectId = member.getProjectId() != null ? member.getProjectId()
+                        : member.getProject().getProjectId();
+                evictCollection("members", projectId);
+                publish(List.of(entry(PROJECT_MEMBER, projectId, member.getMemberId())));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void evict(String type, String projectId, String id) {
+        Cache cache = cache();
+        switch (type) {
+            case LABEL -> {
+                cache.evictEntityData(Label.class, id);
+                evictCollection("labels", projectId);
+            }
+            case BOARD_COLUMN -> {
+                cache.evictEntityData(BoardColumn.class, id);
+                evictCollection("boardColumns", projectId);
+            }
+            case PROJECT_MEMBER -> {
+                cache.evictEntityData(ProjectMember.class, new ProjectMemberID(projectId, id));
+                evictCollection("members", projectId);
+            }
+            // Entity của dự án đi kèm thành entry riêng, ở đây chỉ xóa collection
+            case PROJECT -> {
+                evictCollection("labels", projectId);
+                evictCollection("boardColumns", projectId);
+                evictCollection("members", projectId);
+            }
+            default -> log.warn("Unknown L2 invalidation type {}", type);
+        }
+    }
+
+    private void evictCollection(String role, String projectId) {
+        if (projectId != null) {
+            cache().evictCollectionData(Project.class.getName() + "." + role, projectId);
+        }
+    }
+
+    private static String entry(String type, String projectId, String id) {
+        return String.join("|", type, projectId, id);
+    }
+
+    private void publish(List<String> entries) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, NODE_ID + "\n" + String.join("\n", entries));
+        } catch (Exception e) {
+            log.error("Failed to publish L2 cache invalidation for {}", entries, e);
+        }
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
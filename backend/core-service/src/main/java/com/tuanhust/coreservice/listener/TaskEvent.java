@@ -2,12 +2,17 @@ package com.tuanhust.coreservice.listener;
 
 import com.tuanhust.coreservice.config.UserPrincipal;
 import com.tuanhust.coreservice.dto.ActionType;
+import com.tuanhust.coreservice.dto.TaskSnapshot;
 import com.tuanhust.coreservice.entity.Task;
 
 
 import java.util.Map;
 
-public record TaskEvent(Task task,
+/**
+ * Event bất biến: task được chụp thành {@link TaskSnapshot} ngay khi tạo event (trong transaction),
+ * metadata/notifyProps chỉ chứa giá trị đơn giản hoặc snapshot record, không chứa entity.
+ */
+public record TaskEvent(TaskSnapshot task,
                         String projectId,
                         UserPrincipal actor,
                         ActionType actionType,
@@ -16,6 +21,14 @@ public record TaskEvent(Task task,
                         String targetName,
                         Map<String, Object> metadata,
                         Map<String, Object> notifyProps) {
+    public TaskEvent(Task task, String projectId, UserPrincipal actor,
+                     ActionType actionType, String description,
+                     String targetId, String targetName,
+                     Map<String, Object> metadata, Map<String, Object> notifyProps) {
+        this(TaskSnapshot.of(task), projectId, actor,
+                actionType, description, targetId, targetName, metadata, notifyProps);
+    }
+
     public TaskEvent(Task task, String projectId, UserPrincipal actor,
                      ActionType actionType, String description,
                      String targetId, String targetName, Map<String, Object> metadata) {
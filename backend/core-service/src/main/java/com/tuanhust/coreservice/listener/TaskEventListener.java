@@ -5,10 +5,10 @@ package com.tuanhust.coreservice.listener;
 import com.tuanhust.coreservice.config.UserPrincipal;
 import com.tuanhust.coreservice.dto.ActivityEvent;
 import com.tuanhust.coreservice.dto.NotificationEvent;
-import com.tuanhust.coreservice.entity.CommentMentions;
-import com.tuanhust.coreservice.entity.ProjectMember;
+import com.tuanhust.coreservice.dto.MemberSnapshot;
 import com.tuanhust.coreservice.publisher.ActivityPublisher;
 import com.tuanhust.coreservice.publisher.NotificationPublisher;
+import com.tuanhust.coreservice.publisher.TaskSnapshotSelector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -29,6 +29,7 @@ import java.util.*;
 public class TaskEventListener {
     private final ActivityPublisher activityPublisher;
     private final NotificationPublisher notificationPublisher;
+    private final TaskSnapshotSelector taskSnapshotSelector;
 
     @Value("${app.frontend-url}")
     private String frontendUrl;
@@ -57,7 +58,7 @@ public class TaskEventListener {
     private void sendActivityLog(TaskEvent event) {
         ActivityEvent activity = ActivityEvent.builder()
                 .projectId(event.projectId())
-                .taskId(event.task().getTaskId())
+                .taskId(event.task().taskId())
                 .actorId(event.actor().getUserId())
                 .actorName(event.actor().getFullName())
                 .actorEmail(event.actor().getEmail())
@@ -67,6 +68,7 @@ public class TaskEventListener {
                 .targetName(event.targetName())
                 .metadata(event.metadata())
                 .createdAt(Instant.now())
+                .snapshot(taskSnapshotSelector.select(ActivityPublisher.routingKey(event.actionType()), event.task()))
                 .build();
 
         activityPublisher.publish(activity);
@@ -75,22 +77,21 @@ public class TaskEventListener {
     private void sendNotificationLogForComment(TaskEvent event) {
         try {
             String taskLink = frontendUrl + "/project/" + event.projectId() + "/task/"
-                    + event.task().getTaskId();
+                    + event.task().taskId();
             Map<String, Object> props = new HashMap<>();
             props.put("link", taskLink);
             props.put("creatorId", event.actor().getUserId());
             props.put("creatorName", event.actor().getFullName());
             props.put("type", "MENTION");
-            Set<CommentMentions> commentMentions =
-                    (Set<CommentMentions>) event.notifyProps().get("commentMentions");
-            commentMentions
-                    .stream().filter(
-                            c -> !Objects.equals(c.getMentionId(), event.actor().getUserId()))
-                    .forEach(c -> {
+            List<String> mentionIds = (List<String>) event.notifyProps().get("mentionIds");
+            mentionIds
+                    .stream().distinct().filter(
+                            mentionId -> !Objects.equals(mentionId, event.actor().getUserId()))
+                    .forEach(mentionId -> {
                         NotificationEvent notificationEvent = NotificationEvent.builder()
                                 .channel("IN_APP")
                                 .content("Đã nhắc đến bạn trong 1 bình luận")
-                                .recipientId(c.getMentionId())
+                                .recipientId(mentionId)
                                 .properties(props)
                                 .build();
                         notificationPublisher.publish(notificationEvent);
@@ -104,30 +105,30 @@ public class TaskEventListener {
     private void sendNotificationLogForAssigneeTask(TaskEvent event) {
         try {
             String taskLink = frontendUrl + "/project/" + event.projectId() + "/task/"
-                    + event.task().getTaskId();
+                    + event.task().taskId();
             Map<String, Object> props = new HashMap<>();
             props.put("template", "email_add_assignee_task");
             props.put("creatorId", event.actor().getUserId());
             props.put("creatorName", event.actor().getFullName());
-            props.put("titleTask", event.task().getTitle());
-            props.put("projectName", event.task().getProject().getName());
-            props.put("priority", event.task().getPriority());
+            props.put("titleTask", event.task().title());
+            props.put("projectName", event.task().projectName());
+            props.put("priority", event.task().priority());
             props.put("type", "ASSIGN_TASK");
-            if (event.task().getDueAt() != null) {
+            if (event.task().dueAt() != null) {
                 LocalDateTime dueAt = LocalDateTime.ofInstant(
-                        event.task().getDueAt(),
+                        event.task().dueAt(),
                         ZoneId.systemDefault()
                 );
                 props.put("dueAt", dueAt.toString());
             }
             props.put("link", taskLink);
-            List<ProjectMember> assignees = (List<ProjectMember>) event.notifyProps().get("assignees");
+            List<MemberSnapshot> assignees = (List<MemberSnapshot>) event.notifyProps().get("assignees");
             assignees.forEach(a -> {
-                if(!a.getMemberId().equals(event.actor().getUserId())){
+                if(!a.memberId().equals(event.actor().getUserId())){
                     NotificationEvent notificationEvent = NotificationEvent.builder()
                             .channel("ALL")
-                            .recipientId(a.getMemberId())
-                            .recipient(a.getEmail())
+                            .recipientId(a.memberId())
+                            .recipient(a.email())
                             .subject("Bạn đã được thêm vào 1 nhiệm vụ")
                             .properties(props)
                             .build();
@@ -148,8 +149,8 @@ public class TaskEventListener {
                 props.put("template", "email_delete_assignee_task");
                 props.put("creatorId", event.actor().getUserId());
                 props.put("creatorName", event.actor().getFullName());
-                props.put("taskTitle",event.task().getTitle());
-                props.put("projectName", event.task().getProject().getName());
+                props.put("taskTitle",event.task().title());
+                props.put("projectName", event.task().projectName());
                 props.put("type", "REMOVE_ASSIGNEE_TASK");
                 props.put("recipientName", assignee.getFullName());
 
@@ -0,0 +1,18 @@
+package com.tuanhust.coreservice.listener;
+
+import com.tuanhust.coreservice.service.WorkloadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Chạy đồng bộ trong transaction phát event để counter workload commit/rollback cùng thao tác ghi
+@Component
+@RequiredArgsConstructor
+public class WorkloadEventListener {
+    private final WorkloadService workloadService;
+
+    @EventListener
+    public void handleTaskEvent(TaskEvent event) {
+        workloadService.apply(event);
+    }
+}
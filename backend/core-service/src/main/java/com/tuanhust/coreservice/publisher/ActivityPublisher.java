@@ -1,5 +1,6 @@
 package com.tuanhust.coreservice.publisher;
 
+import com.tuanhust.coreservice.dto.ActionType;
 import com.tuanhust.coreservice.dto.ActivityEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,13 +20,16 @@ public class ActivityPublisher {
 
     private void doPublish(ActivityEvent event) {
         try {
-            String routingKey = "activity." + event.getActionType().name().toLowerCase();
-            rabbitTemplate.convertAndSend(EXCHANGE, routingKey, event);
+            rabbitTemplate.convertAndSend(EXCHANGE, routingKey(event.getActionType()), event);
         } catch (Exception e) {
             log.error("Failed to publish activity event: {}", event.getActionType(), e);
         }
     }
 
+    public static String routingKey(ActionType actionType) {
+        return "activity." + actionType.name().toLowerCase();
+    }
+
     public void publish(ActivityEvent event) {
         // Kiểm tra có đang trong transaction không
         if (TransactionSynchronizationManager.isActualTransactionActive()) {
@@ -0,0 +1,82 @@
+package com.tuanhust.coreservice.publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuanhust.coreservice.dto.BoardDelta;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gửi {@link BoardDelta} lên Redis pub/sub, kênh {@code board:{projectId}}.
+ * Các lần kéo thả cùng một task trong {@code app.board-channel.coalesce-window-ms} được gộp
+ * thành một delta mang vị trí cuối cùng.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BoardChangePublisher {
+    public static final String CHANNEL_PREFIX = "board:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, BoardDelta> pendingMoves = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService coalescer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("board-coalescer").daemon().factory());
+
+    @Value("${app.board-channel.coalesce-window-ms:40}")
+    private long coalesceWindowMs;
+
+    public void publishMove(BoardDelta delta) {
+        String key = moveKey(delta.getProjectId(), delta.getTaskId());
+        // Chỉ lần kéo đầu tiên trong cửa sổ lên lịch gửi, các lần sau chỉ ghi đè vị trí mới nhất
+        if (pendingMoves.put(key, delta) == null) {
+            coalescer.schedule(() -> flushMove(key), coalesceWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void publish(BoardDelta delta) {
+        if (delta.getTaskId() != null) {
+            // Giữ thứ tự: lần di chuyển đang chờ của task phải tới trước thay đổi mới
+            flushMove(moveKey(delta.getProjectId(), delta.getTaskId()));
+        }
+        send(delta);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coalescer.shutdownNow();
+        pendingMoves.keySet().forEach(this::flushMove);
+    }
+
+    private void flushMove(String key) {
+        BoardDelta delta = pendingMoves.remove(key);
+        if (delta != null) {
+            send(delta);
+        }
+    }
+
+    private void send(BoardDelta delta) {
+        try {
+            delta.setCreatedAt(Instant.now());
+            stringRedisTemplate.convertAndSend(CHANNEL_PREFIX + delta.getProjectId(),
+                    objectMapper.writeValueAsString(delta));
+        } catch (Exception e) {
+            log.error("Failed to publish board delta: {} {}", delta.getType(), delta.getTaskId(), e);
+        }
+    }
+
+    private static String moveKey(String projectId, String taskId) {
+        return projectId + ":" + taskId;
+    }
+}
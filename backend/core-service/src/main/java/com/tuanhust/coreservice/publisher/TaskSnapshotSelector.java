@@ -0,0 +1,80 @@
+package com.tuanhust.coreservice.publisher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tuanhust.coreservice.config.ActivitySnapshotProperties;
+import com.tuanhust.coreservice.dto.TaskSnapshot;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dựng snapshot của task cho một routing key theo {@link ActivitySnapshotProperties}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSnapshotSelector {
+    private static final List<String> ALWAYS = List.of("version", "taskId");
+
+    private final ActivitySnapshotProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    void validate() {
+        properties.fields().forEach((routingKey, fields) -> {
+            Set<String> unknown = new HashSet<>(fields);
+            unknown.removeAll(TaskSnapshot.FIELDS);
+            if (!unknown.isEmpty()) {
+                throw new IllegalStateException(
+                        "app.activity.snapshot.fields[" + routingKey + "] has unknown fields " + unknown);
+            }
+        });
+    }
+
+    /**
+     * @return null khi routing key không cấu hình snapshot hoặc snapshot vẫn vượt giới hạn sau khi bỏ description
+     */
+    public JsonNode select(String routingKey, TaskSnapshot task) {
+        List<String> fields = properties.fields().get(routingKey);
+        if (fields == null || task == null) {
+            return null;
+        }
+        ObjectNode node = objectMapper.valueToTree(task);
+        node.retain(concat(fields));
+        if (fits(node)) {
+            return node;
+        }
+        if (node.remove("description") != null) {
+            node.put("truncated", true);
+            if (fits(node)) {
+                return node;
+            }
+        }
+        log.warn("Task snapshot {} for {} exceeds {} bytes, sending without snapshot",
+                task.taskId(), routingKey, properties.maxBytes());
+        return null;
+    }
+
+    private boolean fits(ObjectNode node) {
+        try {
+            return objectMapper.writeValueAsBytes(node).length <= properties.maxBytes();
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    private static List<String> concat(List<String> fields) {
+        List<String> all = new ArrayList<>(ALWAYS);
+        all.addAll(fields);
+        return all;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tuanhust.coreservice.repository;
+
+import com.tuanhust.coreservice.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Xóa hẳn task/cột đã lưu trữ quá hạn giữ lại. Mỗi lô khóa các dòng (skip locked) và lấy ctid của chúng,
+ * rồi xóa theo ctid bằng TID scan, không phải tìm lại qua index khóa chính.
+ */
+public interface ArchiveRetentionRepository extends Repository<Task, String> {
+
+    interface ProjectRow {
+        String getId();
+
+        String getProjectId();
+    }
+
+    interface PurgeRow extends ProjectRow {
+        String getRowId();
+    }
+
+    @Query(value = """
+            select ctid::text as rowId, task_id as id, project_id as projectId from tasks
+            where status = 'ARCHIVED' and archived_at < :cutoff
+            limit :batchSize for update skip locked
+            """, nativeQuery = true)
+    List<PurgeRow> findExpiredTasks(Instant cutoff, int batchSize);
+
+    @Query(value = """
+            select ctid::text as rowId, task_id as id, project_id as projectId from tasks_archive
+            where archived_at < :cutoff
+            order by archived_at limit :batchSize for update skip locked
+            """, nativeQuery = true)
+    List<PurgeRow> findExpiredColdTasks(Instant cutoff, int batchSize);
+
+    @Query(value = """
+            select ctid::text as rowId, board_column_id as id, project_id as projectId from board_columns
+            where status = 'ARCHIVED' and archived_at < :cutoff
+            limit :batchSize for update skip locked
+            """, nativeQuery = true)
+    List<PurgeRow> findExpiredBoardColumns(Instant cutoff, int batchSize);
+
+    // Task ở cả hai tier sẽ bị xóa theo cột (ON DELETE CASCADE), cần id để dọn file và vector
+    @Query(value = """
+            select task_id as id, project_id as projectId
+            from tasks where board_column_id in (:columnIds)
+            union all
+            select task_id, project_id
+            from tasks_archive where board_column_id in (:columnIds)
+            """, nativeQuery = true)
+    List<ProjectRow> findTasksByBoardColumnIdIn(Collection<String> columnIds);
+
+    // rowIds là literal mảng tid, ví dụ {"(0,1)","(0,2)"}; các dòng đang bị khóa nên ctid không đổi
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "delete from tasks where ctid = any(cast(:rowIds as tid[]))", nativeQuery = true)
+    int deleteTasks(String rowIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+    @Query(value = "delete from tasks_archive where ctid = any(cast(:rowIds as tid[]))", nativeQuery = true)
+    int deleteColdTasks(String rowIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "board_columns"))
+    @Query(value = "delete from board_columns where ctid = any(cast(:rowIds as tid[]))", nativeQuery = true)
+    int deleteBoardColumns(String rowIds);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,9 +26,26 @@ public interface BoardColumnRepository extends JpaRepository<BoardColumn,String>
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<BoardColumn> findByProjectIdAndBoardColumnId(String projectId, String columnId);
 
+    boolean existsByProjectIdAndBoardColumnId(String projectId, String boardColumnId);
+
 
     @Query(value = """
             select * from board_columns where project_id=:projectId and board_column_id=:columnId and status='ARCHIVED'
             """,nativeQuery=true)
     Optional<BoardColumn> findArchivedByProjectIdAndBoardColumnId(String projectId, String columnId);
-}
\ No newline at end of file
+
+    interface PortfolioColumnRow {
+        String getProjectId();
+
+        String getBoardColumnId();
+
+        String getName();
+    }
+
+    @Query(value = """
+            select bc.projectId as projectId, bc.boardColumnId as boardColumnId, bc.name as name
+            from BoardColumn bc where bc.projectId in :projectIds
+            order by bc.projectId, bc.sortOrder
+            """)
+    List<PortfolioColumnRow> findPortfolioColumns(Collection<String> projectIds);
+}
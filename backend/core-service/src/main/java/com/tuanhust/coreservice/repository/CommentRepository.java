@@ -2,7 +2,40 @@ package com.tuanhust.coreservice.repository;
 
 import com.tuanhust.coreservice.entity.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, String> {
 
-}
\ No newline at end of file
+    interface LatestCommentRow {
+        String getCommentId();
+
+        Long getTotal();
+    }
+
+    // Bình luận mới nhất trước; total là tổng số bình luận của task (window tính trước limit)
+    @Query(value = """
+            select c.comment_id as "commentId", count(*) over () as "total"
+            from comments c where c.task_id=:taskId
+            order by c.created_at desc, c.comment_id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<LatestCommentRow> findLatestComments(String taskId, int limit);
+
+    // Keyset trên (created_at, comment_id), đi thẳng trên idx_comments_task_created
+    @Query(value = """
+            select c.comment_id from comments c
+            where c.task_id=:taskId and (c.created_at, c.comment_id) < (:createdAt, :commentId)
+            order by c.created_at desc, c.comment_id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<String> findCommentIdsBefore(String taskId, Instant createdAt, String commentId, int limit);
+
+    @Query(value = """
+            select distinct c from Comment c left join fetch c.commentMentions where c.commentId in :commentIds
+            """)
+    List<Comment> findWithMentionsByCommentIdIn(Collection<String> commentIds);
+}
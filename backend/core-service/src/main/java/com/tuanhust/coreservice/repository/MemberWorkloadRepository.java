@@ -0,0 +1,85 @@
+package com.tuanhust.coreservice.repository;
+
+import com.tuanhust.coreservice.entity.MemberWorkload;
+import com.tuanhust.coreservice.entity.ids.MemberWorkloadId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface MemberWorkloadRepository extends JpaRepository<MemberWorkload, MemberWorkloadId> {
+
+    List<MemberWorkload> findByProjectIdOrderByOpenCountDesc(String projectId);
+
+    // Danh mục dự án mà người gọi quản lý (OWNER/ADMIN), bỏ dự án đã lưu trữ
+    @Query(value = """
+            select w from MemberWorkload w
+            where w.projectId in (
+                select pm.projectId from ProjectMember pm
+                where pm.memberId=:userId
+                and pm.role in (com.tuanhust.coreservice.entity.enums.Role.OWNER,
+                                com.tuanhust.coreservice.entity.enums.Role.ADMIN)
+            )
+            and exists (select 1 from Project p where p.projectId=w.projectId)
+            order by w.projectId, w.openCount desc
+            """)
+    List<MemberWorkload> findManagedByUserId(String userId);
+
+    // Cộng dồn số task mở cho các thành viên cho trước; chỉ thành viên còn trong dự án mới có dòng
+    // (FK tới project_members). overdue_count chỉ do reconcile ghi
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "member_workloads"))
+    @Query(value = """
+            insert into member_workloads (project_id, member_id, open_count, overdue_count)
+            select pm.project_id, pm.member_id, greatest(:open, 0), 0
+            from project_members pm
+            where pm.project_id=:projectId and pm.member_id in (:memberIds)
+            on conflict (project_id, member_id) do update
+            set open_count = greatest(member_workloads.open_count + :open, 0)
+            """, nativeQuery = true)
+    void adjust(String projectId, Collection<String> memberIds, int open);
+
+    // Như adjust nhưng cho mọi người thực hiện hiện tại của task
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "member_workloads"))
+    @Query(value = """
+            insert into member_workloads (project_id, member_id, open_count, overdue_count)
+            select t.project_id, ta.assignee_id, greatest(:open, 0), 0
+            from task_assignee ta join tasks t on t.task_id = ta.task_id
+            where ta.task_id=:taskId
+            on conflict (project_id, member_id) do update
+            set open_count = greatest(member_workloads.open_count + :open, 0)
+            """, nativeQuery = true)
+    void adjustForTask(String taskId, int open);
+
+    // Tính lại từ task_assignee/tasks cho một lô dự án, ghi đè counter đã lệch; task trong cột đã lưu trữ
+    // không hiện trên board nên không tính
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "member_workloads"))
+    @Query(value = """
+            insert into member_workloads (project_id, member_id, open_count, overdue_count, reconciled_at)
+            select pm.project_id, pm.member_id, w.open_count, w.overdue_count, :now
+            from project_members pm
+            cross join lateral (
+                select count(*) as open_count,
+                       count(*) filter (where t.due_at < :now) as overdue_count
+                from task_assignee ta
+                join tasks t on t.task_id = ta.task_id
+                join board_columns bc on bc.board_column_id = t.board_column_id
+                where ta.assignee_id = pm.member_id and t.project_id = pm.project_id
+                and t.status <> 'ARCHIVED' and bc.status <> 'ARCHIVED' and t.completed = false
+            ) w
+            where pm.project_id in (:projectIds)
+            on conflict (project_id, member_id) do update
+            set open_count = excluded.open_count,
+                overdue_count = excluded.overdue_count,
+                reconciled_at = excluded.reconciled_at
+            """, nativeQuery = true)
+    int reconcile(Collection<String> projectIds, Instant now);
+}
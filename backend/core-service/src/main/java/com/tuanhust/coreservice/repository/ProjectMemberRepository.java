@@ -3,9 +3,14 @@ package com.tuanhust.coreservice.repository;
 import com.tuanhust.coreservice.entity.ProjectMember;
 import com.tuanhust.coreservice.entity.enums.Role;
 import com.tuanhust.coreservice.entity.ids.ProjectMemberID;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +27,13 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Pr
     long countByProjectIdAndMemberIdIn(String projectId, List<String> userIds);
 
     List<ProjectMember> findByMemberIdInAndProjectId(List<String> assigneeIds, String projectId);
-}
\ No newline at end of file
+
+    List<ProjectMember> findByMemberId(String memberId);
+
+    // member_workloads bị xóa theo ON DELETE CASCADE
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_members"))
+    @Query(value = "delete from project_members where member_id=:memberId and project_id in (:projectIds)",
+            nativeQuery = true)
+    int deleteByMemberIdAndProjectIdIn(String memberId, Collection<String> projectIds);
+}
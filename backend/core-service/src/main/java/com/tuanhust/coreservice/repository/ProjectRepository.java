@@ -6,23 +6,51 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import com.tuanhust.coreservice.entity.Project;
+import com.tuanhust.coreservice.entity.enums.Role;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 
 public interface ProjectRepository extends JpaRepository<Project, String> {
+    // Thẻ dự án hiển thị mô tả nên nạp description (lazy) ngay trong câu phân trang
+    @EntityGraph(attributePaths = "description")
     @Query(value = """
              select p from Project p left join ProjectMember m
              on p.projectId=m.projectId where m.memberId=:userId order by p.createdAt desc
             """)
     Page<Project> findAllByUserId(Pageable pageable, String userId);
 
+    interface PortfolioProjectRow {
+        String getProjectId();
+
+        String getName();
+
+        Instant getDueAt();
+
+        Role getRole();
+    }
+
+    // Portfolio: chỉ lấy cột cần cho thẻ dự án, không nạp entity Project
+    @Query(value = """
+            select p.projectId as projectId, p.name as name, p.dueAt as dueAt, m.role as role
+            from Project p join ProjectMember m on p.projectId=m.projectId
+            where m.memberId=:userId order by p.createdAt desc
+            """)
+    List<PortfolioProjectRow> findPortfolioProjects(String userId, Pageable pageable);
+
     @Query(value = """
             select * from projects where project_id=:projectId and status='ARCHIVED'
             """, nativeQuery = true)
     Optional<Project> findArchivedById(String projectId);
 
+    // Duyệt keyset toàn bộ dự án đang hoạt động theo lô (đối soát workload)
+    @Query(value = """
+            select p.projectId from Project p where p.projectId > :after order by p.projectId
+            """)
+    List<String> findProjectIdsAfter(String after, Pageable pageable);
+
 
 
 
@@ -32,10 +60,13 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
             """, nativeQuery = true)
     Optional<Project> removeProject(String projectId);
 
-    @EntityGraph(attributePaths = {"members", "labels", "boardColumns"})
+    @EntityGraph(attributePaths = {"description", "members", "labels", "boardColumns"})
     @Query(value = "select p from Project p where p.projectId=:id")
     Optional<Project> findDetailById(String id);
 
+    @EntityGraph(attributePaths = "description")
+    Optional<Project> findWithDescriptionByProjectId(String projectId);
+
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Project p WHERE p.projectId = :projectId")
@@ -46,6 +77,10 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
                         select t.task_id as itemId,t.title as name,'TASK' as type,t.archived_at as archivedAt
                                     from tasks t join board_columns bc using (board_column_id) 
                                                 where t.project_id=:projectId and t.status='ARCHIVED' and bc.status='ACTIVE'
+                        union all
+                        select ta.task_id as itemId,ta.title as name,'TASK' as type,ta.archived_at as archivedAt
+                                    from tasks_archive ta join board_columns bc using (board_column_id)
+                                                where ta.project_id=:projectId and bc.status='ACTIVE'
                         union all 
                         select bc.board_column_id as itemId,bc.name as name,'COLUMN' as type,bc.archived_at as archivedAt
                                     from board_columns bc where bc.project_id=:projectId and bc.status='ARCHIVED'
@@ -57,6 +92,9 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
                             SELECT 1 FROM tasks t join board_columns bc using (board_column_id)
                                                          WHERE t.project_id = :projectId AND t.status = 'ARCHIVED' and bc.status='ACTIVE'
                             UNION ALL
+                            SELECT 1 FROM tasks_archive ta join board_columns bc using (board_column_id)
+                                                         WHERE ta.project_id = :projectId and bc.status='ACTIVE'
+                            UNION ALL
                             SELECT 1 FROM board_columns WHERE project_id = :projectId AND status = 'ARCHIVED'
                         ) AS count_table
                     """,
@@ -0,0 +1,173 @@
+package com.tuanhust.coreservice.repository;
+
+import com.tuanhust.coreservice.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cold tier của task đã lưu trữ: tasks_archive, comments_archive, check_list_archive.
+ * Mỗi câu ghi khai báo đúng các bảng nó chạm tới (kể cả qua cascade); thiếu hint thì Hibernate xóa toàn bộ L2.
+ */
+public interface TaskArchiveRepository extends Repository<Task, String> {
+
+    @Query(value = """
+            select task_id from tasks where status='ARCHIVED' and archived_at < :cutoff
+                        order by archived_at limit :batchSize for update skip locked
+            """, nativeQuery = true)
+    List<String> findColdTaskIds(Instant cutoff, int batchSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+    @Query(value = """
+            insert into tasks_archive (task_id, title, description, status, priority, completed, due_at,
+                                       archived_at, created_at, updated_at, creator_id, sort_order,
+                                       project_id, board_column_id, label_ids, assignee_ids, attachment_keys)
+            select t.task_id, t.title, t.description, t.status, t.priority, t.completed, t.due_at,
+                   t.archived_at, t.created_at, t.updated_at, t.creator_id, t.sort_order,
+                   t.project_id, t.board_column_id,
+                   array(select tl.label_id from task_labels tl where tl.task_id = t.task_id),
+                   array(select ta.assignee_id from task_assignee ta where ta.task_id = t.task_id),
+                   array(select a.file_key from task_attachments a where a.task_id = t.task_id)
+            from tasks t where t.task_id in (:taskIds)
+            """, nativeQuery = true)
+    int freezeTasks(List<String> taskIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments_archive"))
+    @Query(value = """
+            insert into comments_archive (comment_id, body, created_at, creator_id, task_id, updated_at, mention_ids)
+            select c.comment_id, c.body, c.created_at, c.creator_id, c.task_id, c.updated_at,
+                   array(select cm.mention_id from comment_mentions cm where cm.comment_id = c.comment_id)
+            from comments c where c.task_id in (:taskIds)
+            """, nativeQuery = true)
+    int freezeComments(List<String> taskIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "check_list_archive"))
+    @Query(value = """
+            insert into check_list_archive (check_list_id, body, created_at, creator_id, done, task_id, updated_at)
+            select cl.check_list_id, cl.body, cl.created_at, cl.creator_id, cl.done, cl.task_id, cl.updated_at
+            from check_list cl where cl.task_id in (:taskIds)
+            """, nativeQuery = true)
+    int freezeCheckLists(List<String> taskIds);
+
+    // comments, check_list, task_labels, task_assignee, task_attachments, task_reminders bị xóa theo ON DELETE CASCADE
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_mentions"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "check_list"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_labels"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_assignee"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_attachments"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_reminders")
+    })
+    @Query(value = "delete from tasks where task_id in (:taskIds)", nativeQuery = true)
+    int deleteHotTasks(List<String> taskIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = """
+            insert into tasks (task_id, title, description, status, priority, completed, due_at, archived_at,
+                               created_at, updated_at, creator_id, sort_order, project_id, board_column_id)
+            select ta.task_id, ta.title, ta.description, ta.status, ta.priority, ta.completed, ta.due_at,
+                   ta.archived_at, ta.created_at, ta.updated_at, ta.creator_id, ta.sort_order,
+                   ta.project_id, ta.board_column_id
+            from tasks_archive ta where ta.project_id = :projectId and ta.task_id = :taskId
+            on conflict do nothing
+            """, nativeQuery = true)
+    int thawTask(String projectId, String taskId);
+
+    // Bỏ qua nhãn đã bị xóa và thành viên đã rời dự án trong thời gian task nằm ở cold tier
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_labels"))
+    @Query(value = """
+            insert into task_labels (label_id, task_id)
+            select l.label_id, ta.task_id from tasks_archive ta
+            cross join unnest(ta.label_ids) as archived(label_id)
+            join labels l on l.label_id = archived.label_id
+            where ta.task_id = :taskId
+            """, nativeQuery = true)
+    int thawTaskLabels(String taskId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_assignee"))
+    @Query(value = """
+            insert into task_assignee (assignee_id, task_id)
+            select pm.member_id, ta.task_id from tasks_archive ta
+            cross join unnest(ta.assignee_ids) as archived(assignee_id)
+            join project_members pm on pm.member_id = archived.assignee_id and pm.project_id = ta.project_id
+            where ta.task_id = :taskId
+            """, nativeQuery = true)
+    int thawTaskAssignees(String taskId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments"))
+    @Query(value = """
+            insert into comments (comment_id, body, created_at, creator_id, task_id, updated_at)
+            select c.comment_id, c.body, c.created_at, c.creator_id, c.task_id, c.updated_at
+            from comments_archive c where c.task_id = :taskId
+            """, nativeQuery = true)
+    int thawComments(String taskId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_mentions"))
+    @Query(value = """
+            insert into comment_mentions (comment_id, mention_id)
+            select c.comment_id, m.mention_id from comments_archive c
+            cross join unnest(c.mention_ids) as m(mention_id)
+            where c.task_id = :taskId
+            """, nativeQuery = true)
+    int thawCommentMentions(String taskId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "check_list"))
+    @Query(value = """
+            insert into check_list (check_list_id, body, created_at, creator_id, done, task_id, updated_at)
+            select cl.check_list_id, cl.body, cl.created_at, cl.creator_id, cl.done, cl.task_id, cl.updated_at
+            from check_list_archive cl where cl.task_id = :taskId
+            """, nativeQuery = true)
+    int thawCheckLists(String taskId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_attachments"))
+    @Query(value = """
+            insert into task_attachments (file_key, task_id)
+            select archived.file_key, ta.task_id from tasks_archive ta
+            cross join unnest(ta.attachment_keys) as archived(file_key)
+            where ta.task_id = :taskId
+            on conflict do nothing
+            """, nativeQuery = true)
+    int thawTaskAttachments(String taskId);
+
+    // Bộ đếm của thẻ không nằm trong cold tier, tính lại một lần sau khi các bảng con đã được khôi phục
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = """
+            update tasks t set
+                comment_count = (select count(*) from comments c where c.task_id = t.task_id),
+                check_list_count = (select count(*) from check_list cl where cl.task_id = t.task_id),
+                check_list_done_count = (select count(*) from check_list cl where cl.task_id = t.task_id and cl.done),
+                attachment_count = (select count(*) from task_attachments a where a.task_id = t.task_id)
+            where t.task_id = :taskId
+            """, nativeQuery = true)
+    int refreshCounters(String taskId);
+
+    // comments_archive, check_list_archive bị xóa theo ON DELETE CASCADE
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments_archive"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "check_list_archive")
+    })
+    @Query(value = "delete from tasks_archive where task_id = :taskId", nativeQuery = true)
+    int deleteColdTask(String taskId);
+}
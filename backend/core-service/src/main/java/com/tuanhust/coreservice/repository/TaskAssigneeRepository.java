@@ -3,10 +3,32 @@ package com.tuanhust.coreservice.repository;
 import com.tuanhust.coreservice.entity.Project;
 import com.tuanhust.coreservice.entity.TaskAssignee;
 import com.tuanhust.coreservice.entity.ids.TaskAssigneeId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface TaskAssigneeRepository extends JpaRepository<TaskAssignee, TaskAssigneeId> {
 
     void deleteAllByAssigneeIdAndTaskProjectId(String assigneeId, String projectId);
+
+    // Native để lấy cả task đã lưu trữ (entity Task có @SQLRestriction)
+    @Query(value = """
+            select ta.task_id from task_assignee ta join tasks t on t.task_id = ta.task_id
+            where ta.assignee_id=:assigneeId and t.project_id in (:projectIds)
+            """, nativeQuery = true)
+    List<String> findTaskIdsByAssigneeIdAndProjectIdIn(String assigneeId, Collection<String> projectIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_assignee"))
+    @Query(value = """
+            delete from task_assignee ta using tasks t
+            where t.task_id = ta.task_id and ta.assignee_id=:assigneeId and t.project_id in (:projectIds)
+            """, nativeQuery = true)
+    int deleteByAssigneeIdAndProjectIdIn(String assigneeId, Collection<String> projectIds);
 }
@@ -0,0 +1,7 @@
+package com.tuanhust.coreservice.repository;
+
+import com.tuanhust.coreservice.entity.TaskAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, String> {
+}
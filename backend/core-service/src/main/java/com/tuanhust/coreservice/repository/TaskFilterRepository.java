@@ -0,0 +1,13 @@
+package com.tuanhust.coreservice.repository;
+
+import com.tuanhust.coreservice.request.TaskFilterRequest;
+
+import java.util.List;
+import java.util.Set;
+
+public interface TaskFilterRepository {
+    Set<String> SORT_FIELDS = Set.of("sortOrder", "dueAt", "priority", "createdAt", "title");
+
+    // Id các task đang hoạt động của dự án khớp bộ lọc, đã sắp xếp, tối đa limit phần tử
+    List<String> findTaskIdsByFilter(String projectId, TaskFilterRequest filter, int limit);
+}
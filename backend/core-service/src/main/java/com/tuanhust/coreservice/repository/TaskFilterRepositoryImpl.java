@@ -0,0 +1,91 @@
+package com.tuanhust.coreservice.repository;
+
+import com.tuanhust.coreservice.entity.BoardColumn;
+import com.tuanhust.coreservice.entity.Task;
+import com.tuanhust.coreservice.entity.TaskAssignee;
+import com.tuanhust.coreservice.entity.TaskLabel;
+import com.tuanhust.coreservice.entity.enums.Priority;
+import com.tuanhust.coreservice.entity.enums.Status;
+import com.tuanhust.coreservice.request.TaskFilterRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Dịch {@link TaskFilterRequest} thành một câu SQL chỉ lấy id. Nhãn và người thực hiện lọc bằng
+ * {@code task_id in (subquery)} để Postgres đi từ khóa chính (label_id, task_id) / (assignee_id, task_id);
+ * các điều kiện trên tasks dùng idx_tasks_active_project_priority_due và idx_tasks_active_project_creator.
+ */
+@RequiredArgsConstructor
+public class TaskFilterRepositoryImpl implements TaskFilterRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<String> findTaskIdsByFilter(String projectId, TaskFilterRequest filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, BoardColumn> column = task.join("boardColumn");
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(task.get("projectId"), projectId));
+        where.add(cb.equal(column.get("status"), Status.ACTIVE));
+        if (isPresent(filter.getLabelIds())) {
+            Subquery<String> labeled = query.subquery(String.class);
+            Root<TaskLabel> taskLabel = labeled.from(TaskLabel.class);
+            labeled.select(taskLabel.get("taskId")).where(taskLabel.get("labelId").in(filter.getLabelIds()));
+            where.add(task.get("taskId").in(labeled));
+        }
+        if (isPresent(filter.getAssigneeIds())) {
+            Subquery<String> assigned = query.subquery(String.class);
+            Root<TaskAssignee> assignee = assigned.from(TaskAssignee.class);
+            assigned.select(assignee.get("taskId")).where(assignee.get("assigneeId").in(filter.getAssigneeIds()));
+            where.add(task.get("taskId").in(assigned));
+        }
+        if (isPresent(filter.getPriorities())) {
+            where.add(task.get("priority").in(filter.getPriorities()));
+        }
+        if (isPresent(filter.getCreatorIds())) {
+            where.add(task.get("creatorId").in(filter.getCreatorIds()));
+        }
+        if (filter.getCompleted() != null) {
+            where.add(cb.equal(task.get("completed"), filter.getCompleted()));
+        }
+        if (filter.getDueFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(task.<Instant>get("dueAt"), filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            where.add(cb.lessThanOrEqualTo(task.<Instant>get("dueAt"), filter.getDueTo()));
+        }
+
+        Expression<?> sortKey = sortKey(cb, task, filter.getSort());
+        Order order = "desc".equalsIgnoreCase(filter.getDirection()) ? cb.desc(sortKey) : cb.asc(sortKey);
+        query.select(task.get("taskId"))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(order, cb.asc(task.get("taskId")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static Expression<?> sortKey(CriteriaBuilder cb, Root<Task> task, String sort) {
+        if (sort == null) {
+            return task.get("sortOrder");
+        }
+        // priority lưu dạng chuỗi, phải quy về thứ tự LOW < MEDIUM < HIGH thay vì thứ tự chữ cái
+        if (sort.equals("priority")) {
+            return cb.selectCase()
+                    .when(cb.equal(task.get("priority"), Priority.HIGH), 3)
+                    .when(cb.equal(task.get("priority"), Priority.MEDIUM), 2)
+                    .otherwise(1);
+        }
+        return task.get(sort);
+    }
+
+    private static boolean isPresent(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+}
@@ -0,0 +1,49 @@
+package com.tuanhust.coreservice.repository;
+
+import com.tuanhust.coreservice.entity.TaskReminder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskReminderRepository extends JpaRepository<TaskReminder, String> {
+
+    // Khai báo query space để Hibernate không xóa toàn bộ second-level cache sau native update
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_reminders"))
+    @Query(value = """
+            insert into task_reminders (task_id, fire_at, claimed_by, claimed_until)
+            values (:taskId, :fireAt, :claimedBy, :claimedUntil)
+            on conflict (task_id) do update
+            set fire_at = excluded.fire_at, claimed_by = excluded.claimed_by, claimed_until = excluded.claimed_until
+            """, nativeQuery = true)
+    void upsert(String taskId, Instant fireAt, String claimedBy, Instant claimedUntil);
+
+    @Modifying
+    @Query(value = """
+            delete from TaskReminder r where r.taskId=:taskId
+            """)
+    void deleteByTaskId(String taskId);
+
+    // Chỉ xóa đúng lần hẹn đã nạp vào wheel, lời nhắc đã được hẹn lại giữ nguyên
+    @Modifying
+    @Query(value = """
+            delete from TaskReminder r where r.taskId=:taskId and r.fireAt=:fireAt
+            """)
+    int deleteByTaskIdAndFireAt(String taskId, Instant fireAt);
+
+    // Lời nhắc sắp tới hạn chưa có lease còn hiệu lực; skip locked để nhiều instance nhận lô khác nhau
+    @Query(value = """
+            select * from task_reminders
+            where fire_at < :horizon and (claimed_until is null or claimed_until < :now)
+            order by fire_at
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<TaskReminder> findClaimable(Instant horizon, Instant now, int limit);
+}
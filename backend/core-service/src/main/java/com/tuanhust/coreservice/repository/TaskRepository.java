@@ -1,17 +1,46 @@
 package com.tuanhust.coreservice.repository;
 
 import com.tuanhust.coreservice.entity.Task;
+import com.tuanhust.coreservice.entity.enums.Priority;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, String> {
+public interface TaskRepository extends JpaRepository<Task, String>, TaskFilterRepository {
+
+    interface BoardWindowRow {
+        String getBoardColumnId();
+
+        String getTaskId();
+    }
+
+    interface CalendarTaskRow {
+        String getTaskId();
+
+        String getProjectId();
+
+        String getProjectName();
+
+        String getTitle();
+
+        Priority getPriority();
+
+        Boolean getCompleted();
+
+        Instant getDueAt();
+    }
 
     @Query(value = """
             select max(t.sortOrder) from Task t where t.boardColumnId=:boardColumnId and
@@ -22,28 +51,177 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<Task> findTaskByProjectIdAndTaskId(String projectId, String taskId);
 
+    // Như findTaskByProjectIdAndTaskId nhưng nạp luôn description (lazy) trong cùng câu
+    @EntityGraph(attributePaths = "description")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Task> findWithDescriptionByProjectIdAndTaskId(String projectId, String taskId);
+
+    boolean existsByProjectIdAndTaskId(String projectId, String taskId);
+
+    @EntityGraph(Task.DETAIL_GRAPH)
+    Optional<Task> findDetailByProjectIdAndTaskId(String projectId, String taskId);
+
+    @EntityGraph(Task.EVENT_GRAPH)
+    Optional<Task> findWithProjectByProjectIdAndTaskId(String projectId, String taskId);
+
     @Query(value = """
             select * from tasks where project_id=:projectId and task_id=:taskId and status='ARCHIVED' for no key update
             """, nativeQuery = true)
     Optional<Task> findArchiveTaskByProjectIdAndTaskId(String projectId, String taskId);
 
+    @EntityGraph(Task.CARD_GRAPH)
     @Query(value = """
             select t from Task t join t.assignees a where a.assigneeId=:userId
             """)
     List<Task> findAllByAssigneeId(String userId);
 
+    // Như findAllByAssigneeId nhưng không fetch association, dùng khi fields= không cần tới chúng
     @Query(value = """
-            select t from Task t join fetch t.assignees
+            select t from Task t join t.assignees a where a.assigneeId=:userId
+            """)
+    List<Task> findAllByAssigneeIdWithoutAssociations(String userId);
+
+    @EntityGraph(Task.REMINDER_GRAPH)
+    @Query(value = """
+            select t from Task t
             where t.completed = false
             and t.dueAt between :start and :end
+            and t.assignees is not empty
             """)
     List<Task> findTasksDueBetween(Instant start, Instant end);
 
+    // Task của các lời nhắc vừa tới hạn trong timing wheel, bỏ qua task đã xong hoặc đã quá hạn
+    @EntityGraph(Task.REMINDER_GRAPH)
+    @Query(value = """
+            select t from Task t
+            where t.taskId in :taskIds
+            and t.completed = false
+            and t.dueAt > :now
+            """)
+    List<Task> findDueSoonByTaskIdIn(Collection<String> taskIds, Instant now);
+
+    // Lịch: cùng nghĩa "của tôi" với findAllByAssigneeId (task được giao cho người gọi), chỉ lấy cột cần hiển thị;
+    // đi từ khóa chính task_assignee (assignee_id, task_id) sang khóa chính tasks
+    @Query(value = """
+            select t.taskId as taskId, t.projectId as projectId, p.name as projectName, t.title as title,
+                   t.priority as priority, t.completed as completed, t.dueAt as dueAt
+            from Task t join t.project p join t.boardColumn bc
+            where exists (select 1 from TaskAssignee a where a.taskId = t.taskId and a.assigneeId=:userId)
+            and bc.status=com.tuanhust.coreservice.entity.enums.Status.ACTIVE
+            and t.dueAt >= :start and t.dueAt < :end
+            and (:includeCompleted = true or t.completed = false)
+            order by t.dueAt, t.taskId
+            """)
+    List<CalendarTaskRow> findCalendarTasks(String userId, Instant start, Instant end, boolean includeCompleted);
+
+    interface ColumnTaskStatsRow {
+        String getBoardColumnId();
+
+        Long getTaskCount();
 
+        Long getOverdueCount();
+
+        Long getDueThisWeekCount();
+    }
+
+    // Portfolio: đếm theo cột cho cả lô dự án trong một câu, đi theo idx_tasks_active_project
+    @Query(value = """
+            select t.boardColumnId as boardColumnId, count(t) as taskCount,
+                   sum(case when t.completed = false and t.dueAt < :now then 1 else 0 end) as overdueCount,
+                   sum(case when t.completed = false and t.dueAt >= :now and t.dueAt < :weekEnd
+                       then 1 else 0 end) as dueThisWeekCount
+            from Task t
+            where t.projectId in :projectIds
+            group by t.boardColumnId
+            """)
+    List<ColumnTaskStatsRow> countByBoardColumnForProjects(Collection<String> projectIds, Instant now, Instant weekEnd);
+
+
+    @EntityGraph(Task.CARD_GRAPH)
     @Query(value = """
-            select t.* from tasks t join board_columns bc using(board_column_id)
-                         where t.project_id=:projectId and t.status='ACTIVE' and
-                                           bc.status='ACTIVE'
-            """,nativeQuery = true)
+            select t from Task t join t.boardColumn bc
+                         where t.projectId=:projectId and
+                               bc.status=com.tuanhust.coreservice.entity.enums.Status.ACTIVE
+            """)
     List<Task> getAllTaskByProject(String projectId);
-}
\ No newline at end of file
+
+    @Query(value = """
+            select t from Task t join t.boardColumn bc
+                         where t.projectId=:projectId and
+                               bc.status=com.tuanhust.coreservice.entity.enums.Status.ACTIVE
+            """)
+    List<Task> getAllTaskByProjectWithoutAssociations(String projectId);
+
+    @Query(value = """
+            select t.taskId from Task t where t.projectId=:projectId order by t.taskId
+            """)
+    List<String> findTaskIdsByProjectId(String projectId);
+
+    @Query(value = """
+            select t.taskId from Task t where t.projectId=:projectId and t.taskId in :taskIds order by t.taskId
+            """)
+    List<String> findTaskIdsByProjectIdAndTaskIdIn(String projectId, Collection<String> taskIds);
+
+    // Snapshot hàng loạt: không khóa, không giữ bản sao cho dirty checking; association nạp theo @BatchSize
+    @EntityGraph(attributePaths = "description")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = """
+            select t from Task t where t.taskId in :taskIds order by t.taskId
+            """)
+    List<Task> findSnapshotsByTaskIdIn(Collection<String> taskIds);
+
+    // perColumn task đầu của mỗi cột đang hoạt động; LATERAL cắt từng cột trên idx_tasks_active_column_sort.
+    // Cột rỗng vẫn trả một dòng với taskId null để giữ thứ tự cột
+    @Query(value = """
+            select bc.board_column_id as "boardColumnId", w.task_id as "taskId"
+            from board_columns bc
+            left join lateral (
+                select t.task_id, t.sort_order from tasks t
+                where t.board_column_id = bc.board_column_id and t.status <> 'ARCHIVED'
+                order by t.sort_order
+                limit :perColumn
+            ) w on true
+            where bc.project_id = :projectId and bc.status = 'ACTIVE'
+            order by bc.sort_order, bc.board_column_id, w.sort_order
+            """, nativeQuery = true)
+    List<BoardWindowRow> findBoardWindow(String projectId, int perColumn);
+
+    @Query(value = """
+            select t.taskId from Task t
+            where t.boardColumnId=:boardColumnId and t.sortOrder > :after
+            order by t.sortOrder
+            """)
+    List<String> findColumnTaskIdsAfter(String boardColumnId, double after, Pageable pageable);
+
+    @EntityGraph(Task.CARD_GRAPH)
+    @Query(value = """
+            select t from Task t where t.taskId in :taskIds
+            """)
+    List<Task> findCardsByTaskIdIn(Collection<String> taskIds);
+
+    @Query(value = """
+            select t from Task t where t.taskId in :taskIds
+            """)
+    List<Task> findCardsByTaskIdInWithoutAssociations(Collection<String> taskIds);
+
+    // Bộ đếm của thẻ: cộng dồn trên chính dòng tasks (row lock của UPDATE), không đếm lại bảng con
+    @Modifying
+    @Query(value = """
+            update Task t set t.commentCount = greatest(t.commentCount + :delta, 0) where t.taskId = :taskId
+            """)
+    int adjustCommentCount(String taskId, int delta);
+
+    @Modifying
+    @Query(value = """
+            update Task t set t.checkListCount = greatest(t.checkListCount + :total, 0),
+                              t.checkListDoneCount = greatest(t.checkListDoneCount + :done, 0)
+            where t.taskId = :taskId
+            """)
+    int adjustCheckListCounts(String taskId, int total, int done);
+
+    @Modifying
+    @Query(value = """
+            update Task t set t.attachmentCount = greatest(t.attachmentCount + :delta, 0) where t.taskId = :taskId
+            """)
+    int adjustAttachmentCount(String taskId, int delta);
+}
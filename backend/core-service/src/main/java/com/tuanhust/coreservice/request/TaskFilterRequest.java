@@ -0,0 +1,31 @@
+package com.tuanhust.coreservice.request;
+
+import com.tuanhust.coreservice.entity.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+// Các tiêu chí khác nhau kết hợp bằng AND, các giá trị trong cùng một danh sách kết hợp bằng OR
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskFilterRequest {
+    private List<String> labelIds;
+    private List<String> assigneeIds;
+    private List<String> creatorIds;
+    private List<Priority> priorities;
+    private Instant dueFrom;
+    private Instant dueTo;
+    private Boolean completed;
+
+    // sortOrder, dueAt, priority, createdAt hoặc title
+    private String sort;
+    // asc hoặc desc
+    private String direction;
+    private Integer limit;
+}
@@ -0,0 +1,19 @@
+package com.tuanhust.coreservice.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardColumnTasksResponse {
+    private String boardColumnId;
+    private List<TaskResponse> tasks;
+    // null khi cột đã hết task
+    private String nextCursor;
+}
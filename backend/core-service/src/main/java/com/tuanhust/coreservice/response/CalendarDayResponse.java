@@ -0,0 +1,19 @@
+package com.tuanhust.coreservice.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDayResponse {
+    // Ngày theo múi giờ của người gọi, chỉ gồm những ngày có task đến hạn
+    private LocalDate date;
+    private List<CalendarTaskResponse> tasks;
+}
@@ -0,0 +1,23 @@
+package com.tuanhust.coreservice.response;
+
+import com.tuanhust.coreservice.entity.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarTaskResponse {
+    private String taskId;
+    private String projectId;
+    private String projectName;
+    private String title;
+    private Priority priority;
+    private Boolean completed;
+    private Instant dueAt;
+}
@@ -0,0 +1,18 @@
+package com.tuanhust.coreservice.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnSummaryResponse {
+    private String boardColumnId;
+    private String name;
+    private long taskCount;
+    private long overdueCount;
+    private long dueThisWeekCount;
+}
@@ -0,0 +1,18 @@
+package com.tuanhust.coreservice.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPageResponse {
+    private List<CommentResponse> comments;
+    // null khi không còn bình luận cũ hơn
+    private String nextCursor;
+}
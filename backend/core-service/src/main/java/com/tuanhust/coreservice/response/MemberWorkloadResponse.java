@@ -0,0 +1,20 @@
+package com.tuanhust.coreservice.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberWorkloadResponse {
+    private String projectId;
+    private String memberId;
+    private Integer openCount;
+    private Integer overdueCount;
+    private Instant reconciledAt;
+}
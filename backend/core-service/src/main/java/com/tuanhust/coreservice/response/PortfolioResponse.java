@@ -0,0 +1,18 @@
+package com.tuanhust.coreservice.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioResponse {
+    private List<ProjectSummaryResponse> projects;
+    // true khi có dự án thiếu hoạt động gần đây do activity-service không trả kịp trong budget
+    private boolean partial;
+}
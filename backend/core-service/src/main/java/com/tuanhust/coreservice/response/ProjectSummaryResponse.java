@@ -0,0 +1,26 @@
+package com.tuanhust.coreservice.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSummaryResponse {
+    private String projectId;
+    private String name;
+    private String role;
+    private Instant dueAt;
+    private long taskCount;
+    private long overdueCount;
+    private long dueThisWeekCount;
+    private List<ColumnSummaryResponse> columns;
+    // null khi không lấy được trong budget
+    private List<RecentActivityResponse> recentActivities;
+}
@@ -0,0 +1,22 @@
+package com.tuanhust.coreservice.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentActivityResponse {
+    private String taskId;
+    private String actorId;
+    private String actorName;
+    private String actionType;
+    private String description;
+    private String targetName;
+    private Instant createdAt;
+}
@@ -31,6 +31,9 @@ public class TaskDetailResponse {
     private String creatorId;
     private List<String> assigneeIds;
     private List<String> labelIds;
+    // Chỉ vài bình luận mới nhất; phần còn lại đọc qua GET .../comment?cursor=commentCursor
     private List<CommentResponse> comments;
+    private Long commentCount;
+    private String commentCursor;
     private List<CheckListResponse> checkLists;
 }
\ No newline at end of file
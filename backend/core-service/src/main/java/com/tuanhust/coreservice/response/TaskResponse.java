@@ -31,4 +31,10 @@ public class TaskResponse {
     private List<String> labelIds;
 
     private String projectName;
+
+    // Đọc từ cột bộ đếm trên tasks, không chạm tới bảng con
+    private Integer commentCount;
+    private Integer checkListCount;
+    private Integer checkListDoneCount;
+    private Integer attachmentCount;
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.dto.ActionType;
+import com.tuanhust.coreservice.dto.ActivityEvent;
+import com.tuanhust.coreservice.listener.SecondLevelCacheInvalidationListener;
+import com.tuanhust.coreservice.publisher.ActivityPublisher;
+import com.tuanhust.coreservice.repository.ArchiveRetentionRepository;
+import com.tuanhust.coreservice.repository.ArchiveRetentionRepository.ProjectRow;
+import com.tuanhust.coreservice.repository.ArchiveRetentionRepository.PurgeRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Xóa hẳn task (hot và cold tier) và cột đã lưu trữ quá {@code app.retention.days} ngày.
+ * <p>
+ * Mỗi lô tối đa {@code batch-size} dòng trong một transaction ngắn, nghỉ {@code pause-ms} giữa các lô để
+ * không giữ khóa lâu và không dồn WAL/replication lag. Sau mỗi lô phát một event DELETE_TASK/DELETE_BOARD_COLUMN
+ * cho mỗi dự án, danh sách id nằm trong metadata.taskIds (và metadata.boardColumnIds) để storage-service và
+ * ai-service dọn file, vector. Tiến độ có trong các metric {@code archive.retention.*} theo tag {@code type}.
+ * <p>
+ * Lần chạy có thể kéo dài nhiều phút vì các khoảng nghỉ, nên scheduler cần nhiều hơn một thread
+ * ({@code spring.task.scheduling.pool.size}) để các job định kỳ khác không phải chờ.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveRetentionService {
+    private static final String SYSTEM_ACTOR = "Hệ thống";
+
+    private final ArchiveRetentionRepository archiveRetentionRepository;
+    private final SecondLevelCacheInvalidationListener cacheInvalidationListener;
+    private final ActivityPublisher activityPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.retention.days:365}")
+    private long retentionDays;
+
+    @Value("${app.retention.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.retention.pause-ms:200}")
+    private long pauseMs;
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Scheduled(cron = "${app.retention.cron:0 0 4 * * *}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+        // Cột trước: task bên trong cột bị xóa theo cascade, không phải xóa lần hai
+        long columns = drain("board_column", cutoff, this::purgeBoardColumns);
+        long tasks = drain("task", cutoff, this::purgeTasks);
+        long coldTasks = drain("cold_task", cutoff, this::purgeColdTasks);
+        if (columns + tasks + coldTasks > 0) {
+            log.info("Purged {} board columns, {} archived tasks and {} cold tasks archived before {}",
+                    columns, tasks, coldTasks, cutoff);
+        }
+    }
+
+    private long drain(String type, Instant cutoff, Function<Instant, Integer> batch) {
+        Counter purged = meterRegistry.counter("archive.retention.purged", "type", type);
+        Counter batches = meterRegistry.counter("archive.retention.batches", "type", type);
+        Timer timer = meterRegistry.timer("archive.retention.batch.duration", "type", type);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = timer.record(() -> transactionTemplate.execute(status -> batch.apply(cutoff)));
+            purged.increment(deleted);
+            batches.increment();
+            total += deleted;
+        } while (deleted == batchSize && pause());
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int purgeTasks(Instant cutoff) {
+        List<PurgeRow> rows = archiveRetentionRepository.findExpiredTasks(cutoff, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        archiveRetentionRepository.deleteTasks(rowIds(rows));
+        publishDeletedTasks(rows);
+        return rows.size();
+    }
+
+    private int purgeColdTasks(Instant cutoff) {
+        List<PurgeRow> rows = archiveRetentionRepository.findExpiredColdTasks(cutoff, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        archiveRetentionRepository.deleteColdTasks(rowIds(rows));
+        publishDeletedTasks(rows);
+        return rows.size();
+    }
+
+    private int purgeBoardColumns(Instant cutoff) {
+        List<PurgeRow> rows = archiveRetentionRepository.findExpiredBoardColumns(cutoff, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<String>> taskIdsByProject = groupByProject(archiveRetentionRepository
+                .findTasksByBoardColumnIdIn(rows.stream().map(PurgeRow::getId).toList()));
+        archiveRetentionRepository.deleteBoardColumns(rowIds(rows));
+        groupByProject(rows).forEach((projectId, columnIds) -> {
+            cacheInvalidationListener.invalidateBoardColumns(projectId, columnIds);
+            List<String> taskIds = taskIdsByProject.getOrDefault(projectId, List.of());
+            activityPublisher.publish(systemEvent(projectId, ActionType.DELETE_BOARD_COLUMN,
+                    "đã xóa " + columnIds.size() + " cột lưu trữ quá " + retentionDays + " ngày",
+                    Map.of("boardColumnIds", columnIds, "taskIds", taskIds)));
+        });
+        return rows.size();
+    }
+
+    private void publishDeletedTasks(List<PurgeRow> rows) {
+        groupByProject(rows).forEach((projectId, taskIds) ->
+                activityPublisher.publish(systemEvent(projectId, ActionType.DELETE_TASK,
+                        "đã xóa " + taskIds.size() + " task lưu trữ quá " + retentionDays + " ngày",
+                        Map.of("taskIds", taskIds))));
+    }
+
+    private static Map<String, List<String>> groupByProject(List<? extends ProjectRow> rows) {
+        return rows.stream().collect(Collectors.groupingBy(ProjectRow::getProjectId, LinkedHashMap::new,
+                Collectors.mapping(ProjectRow::getId, Collectors.toList())));
+    }
+
+    // Literal mảng tid cho "ctid = any(cast(:rowIds as tid[]))"; ctid "(trang,dòng)" có dấu phẩy nên phải đặt trong ngoặc kép
+    private static String rowIds(List<PurgeRow> rows) {
+        return rows.stream().map(r -> '"' + r.getRowId() + '"').collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static ActivityEvent systemEvent(String projectId, ActionType actionType, String description,
+                                             Map<String, ?> metadata) {
+        return ActivityEvent.builder()
+                .projectId(projectId)
+                .actorName(SYSTEM_ACTOR)
+                .actionType(actionType)
+                .description(description)
+                .metadata(metadata)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
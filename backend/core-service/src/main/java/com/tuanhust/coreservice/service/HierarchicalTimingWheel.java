@@ -0,0 +1,120 @@
+package com.tuanhust.coreservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing wheel phân cấp: tầng thấp nhất có {@code wheelSize} ô mỗi ô {@code tickMs}, mỗi tầng trên
+ * có ô rộng bằng cả vòng của tầng dưới và chỉ được tạo khi cần. Thêm một phần tử là O(1), mỗi lần
+ * {@link #advance} chỉ đụng tới các ô vừa tới hạn nên chi phí tỉ lệ với số phần tử đến hạn,
+ * không phụ thuộc tổng số phần tử đang chờ.
+ * <p>
+ * Phần tử có thể ra sớm tối đa một {@code tickMs}. Không hỗ trợ hủy: bên dùng tự bỏ qua phần tử đã hết hiệu lực.
+ */
+public class HierarchicalTimingWheel<T> {
+    private final Level<T> root;
+    private List<T> expired = new ArrayList<>();
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level<>(tickMs, wheelSize, startMs);
+    }
+
+    public synchronized void add(T value, long expirationMs) {
+        if (!root.add(new Entry<>(value, expirationMs))) {
+            expired.add(value);
+        }
+    }
+
+    // Đưa đồng hồ tới nowMs, trả về các phần tử đã đến hạn theo thứ tự ô
+    public synchronized List<T> advance(long nowMs) {
+        List<T> due = expired;
+        expired = new ArrayList<>();
+        while (root.currentTime + root.tickMs <= nowMs) {
+            tick(root.currentTime + root.tickMs, due);
+        }
+        return due;
+    }
+
+    public synchronized int size() {
+        int size = expired.size();
+        for (Level<T> level = root; level != null; level = level.overflow) {
+            for (List<Entry<T>> bucket : level.buckets) {
+                size += bucket.size();
+            }
+        }
+        return size;
+    }
+
+    private void tick(long time, List<T> due) {
+        for (Level<T> level = root; level != null; level = level.overflow) {
+            level.currentTime = time - time % level.tickMs;
+        }
+        // Tầng trên tới ranh giới ô thì hạ phần tử của ô đó xuống tầng dưới, tầng cao xử lý trước
+        List<Level<T>> upper = new ArrayList<>();
+        for (Level<T> level = root.overflow; level != null; level = level.overflow) {
+            upper.addFirst(level);
+        }
+        for (Level<T> level : upper) {
+            if (time % level.tickMs == 0) {
+                for (Entry<T> entry : level.take(time)) {
+                    if (!root.add(entry)) {
+                        due.add(entry.value());
+                    }
+                }
+            }
+        }
+        for (Entry<T> entry : root.take(time)) {
+            due.add(entry.value());
+        }
+    }
+
+    private record Entry<T>(T value, long expirationMs) {
+    }
+
+    private static final class Level<T> {
+        final long tickMs;
+        final int wheelSize;
+        final long interval;
+        final List<Entry<T>>[] buckets;
+        long currentTime;
+        Level<T> overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new List[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayList<>();
+            }
+            this.currentTime = startMs - startMs % tickMs;
+        }
+
+        // false khi phần tử đã đến hạn so với đồng hồ của tầng
+        boolean add(Entry<T> entry) {
+            if (entry.expirationMs() < currentTime + tickMs) {
+                return false;
+            }
+            if (entry.expirationMs() < currentTime + interval) {
+                buckets[index(entry.expirationMs())].add(entry);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        List<Entry<T>> take(long time) {
+            int index = index(time);
+            List<Entry<T>> bucket = buckets[index];
+            buckets[index] = new ArrayList<>();
+            return bucket;
+        }
+
+        private int index(long timeMs) {
+            return (int) Math.floorMod(timeMs / tickMs, (long) wheelSize);
+        }
+    }
+}
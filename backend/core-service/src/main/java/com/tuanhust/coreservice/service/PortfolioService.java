@@ -0,0 +1,150 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.client.ActivityServiceClient;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.repository.BoardColumnRepository;
+import com.tuanhust.coreservice.repository.ProjectRepository;
+import com.tuanhust.coreservice.repository.TaskRepository;
+import com.tuanhust.coreservice.response.ColumnSummaryResponse;
+import com.tuanhust.coreservice.response.PortfolioResponse;
+import com.tuanhust.coreservice.response.ProjectSummaryResponse;
+import com.tuanhust.coreservice.response.RecentActivityResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tổng quan mọi dự án của người gọi trên một màn hình. Danh sách dự án, cột và số đếm task là ba câu
+ * truy vấn theo lô (không phụ thuộc số dự án). Hoạt động gần đây nằm ở activity-service nên được gọi
+ * song song cho từng dự án ngay khi có danh sách, trong lúc đếm task trên DB.
+ * <p>
+ * Toàn bộ request bị giới hạn bởi {@code app.portfolio.budget-ms}: dự án nào chưa có hoạt động khi hết
+ * budget vẫn được trả về với recentActivities = null và partial = true.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioService {
+    private final ProjectRepository projectRepository;
+    private final BoardColumnRepository boardColumnRepository;
+    private final TaskRepository taskRepository;
+    private final ActivityServiceClient activityServiceClient;
+
+    @Value("${app.portfolio.max-projects:50}")
+    private int maxProjects;
+
+    @Value("${app.portfolio.activity-size:3}")
+    private int activitySize;
+
+    @Value("${app.portfolio.budget-ms:800}")
+    private long budgetMs;
+
+    // Lời gọi Feign chủ yếu chờ mạng, mỗi lời gọi một virtual thread
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+
+    // Không mở transaction bao cả hàm để không giữ connection trong lúc chờ activity-service
+    @UsePool(DataSourcePool.REPORTING)
+    public PortfolioResponse getPortfolio(String zone) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        ZoneId zoneId;
+        try {
+            zoneId = zone == null ? ZoneId.systemDefault() : ZoneId.of(zone);
+        } catch (DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Múi giờ không hợp lệ");
+        }
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        List<ProjectRepository.PortfolioProjectRow> projects = projectRepository.findPortfolioProjects(
+                user.getUserId(), PageRequest.of(0, maxProjects));
+        if (projects.isEmpty()) {
+            return PortfolioResponse.builder().projects(List.of()).partial(false).build();
+        }
+        List<String> projectIds = projects.stream().map(ProjectRepository.PortfolioProjectRow::getProjectId).toList();
+
+        Map<String, CompletableFuture<List<RecentActivityResponse>>> activities = new HashMap<>();
+        for (String projectId : projectIds) {
+            activities.put(projectId, CompletableFuture.supplyAsync(
+                    () -> activityServiceClient.getActivities(projectId, 0, activitySize).getContent(),
+                    fanOutExecutor));
+        }
+
+        Instant now = Instant.now();
+        Instant weekEnd = LocalDate.now(zoneId).with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atStartOfDay(zoneId).toInstant();
+        Map<String, TaskRepository.ColumnTaskStatsRow> stats = taskRepository
+                .countByBoardColumnForProjects(projectIds, now, weekEnd).stream()
+                .collect(Collectors.toMap(TaskRepository.ColumnTaskStatsRow::getBoardColumnId, Function.identity()));
+        // Task trong cột đã lưu trữ không được tính vì chỉ ghép với cột còn hoạt động
+        Map<String, List<ColumnSummaryResponse>> columns = new HashMap<>();
+        for (BoardColumnRepository.PortfolioColumnRow column : boardColumnRepository.findPortfolioColumns(projectIds)) {
+            TaskRepository.ColumnTaskStatsRow stat = stats.get(column.getBoardColumnId());
+            columns.computeIfAbsent(column.getProjectId(), k -> new ArrayList<>()).add(ColumnSummaryResponse.builder()
+                    .boardColumnId(column.getBoardColumnId())
+                    .name(column.getName())
+                    .taskCount(stat == null ? 0 : stat.getTaskCount())
+                    .overdueCount(stat == null ? 0 : stat.getOverdueCount())
+                    .dueThisWeekCount(stat == null ? 0 : stat.getDueThisWeekCount())
+                    .build());
+        }
+
+        boolean partial = false;
+        List<ProjectSummaryResponse> summaries = new ArrayList<>(projects.size());
+        for (ProjectRepository.PortfolioProjectRow project : projects) {
+            List<ColumnSummaryResponse> projectColumns = columns.getOrDefault(project.getProjectId(), List.of());
+            List<RecentActivityResponse> recent = await(project.getProjectId(),
+                    activities.get(project.getProjectId()), deadline);
+            partial |= recent == null;
+            summaries.add(ProjectSummaryResponse.builder()
+                    .projectId(project.getProjectId())
+                    .name(project.getName())
+                    .role(project.getRole().name())
+                    .dueAt(project.getDueAt())
+                    .taskCount(projectColumns.stream().mapToLong(ColumnSummaryResponse::getTaskCount).sum())
+                    .overdueCount(projectColumns.stream().mapToLong(ColumnSummaryResponse::getOverdueCount).sum())
+                    .dueThisWeekCount(projectColumns.stream()
+                            .mapToLong(ColumnSummaryResponse::getDueThisWeekCount).sum())
+                    .columns(projectColumns)
+                    .recentActivities(recent)
+                    .build());
+        }
+        return PortfolioResponse.builder().projects(summaries).partial(partial).build();
+    }
+
+    // Chờ tới deadline chung; hết budget thì các lời gọi còn lại chỉ được chờ 0 ms
+    private static <T> T await(String projectId, CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.debug("Activity of project {} missed the portfolio budget", projectId);
+        } catch (ExecutionException e) {
+            log.warn("Failed to load activity of project {}", projectId, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
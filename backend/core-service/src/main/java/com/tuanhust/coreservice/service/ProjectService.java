@@ -1,5 +1,6 @@
 package com.tuanhust.coreservice.service;
 
+import com.tuanhust.coreservice.dto.FieldSelection;
 import com.tuanhust.coreservice.entity.enums.Role;
 import com.tuanhust.coreservice.request.BoardColumnRequest;
 import com.tuanhust.coreservice.request.InviteMemberRequest;
@@ -25,6 +26,8 @@ public interface ProjectService {
 
     ProjectDetailResponse getProject(String id);
 
+    ProjectDetailResponse getProject(String id, FieldSelection fields);
+
     Role getCurrentRoleInProject(String id);
 
     void updateMemberRole(String projectId, String userId, Role role);
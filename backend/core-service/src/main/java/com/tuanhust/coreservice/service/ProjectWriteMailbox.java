@@ -0,0 +1,268 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.PoolRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mailbox theo dự án: mỗi projectId được băm cố định vào một trong {@code app.project-writer.workers}
+ * worker một luồng, nên các thao tác ghi của cùng dự án chạy lần lượt, không tranh row lock với nhau.
+ * Worker gom các lệnh {@code batchable} liền nhau của một dự án (tối đa {@code batch-size}) vào chung một
+ * transaction; nếu lô bị rollback thì chạy lại từng lệnh riêng để lệnh lỗi không kéo theo lệnh khác.
+ * Lệnh không batchable luôn chạy một mình.
+ * <p>
+ * Worker chạy lệnh với SecurityContext, MDC và pool ({@link PoolRoutingDataSource}) của thread gọi.
+ * Chỉ tuần tự hóa trong một instance, các row lock trong service vẫn giữ cho trường hợp nhiều instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectWriteMailbox {
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private static final ThreadLocal<Boolean> IN_WORKER = ThreadLocal.withInitial(() -> false);
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.project-writer.workers:4}")
+    private int workerCount;
+
+    @Value("${app.project-writer.batch-size:16}")
+    private int batchSize;
+
+    @Value("${app.project-writer.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.project-writer.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private final List<BlockingQueue<Command>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    // Lệnh mà thread gọi còn đang chờ kết quả (trong hàng đợi hoặc đang chạy), để shutdown báo lỗi cho chúng
+    private final Set<Command> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    @FunctionalInterface
+    public interface Mutation {
+        Object run() throws Throwable;
+    }
+
+    record Command(String projectId, Mutation mutation, boolean batchable, SecurityContext securityContext,
+                   Map<String, String> mdc, DataSourcePool pool,
+                   CompletableFuture<Object> result, AtomicInteger state) {
+        boolean start() {
+            return state.compareAndSet(QUEUED, RUNNING);
+        }
+
+        boolean joins(Command previous) {
+            return batchable && previous.batchable() && pool == previous.pool();
+        }
+    }
+
+    // Bọc checked exception để đi qua TransactionCallback
+    private static class MutationException extends RuntimeException {
+        MutationException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<Command> queue = new LinkedBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            workers.add(Thread.ofPlatform().name("project-writer-" + i).daemon().start(() -> work(queue)));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closed = true;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(timeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Lệnh còn trong hàng đợi hoặc chưa chạy xong sẽ không bao giờ có kết quả
+        queues.forEach(BlockingQueue::clear);
+        pending.forEach(command -> command.result().completeExceptionally(
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dịch vụ đang dừng, vui lòng thử lại")));
+    }
+
+    public Object submit(String projectId, Mutation mutation) throws Throwable {
+        return submit(projectId, false, mutation);
+    }
+
+    public Object submit(String projectId, boolean batchable, Mutation mutation) throws Throwable {
+        // Lời gọi lồng từ worker hoặc từ transaction đang mở phải chạy tại chỗ, tránh deadlock/tách transaction
+        if (IN_WORKER.get() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return mutation.run();
+        }
+        return await(enqueue(projectId, batchable, mutation));
+    }
+
+    Command enqueue(String projectId, boolean batchable, Mutation mutation) {
+        Command command = new Command(projectId, mutation, batchable, SecurityContextHolder.getContext(),
+                MDC.getCopyOfContextMap(), PoolRoutingDataSource.current(),
+                new CompletableFuture<>(), new AtomicInteger(QUEUED));
+        pending.add(command);
+        command.result().whenComplete((result, error) -> pending.remove(command));
+        if (closed || !queues.get(Math.floorMod(projectId.hashCode(), queues.size())).offer(command)) {
+            pending.remove(command);
+            throw busy();
+        }
+        return command;
+    }
+
+    Object await(Command command) throws Throwable {
+        try {
+            return get(command);
+        } catch (TimeoutException e) {
+            if (command.state().compareAndSet(QUEUED, CANCELLED)) {
+                command.result().completeExceptionally(busy());
+                throw busy();
+            }
+        }
+        // Đã bắt đầu chạy: chờ thêm một timeout thay vì báo lỗi ngay cho thao tác có thể đã commit,
+        // nhưng không giữ thread của request vô hạn nếu lệnh bị treo
+        try {
+            return get(command);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Thao tác vẫn đang được xử lý, vui lòng tải lại để kiểm tra");
+        }
+    }
+
+    private Object get(Command command) throws Throwable {
+        try {
+            return command.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dự án đang bận, vui lòng thử lại");
+    }
+
+    private void work(BlockingQueue<Command> queue) {
+        IN_WORKER.set(true);
+        List<Command> drained = new ArrayList<>(batchSize);
+        // Lệnh có thể nuốt cờ interrupt (InterruptedException bên trong) nên kiểm tra cả closed
+        while (!closed && !Thread.currentThread().isInterrupted()) {
+            try {
+                drained.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(drained, batchSize - 1);
+            // Giữ thứ tự trong từng dự án; các dự án khác nhau không cần chung transaction
+            Map<String, List<Command>> byProject = new LinkedHashMap<>();
+            for (Command command : drained) {
+                if (command.start()) {
+                    byProject.computeIfAbsent(command.projectId(), k -> new ArrayList<>()).add(command);
+                }
+            }
+            for (List<Command> commands : byProject.values()) {
+                for (List<Command> batch : split(commands)) {
+                    try {
+                        runBatch(batch);
+                    } catch (Throwable e) {
+                        // runBatch tự xử lý lỗi của lệnh; đây chỉ là lưới cuối để worker không chết
+                        log.error("Project writer failed on project {}", batch.getFirst().projectId(), e);
+                        batch.forEach(command -> command.result().completeExceptionally(e));
+                    }
+                }
+            }
+            drained.clear();
+        }
+    }
+
+    // Lệnh batchable liền nhau và cùng pool gộp thành một lô, các lệnh khác đứng riêng
+    private static List<List<Command>> split(List<Command> commands) {
+        List<List<Command>> batches = new ArrayList<>();
+        for (Command command : commands) {
+            if (!batches.isEmpty() && command.joins(batches.getLast().getLast())) {
+                batches.getLast().add(command);
+            } else {
+                batches.add(new ArrayList<>(List.of(command)));
+            }
+        }
+        return batches;
+    }
+
+    private void runBatch(List<Command> batch) {
+        if (batch.size() > 1) {
+            List<Object> results = new ArrayList<>(batch.size());
+            // Connection được lấy khi transaction của lô bắt đầu nên phải gắn pool trước đó
+            DataSourcePool previous = PoolRoutingDataSource.bind(batch.getFirst().pool());
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(c -> results.add(invoke(c))));
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result().complete(results.get(i));
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.debug("Batch of {} writes for project {} rolled back, retrying one by one",
+                        batch.size(), batch.getFirst().projectId(), e);
+            } catch (Throwable e) {
+                // Error không chạy lại từng lệnh, báo lỗi cho cả lô
+                log.error("Batch of {} writes for project {} failed", batch.size(), batch.getFirst().projectId(), e);
+                batch.forEach(command -> command.result().completeExceptionally(e));
+                return;
+            } finally {
+                PoolRoutingDataSource.bind(previous);
+            }
+        }
+        for (Command command : batch) {
+            try {
+                command.result().complete(invoke(command));
+            } catch (MutationException e) {
+                command.result().completeExceptionally(e.getCause());
+            } catch (Throwable e) {
+                command.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private static Object invoke(Command command) {
+        SecurityContextHolder.setContext(command.securityContext());
+        if (command.mdc() != null) {
+            MDC.setContextMap(command.mdc());
+        }
+        DataSourcePool previous = PoolRoutingDataSource.bind(command.pool());
+        try {
+            return command.mutation().run();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new MutationException(e);
+        } finally {
+            PoolRoutingDataSource.bind(previous);
+            MDC.clear();
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
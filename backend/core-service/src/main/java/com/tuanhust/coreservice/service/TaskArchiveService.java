@@ -0,0 +1,60 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.repository.TaskArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Chuyển task đã lưu trữ quá {@code app.archive.cold-after-days} ngày (cùng comment, checklist,
+ * nhãn, người thực hiện) từ bảng tasks sang cold tier, mỗi lô một transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskArchiveService {
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.archive.cold-after-days:90}")
+    private long coldAfterDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void moveToColdTier() {
+        Instant cutoff = Instant.now().minus(coldAfterDays, ChronoUnit.DAYS);
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> freezeBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Moved {} archived tasks older than {} to the cold tier", total, cutoff);
+        }
+    }
+
+    private int freezeBatch(Instant cutoff) {
+        List<String> taskIds = taskArchiveRepository.findColdTaskIds(cutoff, batchSize);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        taskArchiveRepository.freezeTasks(taskIds);
+        taskArchiveRepository.freezeComments(taskIds);
+        taskArchiveRepository.freezeCheckLists(taskIds);
+        taskArchiveRepository.deleteHotTasks(taskIds);
+        return taskIds.size();
+    }
+}
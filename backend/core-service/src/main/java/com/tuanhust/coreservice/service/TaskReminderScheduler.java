@@ -0,0 +1,167 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.PoolRoutingDataSource;
+import com.tuanhust.coreservice.entity.TaskReminder;
+import com.tuanhust.coreservice.repository.TaskReminderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Nhắc người thực hiện {@code app.reminder.lead-minutes} phút trước hạn của từng task.
+ * <p>
+ * Bảng task_reminders là nguồn bền vững (một dòng mỗi task, index theo fire_at). Lời nhắc sắp tới hạn
+ * trong {@code horizon-minutes} được một instance nhận lease rồi giữ trong {@link HierarchicalTimingWheel};
+ * khi tới hạn chỉ xử lý đúng các lời nhắc đó, không quét bảng tasks. Instance chết thì lease hết hạn và
+ * instance khác nhận lại. Lời nhắc bị hẹn lại hoặc hủy không cần gỡ khỏi wheel: lúc bắn chỉ lời nhắc
+ * còn đúng (task_id, fire_at) trong bảng mới được gửi.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskReminderScheduler {
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 60;
+
+    private final TaskReminderRepository taskReminderRepository;
+    private final TaskReminderService taskReminderService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.reminder.lead-minutes:60}")
+    private long leadMinutes;
+
+    @Value("${app.reminder.horizon-minutes:10}")
+    private long horizonMinutes;
+
+    @Value("${app.reminder.lease-minutes:5}")
+    private long leaseMinutes;
+
+    @Value("${app.reminder.batch-size:500}")
+    private int batchSize;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final HierarchicalTimingWheel<Reminder> wheel =
+            new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    private Thread ticker;
+
+    private record Reminder(String taskId, Instant fireAt) {
+    }
+
+    @PostConstruct
+    void start() {
+        ticker = Thread.ofPlatform().name("task-reminder-wheel").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.interrupt();
+    }
+
+    /**
+     * Hẹn (lại) lời nhắc cho task, gọi trong transaction ghi task. dueAt null hoặc đã qua thì hủy lời nhắc.
+     */
+    public void schedule(String taskId, Instant dueAt) {
+        Instant now = Instant.now();
+        if (dueAt == null || !dueAt.isAfter(now)) {
+            taskReminderRepository.deleteByTaskId(taskId);
+            return;
+        }
+        Instant fireAt = dueAt.minus(leadMinutes, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.MICROS);
+        if (!fireAt.isBefore(now.plus(horizonMinutes, ChronoUnit.MINUTES))) {
+            taskReminderRepository.upsert(taskId, fireAt, null, null);
+            return;
+        }
+        // Đã trong horizon: instance này nhận lease luôn và đưa vào wheel sau commit
+        taskReminderRepository.upsert(taskId, fireAt, nodeId, leaseUntil(fireAt, now));
+        Reminder reminder = new Reminder(taskId, fireAt);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wheel.add(reminder, fireAt.toEpochMilli());
+                }
+            });
+        } else {
+            wheel.add(reminder, fireAt.toEpochMilli());
+        }
+    }
+
+    // Khoảng nạp phải nhỏ hơn horizon để lời nhắc vào wheel trước khi tới hạn
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Scheduled(fixedDelayString = "${app.reminder.load-interval-ms:60000}")
+    public void loadUpcoming() {
+        Instant now = Instant.now();
+        int total = 0;
+        List<TaskReminder> claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> claim(now));
+            claimed.forEach(r -> wheel.add(new Reminder(r.getTaskId(), r.getFireAt()), r.getFireAt().toEpochMilli()));
+            total += claimed.size();
+        } while (claimed.size() == batchSize);
+        if (total > 0) {
+            log.debug("Claimed {} reminders due before {}", total, now.plus(horizonMinutes, ChronoUnit.MINUTES));
+        }
+    }
+
+    private List<TaskReminder> claim(Instant now) {
+        List<TaskReminder> reminders = taskReminderRepository.findClaimable(
+                now.plus(horizonMinutes, ChronoUnit.MINUTES), now, batchSize);
+        reminders.forEach(r -> {
+            r.setClaimedBy(nodeId);
+            r.setClaimedUntil(leaseUntil(r.getFireAt(), now));
+        });
+        return reminders;
+    }
+
+    private Instant leaseUntil(Instant fireAt, Instant now) {
+        return (fireAt.isAfter(now) ? fireAt : now).plus(leaseMinutes, ChronoUnit.MINUTES);
+    }
+
+    private void run() {
+        // Thread riêng của wheel, không đi qua proxy nên gắn pool trực tiếp
+        PoolRoutingDataSource.bind(DataSourcePool.BACKGROUND);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(Duration.ofMillis(TICK_MS));
+            } catch (InterruptedException e) {
+                return;
+            }
+            List<Reminder> due = wheel.advance(System.currentTimeMillis());
+            for (int from = 0; from < due.size(); from += batchSize) {
+                fire(due.subList(from, Math.min(from + batchSize, due.size())));
+            }
+        }
+    }
+
+    private void fire(List<Reminder> due) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> taskIds = due.stream()
+                        .filter(r -> taskReminderRepository.deleteByTaskIdAndFireAt(r.taskId(), r.fireAt()) > 0)
+                        .map(Reminder::taskId)
+                        .toList();
+                if (!taskIds.isEmpty()) {
+                    taskReminderService.notifyDueSoon(taskIds, leadMinutes);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Lời nhắc vẫn còn trong bảng, instance nào nạp lại sau khi lease hết hạn sẽ gửi lại
+            log.error("Failed to send {} task reminders", due.size(), e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.tuanhust.coreservice.service;
 
+import com.tuanhust.coreservice.annotation.UsePool;
 import com.tuanhust.coreservice.client.AuthServiceClient;
+import com.tuanhust.coreservice.config.DataSourcePool;
 import com.tuanhust.coreservice.config.UserPrincipal;
 import com.tuanhust.coreservice.dto.NotificationEvent;
 import com.tuanhust.coreservice.entity.Task;
@@ -34,6 +36,7 @@ public class TaskReminderService {
     @Value("${app.frontend-url}")
     private String frontendUrl;
 
+    @UsePool(DataSourcePool.BACKGROUND)
     @Scheduled(cron = "0 04 10 * * *")
     @Transactional(readOnly = true)
     public void scanAndNotifyDueTasks(){
@@ -50,38 +53,43 @@ public class TaskReminderService {
             return;
         }
 
-        Map<String, List<Task>> tasksByUserId = new HashMap<>();
-        Set<String> allAssigneeIds = new HashSet<>();
+        try {
+            notifyAssignees(dueTasks, "đến hạn trong hôm nay", "Danh sách các nhiệm vụ đến hạn hôm nay.");
+        } catch (Exception e) {
+            log.error("Error fetching users for reminders", e);
+        }
+    }
 
+    // Gọi từ TaskReminderScheduler trong transaction xóa lời nhắc: lỗi thì rollback để lời nhắc được thử lại.
+    // NotificationPublisher chỉ gửi sau commit, nên rollback giữa chừng không để lại mail nào đã gửi để bị gửi trùng
+    @Transactional
+    public void notifyDueSoon(Collection<String> taskIds, long leadMinutes) {
+        List<Task> tasks = taskRepository.findDueSoonByTaskIdIn(taskIds, Instant.now());
+        if (!tasks.isEmpty()) {
+            notifyAssignees(tasks, "sắp đến hạn",
+                    "Danh sách các nhiệm vụ đến hạn trong " + leadMinutes + " phút tới.");
+        }
+    }
 
-        for (Task task : dueTasks) {
+    private void notifyAssignees(List<Task> tasks, String subjectSuffix, String content) {
+        Map<String, List<Task>> tasksByUserId = new HashMap<>();
+        for (Task task : tasks) {
             for (TaskAssignee assignee : task.getAssignees()) {
-                String userId = assignee.getAssigneeId();
-                tasksByUserId.computeIfAbsent(userId, k -> new ArrayList<>()).add(task);
-                allAssigneeIds.add(userId);
+                tasksByUserId.computeIfAbsent(assignee.getAssigneeId(), k -> new ArrayList<>()).add(task);
             }
         }
+        if (tasksByUserId.isEmpty()) return;
 
-        if (allAssigneeIds.isEmpty()) return;
-
-        Map<UserPrincipal, List<Task>> userTasksMap = new HashMap<>();
-        try {
-            List<UserPrincipal> users = authServiceClient.getUsers(new ArrayList<>(allAssigneeIds));
-            for (UserPrincipal user : users) {
-                List<Task> tasks = tasksByUserId.get(user.getUserId());
-                if (tasks != null && !tasks.isEmpty()) {
-                    userTasksMap.put(user, tasks);
-                }
+        List<UserPrincipal> users = authServiceClient.getUsers(new ArrayList<>(tasksByUserId.keySet()));
+        for (UserPrincipal user : users) {
+            List<Task> userTasks = tasksByUserId.get(user.getUserId());
+            if (userTasks != null && !userTasks.isEmpty()) {
+                sendReminderEmail(user, userTasks, subjectSuffix, content);
             }
-        } catch (Exception e) {
-            log.error("Error fetching users for reminders", e);
-            return;
         }
-
-        userTasksMap.forEach(this::sendReminderEmail);
     }
 
-    private void sendReminderEmail(UserPrincipal user, List<Task> tasks) {
+    private void sendReminderEmail(UserPrincipal user, List<Task> tasks, String subjectSuffix, String content) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
                 .withZone(ZoneId.systemDefault());
         List<Map<String, String>> taskListDisplay = new ArrayList<>();
@@ -104,8 +112,8 @@ public class TaskReminderService {
         NotificationEvent event = NotificationEvent.builder()
                 .channel("EMAIL")
                 .recipient(user.getEmail())
-                .subject("Bạn có " + tasks.size() + " nhiệm vụ đến hạn trong hôm nay")
-                .content("Danh sách các nhiệm vụ đến hạn hôm nay.")
+                .subject("Bạn có " + tasks.size() + " nhiệm vụ " + subjectSuffix)
+                .content(content)
                 .properties(props)
                 .build();
 
@@ -1,17 +1,33 @@
 package com.tuanhust.coreservice.service;
 
+import com.tuanhust.coreservice.dto.FieldSelection;
+import com.tuanhust.coreservice.request.TaskFilterRequest;
 import com.tuanhust.coreservice.request.TaskRequest;
+import com.tuanhust.coreservice.response.BoardColumnTasksResponse;
+import com.tuanhust.coreservice.response.CalendarDayResponse;
 import com.tuanhust.coreservice.response.CheckListResponse;
+import com.tuanhust.coreservice.response.CommentPageResponse;
 import com.tuanhust.coreservice.response.CommentResponse;
 import com.tuanhust.coreservice.response.TaskDetailResponse;
 import com.tuanhust.coreservice.response.TaskResponse;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
     TaskResponse createTask(String projectId, TaskRequest taskRequest);
 
-    List<TaskResponse> getTaskForProject(String projectId);
+    List<TaskResponse> getTaskForProject(String projectId, FieldSelection fields);
+
+    // limit task đầu của mỗi cột đang hoạt động, kèm cursor để tải tiếp từng cột
+    List<BoardColumnTasksResponse> getBoard(String projectId, int limit, FieldSelection fields);
+
+    BoardColumnTasksResponse getBoardColumnTasks(String projectId, String boardColumnId, String cursor,
+                                                 int limit, FieldSelection fields);
+
+    List<TaskResponse> filterTasks(String projectId, TaskFilterRequest filter, FieldSelection fields);
 
     TaskResponse archiveTask(String projectId, String taskId);
 
@@ -23,6 +39,9 @@ public interface TaskService {
 
     TaskDetailResponse getTask(String projectId, String taskId);
 
+    // taskIds null: toàn bộ task của dự án. Snapshot không kèm bình luận
+    void streamTaskSnapshots(String projectId, Collection<String> taskIds, Consumer<TaskDetailResponse> sink);
+
     void updateTask(String projectId, String taskId, TaskRequest taskRequest);
 
     void updateCompletedTask(String projectId, String taskId, Boolean completed);
@@ -33,13 +52,18 @@ public interface TaskService {
 
     void deleteCheckList(String projectId,String taskId,String checkListId);
 
+    // Bình luận mới nhất trước; cursor lấy từ nextCursor của trang trước hoặc commentCursor của task
+    CommentPageResponse getComments(String projectId, String taskId, String cursor, int limit);
+
     CommentResponse createComment(String projectId, String taskId, String body);
 
     void deleteComment(String projectId,String taskId,String commentId);
 
     CommentResponse updateComment(String projectId,String taskId,String commentId, String body);
 
-    List<TaskResponse> getMyTasks();
+    List<TaskResponse> getMyTasks(FieldSelection fields);
+
+    List<CalendarDayResponse> getMyCalendar(LocalDate from, LocalDate to, String zone, boolean includeCompleted);
 
     void addAssigneeTask(String projectId, String taskId, String assigneeId);
 
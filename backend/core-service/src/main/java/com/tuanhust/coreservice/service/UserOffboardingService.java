@@ -0,0 +1,91 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.entity.ProjectMember;
+import com.tuanhust.coreservice.entity.enums.Role;
+import com.tuanhust.coreservice.listener.SecondLevelCacheInvalidationListener;
+import com.tuanhust.coreservice.repository.ProjectMemberRepository;
+import com.tuanhust.coreservice.repository.TaskAssigneeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gỡ người dùng bị khóa/xóa ở auth-service khỏi mọi dự án: xóa membership và việc được giao bằng vài câu
+ * lệnh theo tập hợp, rồi evict cache Redis bằng một lệnh DEL thay vì gọi deleteMember cho từng dự án.
+ * Dự án mà người dùng là OWNER được giữ nguyên vì không dự án nào được phép thiếu chủ sở hữu.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserOffboardingService {
+    // Tiền tố mặc định của RedisCacheManager: "<cacheName>::<key>"
+    private static final String CACHE_KEY_SEPARATOR = "::";
+
+    private final ProjectMemberRepository projectMemberRepository;
+    private final TaskAssigneeRepository taskAssigneeRepository;
+    private final SecondLevelCacheInvalidationListener cacheInvalidationListener;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // Trả về số dự án đã gỡ; event gửi lại thì không còn membership nào nên trả về 0
+    @Transactional
+    public int offboard(String userId) {
+        List<String> projectIds = new ArrayList<>();
+        for (ProjectMember member : projectMemberRepository.findByMemberId(userId)) {
+            if (member.getRole() == Role.OWNER) {
+                log.warn("Keep owner {} in project {} while offboarding", userId, member.getProjectId());
+            } else {
+                projectIds.add(member.getProjectId());
+            }
+        }
+        if (projectIds.isEmpty()) {
+            return 0;
+        }
+
+        List<String> taskIds = taskAssigneeRepository.findTaskIdsByAssigneeIdAndProjectIdIn(userId, projectIds);
+        if (!taskIds.isEmpty()) {
+            taskAssigneeRepository.deleteByAssigneeIdAndProjectIdIn(userId, projectIds);
+        }
+        projectMemberRepository.deleteByMemberIdAndProjectIdIn(userId, projectIds);
+        cacheInvalidationListener.invalidateProjects(userId, projectIds);
+
+        List<String> cacheKeys = new ArrayList<>(projectIds.size() * 2 + taskIds.size());
+        for (String projectId : projectIds) {
+            cacheKeys.add(cacheKey("projectDetail", projectId));
+            cacheKeys.add(cacheKey("roleInCurrentProject", projectId + ":" + userId));
+        }
+        for (String taskId : taskIds) {
+            cacheKeys.add(cacheKey("taskDetail", taskId));
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(cacheKeys);
+                }
+            });
+        } else {
+            evict(cacheKeys);
+        }
+        return projectIds.size();
+    }
+
+    private void evict(List<String> cacheKeys) {
+        try {
+            stringRedisTemplate.delete(cacheKeys);
+        } catch (Exception e) {
+            // Cache còn lại tự hết hạn theo TTL
+            log.error("Failed to evict {} cache entries after offboarding", cacheKeys.size(), e);
+        }
+    }
+
+    private static String cacheKey(String cacheName, String key) {
+        return cacheName + CACHE_KEY_SEPARATOR + key;
+    }
+}
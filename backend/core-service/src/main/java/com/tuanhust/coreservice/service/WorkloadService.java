@@ -0,0 +1,154 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.dto.MemberSnapshot;
+import com.tuanhust.coreservice.dto.TaskSnapshot;
+import com.tuanhust.coreservice.entity.MemberWorkload;
+import com.tuanhust.coreservice.entity.enums.Status;
+import com.tuanhust.coreservice.listener.TaskEvent;
+import com.tuanhust.coreservice.repository.MemberWorkloadRepository;
+import com.tuanhust.coreservice.repository.ProjectRepository;
+import com.tuanhust.coreservice.response.MemberWorkloadResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read model số task đang mở và quá hạn theo (projectId, memberId), cộng dồn trong cùng transaction
+ * với thao tác ghi task qua {@link com.tuanhust.coreservice.listener.WorkloadEventListener}.
+ * <p>
+ * Task chuyển sang quá hạn theo thời gian không sinh event, nên overdueCount chỉ do lần đối soát định kỳ ghi:
+ * event không biết task đã được tính quá hạn hay chưa, trừ theo giờ hiện tại sẽ trừ cả phần chưa từng cộng.
+ * Lần đối soát cũng sửa mọi lệch do event bị bỏ qua (vd. không tra được người bị gỡ khỏi task).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkloadService {
+    private final MemberWorkloadRepository memberWorkloadRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.workload.reconcile-batch-size:200}")
+    private int batchSize;
+
+    public void apply(TaskEvent event) {
+        TaskSnapshot task = event.task();
+        boolean open = task.status() != Status.ARCHIVED && !Boolean.TRUE.equals(task.completed());
+        switch (event.actionType()) {
+            case CREATE_TASK -> {
+                if (task.assigneeIds() != null && !task.assigneeIds().isEmpty()) {
+                    memberWorkloadRepository.adjust(event.projectId(), task.assigneeIds(), 1);
+                }
+            }
+            case ADD_MEMBER_TASK -> {
+                if (open) {
+                    List<String> memberIds = assignees(event).stream().map(MemberSnapshot::memberId).toList();
+                    memberWorkloadRepository.adjust(event.projectId(), memberIds, 1);
+                }
+            }
+            case DELETE_MEMBER_TASK -> {
+                if (open) {
+                    UserPrincipal assignee = (UserPrincipal) event.notifyProps().get("assignee");
+                    memberWorkloadRepository.adjust(event.projectId(), List.of(assignee.getUserId()), -1);
+                }
+            }
+            case COMPLETE_TASK -> {
+                if (!wasCompleted(event)) {
+                    memberWorkloadRepository.adjustForTask(task.taskId(), -1);
+                }
+            }
+            case INCOMPLETE_TASK -> {
+                if (wasCompleted(event)) {
+                    memberWorkloadRepository.adjustForTask(task.taskId(), 1);
+                }
+            }
+            case ARCHIVE_TASK -> {
+                if (!Boolean.TRUE.equals(task.completed())) {
+                    memberWorkloadRepository.adjustForTask(task.taskId(), -1);
+                }
+            }
+            case RESTORE_TASK -> {
+                if (!Boolean.TRUE.equals(task.completed())) {
+                    memberWorkloadRepository.adjustForTask(task.taskId(), 1);
+                }
+            }
+            // Chỉ task đã lưu trữ mới xóa được và đã trừ lúc lưu trữ; người thực hiện đã bị xóa cùng task
+            case DELETE_TASK -> {
+                if (open && task.assigneeIds() != null && !task.assigneeIds().isEmpty()) {
+                    memberWorkloadRepository.adjust(event.projectId(), task.assigneeIds(), -1);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<MemberWorkloadResponse> getProjectWorkload(String projectId) {
+        return memberWorkloadRepository.findByProjectIdOrderByOpenCountDesc(projectId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @UsePool(DataSourcePool.REPORTING)
+    @Transactional(readOnly = true)
+    public List<MemberWorkloadResponse> getPortfolioWorkload() {
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return memberWorkloadRepository.findManagedByUserId(user.getUserId()).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Scheduled(cron = "${app.workload.reconcile-cron:0 */10 * * * *}")
+    public void reconcile() {
+        Instant now = Instant.now();
+        String after = "";
+        int total = 0;
+        List<String> projectIds;
+        do {
+            projectIds = projectRepository.findProjectIdsAfter(after, PageRequest.of(0, batchSize));
+            if (projectIds.isEmpty()) {
+                break;
+            }
+            List<String> batch = projectIds;
+            total += transactionTemplate.execute(status -> memberWorkloadRepository.reconcile(batch, now));
+            after = projectIds.getLast();
+        } while (projectIds.size() == batchSize);
+        log.debug("Reconciled {} member workloads", total);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<MemberSnapshot> assignees(TaskEvent event) {
+        return (List<MemberSnapshot>) event.notifyProps().get("assignees");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean wasCompleted(TaskEvent event) {
+        Map<String, Object> old = (Map<String, Object>) event.metadata().get("old");
+        return Boolean.TRUE.equals(old.get("completed"));
+    }
+
+    private MemberWorkloadResponse toResponse(MemberWorkload workload) {
+        return MemberWorkloadResponse.builder()
+                .projectId(workload.getProjectId())
+                .memberId(workload.getMemberId())
+                .openCount(workload.getOpenCount())
+                .overdueCount(workload.getOverdueCount())
+                .reconciledAt(workload.getReconciledAt())
+                .build();
+    }
+}
@@ -1,10 +1,17 @@
 package com.tuanhust.coreservice.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuanhust.coreservice.annotation.ProjectWriter;
+import com.tuanhust.coreservice.annotation.UsePool;
 import com.tuanhust.coreservice.client.AuthServiceClient;
+import com.tuanhust.coreservice.config.DataSourcePool;
 import com.tuanhust.coreservice.config.UserPrincipal;
 import com.tuanhust.coreservice.dto.ActionType;
+import com.tuanhust.coreservice.dto.BoardColumnSnapshot;
+import com.tuanhust.coreservice.dto.FieldSelection;
 import com.tuanhust.coreservice.dto.InvitationData;
+import com.tuanhust.coreservice.dto.LabelSnapshot;
+import com.tuanhust.coreservice.dto.MemberSnapshot;
 import com.tuanhust.coreservice.entity.BoardColumn;
 import com.tuanhust.coreservice.entity.Label;
 import com.tuanhust.coreservice.entity.Project;
@@ -13,6 +20,7 @@ import com.tuanhust.coreservice.entity.enums.Role;
 import com.tuanhust.coreservice.entity.enums.Status;
 import com.tuanhust.coreservice.entity.ids.ProjectMemberID;
 import com.tuanhust.coreservice.listener.ProjectEvent;
+import com.tuanhust.coreservice.listener.SecondLevelCacheInvalidationListener;
 import com.tuanhust.coreservice.repository.*;
 import com.tuanhust.coreservice.request.BoardColumnRequest;
 import com.tuanhust.coreservice.request.InviteMemberRequest;
@@ -56,6 +64,7 @@ public class ProjectServiceImpl implements ProjectService {
     private final AuthServiceClient authClient;
     private final RedisTemplate<String, Object> redisTemplate;
     private final ApplicationEventPublisher eventPublisher;
+    private final SecondLevelCacheInvalidationListener cacheInvalidationListener;
 
     @Value("${app.frontend-url}")
     private String frontendUrl;
@@ -155,7 +164,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Transactional
     @CacheEvict(value = "projectDetail", key = "#projectId")
     public void updateProject(String projectId, ProjectRequest request) {
-        Project project = projectRepository.findById(projectId).orElseThrow(
+        Project project = projectRepository.findWithDescriptionByProjectId(projectId).orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dự án không tồn tại")
         );
 
@@ -256,6 +265,8 @@ public class ProjectServiceImpl implements ProjectService {
             }
     )
     public void deleteProject(String projectId) {
+        // Đọc id nhãn/cột/thành viên trước khi cascade xóa chúng; chỉ xóa cache sau commit
+        cacheInvalidationListener.invalidateProject(projectId);
         Project project =  projectRepository.removeProject(projectId).orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Dự án không tồn tại or chưa được lưu trữ")
@@ -273,8 +284,62 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = projectRepository.findDetailById(id).orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dự án không tồn tại")
         );
+        List<ProjectMemberResponse> members = mapMembers(project.getMembers());
+        ProjectMemberResponse creator = findCreator(project, members);
+
+        return ProjectDetailResponse.builder()
+                .projectId(id)
+                .name(project.getName())
+                .description(project.getDescription())
+                .creator(creator)
+                .createdAt(project.getCreatedAt())
+                .updatedAt(project.getUpdatedAt())
+                .dueAt(project.getDueAt())
+                .status(project.getStatus())
+                .labels(mapLabels(project.getLabels()))
+                .boardColumns(mapBoardColumns(project.getBoardColumns()))
+                .members(members)
+                .build();
+    }
+
+    // Chỉ tải collection và gọi auth-service cho các trường được yêu cầu, không đi qua cache projectDetail
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectDetailResponse getProject(String id, FieldSelection fields) {
+        Project project = projectRepository.findWithDescriptionByProjectId(id).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dự án không tồn tại")
+        );
+        ProjectDetailResponse.ProjectDetailResponseBuilder response = ProjectDetailResponse.builder()
+                .projectId(id)
+                .name(project.getName())
+                .description(project.getDescription())
+                .createdAt(project.getCreatedAt())
+                .updatedAt(project.getUpdatedAt())
+                .dueAt(project.getDueAt())
+                .status(project.getStatus());
+        if (fields.includes("labels")) {
+            response.labels(mapLabels(project.getLabels()));
+        }
+        if (fields.includes("boardColumns")) {
+            response.boardColumns(mapBoardColumns(project.getBoardColumns()));
+        }
+        if (fields.includes("members")) {
+            List<ProjectMemberResponse> members = mapMembers(project.getMembers());
+            response.members(members);
+            if (fields.includes("creator")) {
+                response.creator(findCreator(project, members));
+            }
+        } else if (fields.includes("creator")) {
+            ProjectMember creator = projectMemberRepository
+                    .findById(new ProjectMemberID(id, project.getCreatorId()))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dự án không chủ"));
+            response.creator(findCreator(project, mapMembers(List.of(creator))));
+        }
+        return response.build();
+    }
 
-        List<LabelResponse> labes = project.getLabels().stream().map(
+    private List<LabelResponse> mapLabels(Collection<Label> labels) {
+        return labels.stream().map(
                         l -> LabelResponse.builder()
                                 .labelId(l.getLabelId())
                                 .projectId(l.getProjectId())
@@ -282,7 +347,10 @@ public class ProjectServiceImpl implements ProjectService {
                                 .name(l.getName())
                                 .build())
                 .toList();
-        List<BoardColumnResponse> boardColumns = project.getBoardColumns().stream()
+    }
+
+    private List<BoardColumnResponse> mapBoardColumns(Collection<BoardColumn> boardColumns) {
+        return boardColumns.stream()
                 .map(bc -> BoardColumnResponse.builder()
                         .boardColumnId(bc.getBoardColumnId())
                         .projectId(bc.getProjectId())
@@ -291,10 +359,11 @@ public class ProjectServiceImpl implements ProjectService {
                         .name(bc.getName())
                         .projectId(bc.getProjectId())
                         .build()).toList();
-        Set<ProjectMember> projectMembers = project.getMembers();
+    }
+
+    private List<ProjectMemberResponse> mapMembers(Collection<ProjectMember> projectMembers) {
         Set<String> memberIds = projectMembers.stream().map(ProjectMember::getMemberId)
                 .collect(Collectors.toSet());
-        memberIds.add(project.getCreatorId());
         Map<String, UserPrincipal> mapUser;
         try {
             List<UserPrincipal> userPrincipals = authClient.getUsers(new ArrayList<>(memberIds));
@@ -304,7 +373,7 @@ public class ProjectServiceImpl implements ProjectService {
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
-        List<ProjectMemberResponse> members = projectMembers.stream()
+        return projectMembers.stream()
                 .map(pm -> ProjectMemberResponse.builder()
                         .roleInProject(pm.getRole())
                         .joinAt(pm.getJoinedAt())
@@ -313,25 +382,14 @@ public class ProjectServiceImpl implements ProjectService {
                         .fullName(mapUser.get(pm.getMemberId()).getFullName())
                         .projectId(pm.getProjectId())
                         .build()).toList();
-        ProjectMemberResponse creator = members.stream()
+    }
+
+    private ProjectMemberResponse findCreator(Project project, List<ProjectMemberResponse> members) {
+        return members.stream()
                 .filter(m -> m.getUserId().equals(project.getCreatorId()))
                 .findFirst().orElseThrow(
                         () -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dự án không chủ")
                 );
-
-        return ProjectDetailResponse.builder()
-                .projectId(id)
-                .name(project.getName())
-                .description(project.getDescription())
-                .creator(creator)
-                .createdAt(project.getCreatedAt())
-                .updatedAt(project.getUpdatedAt())
-                .dueAt(project.getDueAt())
-                .status(project.getStatus())
-                .labels(labes)
-                .boardColumns(boardColumns)
-                .members(members)
-                .build();
     }
 
     @Transactional(readOnly = true)
@@ -482,7 +540,7 @@ public class ProjectServiceImpl implements ProjectService {
                 "Đã tham gia dự án qua lời mời",
                 project.getProjectId(),
                 invitation.getInviterName(),
-                Map.of("member", projectMember)
+                Map.of("member", MemberSnapshot.of(projectMember))
         ));
 
         redisTemplate.delete(tokenKey);
@@ -533,7 +591,7 @@ public class ProjectServiceImpl implements ProjectService {
                 "Đã xóa thành viên",
                 memberId,
                 userPrincipal.getFullName(),
-                Map.of("member", projectMember)
+                Map.of("member", MemberSnapshot.of(projectMember))
         ));
     }
 
@@ -558,7 +616,7 @@ public class ProjectServiceImpl implements ProjectService {
                 "Đã tạo nhãn",
                 saved.getLabelId(),
                 saved.getName(),
-                Map.of("label", label)
+                Map.of("label", LabelSnapshot.of(saved))
         ));
         return LabelResponse.builder()
                 .labelId(saved.getLabelId())
@@ -624,11 +682,12 @@ public class ProjectServiceImpl implements ProjectService {
         eventPublisher.publishEvent(new ProjectEvent(
                 label.getProject(), getCurrentUser(),
                 ActionType.DELETE_LABEL, "Đã xóa nhãn",
-                label.getLabelId(), label.getName(), Map.of("label", label)
+                label.getLabelId(), label.getName(), Map.of("label", LabelSnapshot.of(label))
         ));
     }
 
     @Override
+    @ProjectWriter
     @Transactional
     @CacheEvict(value = "projectDetail", key = "#projectId")
     public BoardColumnResponse createBoardColumn(String projectId, BoardColumnRequest request) {
@@ -647,7 +706,7 @@ public class ProjectServiceImpl implements ProjectService {
         eventPublisher.publishEvent(new ProjectEvent(
                 saved.getProject(), getCurrentUser(),
                 ActionType.ADD_BOARD_COLUMN, "Đã tạo cột",
-                saved.getBoardColumnId(), saved.getName(), Map.of("column", saved)
+                saved.getBoardColumnId(), saved.getName(), Map.of("column", BoardColumnSnapshot.of(saved))
         ));
         return BoardColumnResponse.builder()
                 .name(saved.getName())
@@ -660,6 +719,7 @@ public class ProjectServiceImpl implements ProjectService {
 
 
     @Override
+    @ProjectWriter(batchable = true)
     @Transactional
     @CacheEvict(value = "projectDetail", key = "#projectId")
     public BoardColumnResponse updateBoardColumn(String projectId,
@@ -722,7 +782,7 @@ public class ProjectServiceImpl implements ProjectService {
                 boardColumn.getProject(), getCurrentUser(),
                 ActionType.DELETE_BOARD_COLUMN, "Đã xóa cột",
                 boardColumn.getBoardColumnId(), boardColumn.getName(),
-                Map.of("column", boardColumn)
+                Map.of("column", BoardColumnSnapshot.of(boardColumn))
         ));
     }
 
@@ -770,6 +830,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @ProjectWriter
     @Transactional
     @CacheEvict(value = "projectDetail", key = "#projectId")
     public BoardColumnResponse restoreBoardColumn(String projectId, String columnId,
@@ -821,6 +882,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @UsePool(DataSourcePool.REPORTING)
     @Transactional(readOnly = true)
     public PaginatedResponse<ArchivedItemResponse> getArchivedItem(String projectId, Pageable pageable) {
         Page<ArchivedItemResponse> page = projectRepository.findArchivedByProjectId(projectId, pageable);
@@ -836,6 +898,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @UsePool(DataSourcePool.REPORTING)
     @Transactional(readOnly = true)
     public List<ArchivedItemResponse> getMyArchivedProjects() {
         String userId = getCurrentUser().getUserId();
@@ -1,35 +1,55 @@
 package com.tuanhust.coreservice.service.impl;
 
+import com.tuanhust.coreservice.annotation.ProjectWriter;
+import com.tuanhust.coreservice.annotation.UsePool;
 import com.tuanhust.coreservice.client.AuthServiceClient;
+import com.tuanhust.coreservice.config.DataSourcePool;
 import com.tuanhust.coreservice.config.UserPrincipal;
 import com.tuanhust.coreservice.dto.ActionType;
+import com.tuanhust.coreservice.dto.FieldSelection;
+import com.tuanhust.coreservice.dto.MemberSnapshot;
 import com.tuanhust.coreservice.entity.*;
 import com.tuanhust.coreservice.entity.enums.Status;
 import com.tuanhust.coreservice.entity.ids.TaskAssigneeId;
 import com.tuanhust.coreservice.entity.ids.TaskLabelId;
 import com.tuanhust.coreservice.listener.TaskEvent;
 import com.tuanhust.coreservice.repository.*;
+import com.tuanhust.coreservice.request.TaskFilterRequest;
 import com.tuanhust.coreservice.request.TaskRequest;
+import com.tuanhust.coreservice.response.BoardColumnTasksResponse;
+import com.tuanhust.coreservice.response.CalendarDayResponse;
+import com.tuanhust.coreservice.response.CalendarTaskResponse;
 import com.tuanhust.coreservice.response.CheckListResponse;
+import com.tuanhust.coreservice.response.CommentPageResponse;
 import com.tuanhust.coreservice.response.CommentResponse;
 import com.tuanhust.coreservice.response.TaskDetailResponse;
 import com.tuanhust.coreservice.response.TaskResponse;
+import com.tuanhust.coreservice.service.TaskReminderScheduler;
 import com.tuanhust.coreservice.service.TaskService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -37,6 +57,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Service
 public class TaskServiceImpl implements TaskService {
+    private static final String[] ASSOCIATION_FIELDS = {"assigneeIds", "labelIds", "projectName"};
+    // Bội số của @BatchSize(50) trên các collection của Task
+    private static final int SNAPSHOT_CHUNK_SIZE = 200;
+    private static final int MAX_BOARD_WINDOW = 200;
+    private static final int MAX_FILTER_RESULTS = 500;
+    private static final int LATEST_COMMENTS = 5;
+    private static final int COMMENT_PAGE_SIZE = 20;
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+    // Đủ cho lưới tháng 6 tuần kèm vài ngày đệm
+    private static final int MAX_CALENDAR_DAYS = 62;
+
     private final TaskRepository taskRepository;
     private final CheckListRepository checkListRepository;
     private final CommentRepository commentRepository;
@@ -48,6 +79,9 @@ public class TaskServiceImpl implements TaskService {
     private final AuthServiceClient authServiceClient;
     private final TaskAssigneeRepository taskAssigneeRepository;
     private final TaskLabelRepository taskLabelRepository;
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final TaskReminderScheduler taskReminderScheduler;
+    private final EntityManager entityManager;
 
 
     @Override
@@ -57,15 +91,23 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dự án không tồn tại"));
         BoardColumn boardColumn = boardColumnRepository.findByProjectIdAndBoardColumnId(projectId, taskRequest.getBoardColumnId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cột không tồn tại hoặc không thuộc dự án này"));
+        Map<String, ProjectMember> projectMembers = project.getMembers().stream()
+                .collect(Collectors.toMap(ProjectMember::getMemberId, m -> m));
+        Map<String, Label> projectLabels = project.getLabels().stream()
+                .collect(Collectors.toMap(Label::getLabelId, l -> l));
         if (taskRequest.getAssigneeIds() != null && !taskRequest.getAssigneeIds().isEmpty()) {
-            long count = projectMemberRepository.countByProjectIdAndMemberIdIn(projectId, taskRequest.getAssigneeIds());
-            if (count != taskRequest.getAssigneeIds().size()) {
+            if (hasDuplicates(taskRequest.getAssigneeIds())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Danh sách thành viên bị trùng");
+            }
+            if (!projectMembers.keySet().containsAll(taskRequest.getAssigneeIds())) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Một số thành viên không thuộc dự án này");
             }
         }
         if (taskRequest.getLabelIds() != null && !taskRequest.getLabelIds().isEmpty()) {
-            long count = labelRepository.countByProjectIdAndLabelIdIn(projectId, taskRequest.getLabelIds());
-            if (count != taskRequest.getLabelIds().size()) {
+            if (hasDuplicates(taskRequest.getLabelIds())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Danh sách nhãn bị trùng");
+            }
+            if (!projectLabels.keySet().containsAll(taskRequest.getLabelIds())) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Một số nhãn không thuộc dự án này");
             }
         }
@@ -97,7 +139,7 @@ public class TaskServiceImpl implements TaskService {
         if (taskRequest.getLabelIds() != null && !taskRequest.getLabelIds().isEmpty()) {
             Set<TaskLabel> labels = taskRequest.getLabelIds().stream()
                     .map(labelId -> {
-                        Label labelRef = labelRepository.getReferenceById(labelId);
+                        Label labelRef = projectLabels.get(labelId);
                         return TaskLabel.builder()
                                 .label(labelRef)
                                 .labelId(labelId)
@@ -120,11 +162,18 @@ public class TaskServiceImpl implements TaskService {
         Task savedTask = taskRepository.save(task);
         savedTask.setProjectId(projectId);
         savedTask.setBoardColumnId(savedTask.getBoardColumn().getBoardColumnId());
-        List<ProjectMember> assignees = projectMemberRepository.findByMemberIdInAndProjectId(
-                taskRequest.getAssigneeIds()
-                        .stream()
-                        .filter(a -> !a.equals(creator.getUserId())).toList()
-                , projectId);
+        if (!savedTask.getCheckLists().isEmpty()) {
+            taskRepository.adjustCheckListCounts(savedTask.getTaskId(), savedTask.getCheckLists().size(), 0);
+            savedTask.setCheckListCount(savedTask.getCheckLists().size());
+        }
+        if (savedTask.getDueAt() != null) {
+            taskReminderScheduler.schedule(savedTask.getTaskId(), savedTask.getDueAt());
+        }
+        List<ProjectMember> assignees = taskRequest.getAssigneeIds() == null ? List.of() :
+                taskRequest.getAssigneeIds().stream()
+                        .filter(a -> !a.equals(creator.getUserId()))
+                        .map(projectMembers::get)
+                        .toList();
 
         eventPublisher.publishEvent(new TaskEvent(
                 savedTask,
@@ -135,23 +184,132 @@ public class TaskServiceImpl implements TaskService {
                 savedTask.getTaskId(),
                 savedTask.getTitle(),
                 Map.of(),
-                Map.of("assignees", assignees)
+                Map.of("assignees", assignees.stream().map(MemberSnapshot::of).toList())
         ));
         return maptoTaskResponse(savedTask);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TaskResponse> getTaskForProject(String projectId) {
+    public List<TaskResponse> getTaskForProject(String projectId, FieldSelection fields) {
+        projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dự án không tồn tại"));
+        List<Task> tasks = fields.includesAny(ASSOCIATION_FIELDS)
+                ? taskRepository.getAllTaskByProject(projectId)
+                : taskRepository.getAllTaskByProjectWithoutAssociations(projectId);
+        return tasks.stream().map(task -> maptoTaskResponse(task, fields)).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BoardColumnTasksResponse> getBoard(String projectId, int limit, FieldSelection fields) {
         projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dự án không tồn tại"));
-        List<Task> tasks = taskRepository.getAllTaskByProject(projectId);
-        return tasks.stream().map(this::maptoTaskResponse).collect(Collectors.toList());
+        int size = Math.clamp(limit, 1, MAX_BOARD_WINDOW);
+        // Lấy dư một task mỗi cột để biết cột còn task phía sau
+        List<TaskRepository.BoardWindowRow> rows = taskRepository.findBoardWindow(projectId, size + 1);
+        Map<String, Task> cards = loadCards(rows.stream()
+                .map(TaskRepository.BoardWindowRow::getTaskId)
+                .filter(Objects::nonNull)
+                .toList(), fields);
+        Map<String, List<Task>> columns = new LinkedHashMap<>();
+        for (TaskRepository.BoardWindowRow row : rows) {
+            List<Task> columnTasks = columns.computeIfAbsent(row.getBoardColumnId(), k -> new ArrayList<>());
+            if (row.getTaskId() != null && cards.containsKey(row.getTaskId())) {
+                columnTasks.add(cards.get(row.getTaskId()));
+            }
+        }
+        return columns.entrySet().stream()
+                .map(e -> toColumnPage(e.getKey(), e.getValue(), size, fields))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BoardColumnTasksResponse getBoardColumnTasks(String projectId, String boardColumnId, String cursor,
+                                                        int limit, FieldSelection fields) {
+        if (!boardColumnRepository.existsByProjectIdAndBoardColumnId(projectId, boardColumnId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cột không tồn tại");
+        }
+        int size = Math.clamp(limit, 1, MAX_BOARD_WINDOW);
+        // sortOrder là duy nhất trong cột nên dùng làm keyset, không cần offset
+        List<String> ids = taskRepository.findColumnTaskIdsAfter(boardColumnId,
+                cursor == null ? -Double.MAX_VALUE : decodeCursor(cursor), PageRequest.of(0, size + 1));
+        Map<String, Task> cards = loadCards(ids, fields);
+        List<Task> tasks = ids.stream().map(cards::get).filter(Objects::nonNull).toList();
+        return toColumnPage(boardColumnId, tasks, size, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> filterTasks(String projectId, TaskFilterRequest filter, FieldSelection fields) {
+        projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dự án không tồn tại"));
+        if (filter.getSort() != null && !TaskFilterRepository.SORT_FIELDS.contains(filter.getSort())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Trường sắp xếp không hợp lệ: " + filter.getSort());
+        }
+        if (filter.getDirection() != null && !filter.getDirection().equalsIgnoreCase("asc")
+                && !filter.getDirection().equalsIgnoreCase("desc")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chiều sắp xếp không hợp lệ");
+        }
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Khoảng thời gian không hợp lệ");
+        }
+        int limit = filter.getLimit() == null ? MAX_FILTER_RESULTS : Math.clamp(filter.getLimit(), 1, MAX_FILTER_RESULTS);
+        // Lọc và sắp xếp trên id trong database, sau đó chỉ nạp thẻ của các id khớp
+        List<String> ids = taskRepository.findTaskIdsByFilter(projectId, filter, limit);
+        Map<String, Task> cards = loadCards(ids, fields);
+        return ids.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .map(task -> maptoTaskResponse(task, fields))
+                .toList();
+    }
+
+    private Map<String, Task> loadCards(List<String> taskIds, FieldSelection fields) {
+        if (taskIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Task> tasks = fields.includesAny(ASSOCIATION_FIELDS)
+                ? taskRepository.findCardsByTaskIdIn(taskIds)
+                : taskRepository.findCardsByTaskIdInWithoutAssociations(taskIds);
+        return tasks.stream().collect(Collectors.toMap(Task::getTaskId, task -> task));
+    }
+
+    // tasks đã sắp theo sortOrder và có thể dư một phần tử so với size
+    private BoardColumnTasksResponse toColumnPage(String boardColumnId, List<Task> tasks, int size,
+                                                  FieldSelection fields) {
+        List<Task> page = tasks.size() > size ? tasks.subList(0, size) : tasks;
+        return BoardColumnTasksResponse.builder()
+                .boardColumnId(boardColumnId)
+                .tasks(page.stream().map(task -> maptoTaskResponse(task, fields)).toList())
+                .nextCursor(tasks.size() > size ? encodeCursor(page.getLast().getSortOrder()) : null)
+                .build();
+    }
+
+    private static boolean hasDuplicates(List<String> ids) {
+        return ids.stream().distinct().count() != ids.size();
+    }
+
+    private static String encodeCursor(Double sortOrder) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sortOrder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static double decodeCursor(String cursor) {
+        try {
+            return Double.parseDouble(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor không hợp lệ");
+        }
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "taskDetail", key = "#taskId")
+    @Caching(evict = {
+            @CacheEvict(value = "taskDetail", key = "#taskId"),
+            @CacheEvict(value = "taskComments", key = "#projectId + ':' + #taskId")
+    })
     public TaskResponse archiveTask(String projectId, String taskId) {
         Task task = taskRepository.findTaskByProjectIdAndTaskId(projectId, taskId)
                 .orElseThrow(
@@ -190,13 +348,14 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @ProjectWriter
     @Transactional
-    @CacheEvict(value = "taskDetail", key = "#taskId")
+    @Caching(evict = {
+            @CacheEvict(value = "taskDetail", key = "#taskId"),
+            @CacheEvict(value = "taskComments", key = "#projectId + ':' + #taskId")
+    })
     public TaskResponse restoreTask(String projectId, String taskId, Double sortOrder) {
-        Task task = taskRepository.findArchiveTaskByProjectIdAndTaskId(projectId, taskId)
-                .orElseThrow(
-                        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
-                );
+        Task task = findArchivedTask(projectId, taskId);
         Map<String, Object> data = new HashMap<>();
         Map<String, Object> newData = new HashMap<>();
         Map<String, Object> oldData = new HashMap<>();
@@ -219,6 +378,8 @@ public class TaskServiceImpl implements TaskService {
         newData.put("status", task.getStatus());
         newData.put("sortOrder", task.getSortOrder());
         newData.put("archivedAt", null);
+        // Lời nhắc có thể đã bị bỏ qua lúc task còn lưu trữ
+        taskReminderScheduler.schedule(taskId, Boolean.TRUE.equals(task.getCompleted()) ? null : task.getDueAt());
 
         data.put("old", oldData);
         data.put("new", newData);
@@ -238,12 +399,12 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "taskDetail", key = "#taskId")
+    @Caching(evict = {
+            @CacheEvict(value = "taskDetail", key = "#taskId"),
+            @CacheEvict(value = "taskComments", key = "#projectId + ':' + #taskId")
+    })
     public void deleteTask(String projectId, String taskId) {
-        Task task = taskRepository.findArchiveTaskByProjectIdAndTaskId(projectId, taskId)
-                .orElseThrow(
-                        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
-                );
+        Task task = findArchivedTask(projectId, taskId);
         taskRepository.delete(task);
         eventPublisher.publishEvent(new TaskEvent(
                 task,
@@ -258,6 +419,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @ProjectWriter(batchable = true)
     @Transactional
     @CacheEvict(value = "taskDetail", key = "#taskId")
     public TaskResponse moveTask(String projectId, String taskId, Double sortOrder, String boardColumnId) {
@@ -265,7 +427,12 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(
                         () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
                 );
-        BoardColumn boardColumn = boardColumnRepository.getReferenceById(boardColumnId);
+        // findById đọc từ L2 cache, bỏ qua @SQLRestriction nên phải tự loại cột đã lưu trữ
+        BoardColumn boardColumn = boardColumnRepository.findById(boardColumnId)
+                .filter(bc -> projectId.equals(bc.getProjectId()) && bc.getStatus() != Status.ARCHIVED)
+                .orElseThrow(
+                        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cột không tồn tại hoặc không thuộc dự án này")
+                );
 
         Map<String, Object> data = new HashMap<>();
         Map<String, Object> newData = new HashMap<>();
@@ -305,24 +472,110 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     @Cacheable(value = "taskDetail", key = "#taskId")
     public TaskDetailResponse getTask(String projectId, String taskId) {
-        Task task = taskRepository.findTaskByProjectIdAndTaskId(projectId, taskId).orElseThrow(
+        Task task = taskRepository.findDetailByProjectIdAndTaskId(projectId, taskId).orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
         );
+        // Chỉ kèm vài bình luận mới nhất và tổng số, không nạp cả thread
+        List<CommentRepository.LatestCommentRow> latest =
+                commentRepository.findLatestComments(taskId, LATEST_COMMENTS + 1);
+        CommentPageResponse comments = toCommentPage(latest.stream()
+                .map(CommentRepository.LatestCommentRow::getCommentId)
+                .toList(), LATEST_COMMENTS);
+        return taskDetailBuilder(task)
+                .comments(comments.getComments())
+                .commentCount(latest.isEmpty() ? 0L : latest.getFirst().getTotal())
+                .commentCursor(comments.getNextCursor())
+                .build();
+    }
+
+    // Khóa có projectId: khi trúng cache, kiểm tra task thuộc dự án trong thân hàm không được chạy
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "taskComments", key = "#projectId + ':' + #taskId",
+            condition = "#cursor == null and #limit == " + COMMENT_PAGE_SIZE)
+    public CommentPageResponse getComments(String projectId, String taskId, String cursor, int limit) {
+        if (!taskRepository.existsByProjectIdAndTaskId(projectId, taskId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại");
+        }
+        int size = Math.clamp(limit, 1, MAX_COMMENT_PAGE_SIZE);
+        List<String> ids;
+        if (cursor == null) {
+            ids = commentRepository.findLatestComments(taskId, size + 1).stream()
+                    .map(CommentRepository.LatestCommentRow::getCommentId)
+                    .toList();
+        } else {
+            CommentCursor after = CommentCursor.decode(cursor);
+            ids = commentRepository.findCommentIdsBefore(taskId, after.createdAt(), after.commentId(), size + 1);
+        }
+        return toCommentPage(ids, size);
+    }
+
+    // ids đã sắp mới nhất trước và có thể dư một phần tử so với size; mention của cả trang nạp trong một câu
+    private CommentPageResponse toCommentPage(List<String> ids, int size) {
+        List<String> pageIds = ids.size() > size ? ids.subList(0, size) : ids;
+        Map<String, Comment> loaded = pageIds.isEmpty() ? Map.of() : commentRepository
+                .findWithMentionsByCommentIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Comment::getCommentId, c -> c));
+        List<Comment> page = pageIds.stream().map(loaded::get).filter(Objects::nonNull).toList();
+        return CommentPageResponse.builder()
+                .comments(page.stream()
+                        .map(c -> CommentResponse.builder()
+                                .commentId(c.getCommentId())
+                                .taskId(c.getTaskId())
+                                .body(c.getBody())
+                                .creatorId(c.getCreatorId())
+                                .updatedAt(c.getUpdatedAt())
+                                .createdAt(c.getCreatedAt())
+                                .mentionIds(c.getCommentMentions().stream().map(CommentMentions::getMentionId).toList())
+                                .build())
+                        .toList())
+                .nextCursor(ids.size() > size && !page.isEmpty()
+                        ? new CommentCursor(page.getLast().getCreatedAt(), page.getLast().getCommentId()).encode()
+                        : null)
+                .build();
+    }
+
+    private record CommentCursor(Instant createdAt, String commentId) {
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + commentId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static CommentCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|", 2);
+                return new CommentCursor(Instant.parse(parts[0]), parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor không hợp lệ");
+            }
+        }
+    }
+
+    // Transaction mở suốt lúc ghi NDJSON cho client (có thể chậm), không được giữ connection của pool OLTP
+    @Override
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void streamTaskSnapshots(String projectId, Collection<String> taskIds, Consumer<TaskDetailResponse> sink) {
+        // Chỉ đọc id trước, sau đó nạp task theo lô; REPEATABLE_READ để mọi lô cùng một snapshot MVCC
+        List<String> ids = taskIds == null
+                ? taskRepository.findTaskIdsByProjectId(projectId)
+                : taskRepository.findTaskIdsByProjectIdAndTaskIdIn(projectId, taskIds);
+        for (int from = 0; from < ids.size(); from += SNAPSHOT_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + SNAPSHOT_CHUNK_SIZE, ids.size()));
+            taskRepository.findSnapshotsByTaskIdIn(chunk)
+                    .forEach(task -> sink.accept(taskDetailBuilder(task).build()));
+            // Giải phóng persistence context sau mỗi lô để bộ nhớ không tăng theo kích thước dự án
+            entityManager.clear();
+        }
+    }
+
+    private TaskDetailResponse.TaskDetailResponseBuilder taskDetailBuilder(Task task) {
         List<String> labelIds = task.getTaskLabels().stream().map(TaskLabel::getLabelId).toList();
         List<String> assigneeIds = task.getAssignees().stream().map(TaskAssignee::getAssigneeId).toList();
-        List<CommentResponse> comments = task.getComments().stream()
-                .map(c -> CommentResponse.builder()
-                        .commentId(c.getCommentId())
-                        .taskId(c.getTaskId())
-                        .body(c.getBody())
-                        .creatorId(c.getCreatorId())
-                        .updatedAt(c.getUpdatedAt())
-                        .createdAt(c.getCreatedAt())
-                        .mentionIds(c.getCommentMentions().stream().map(CommentMentions::getMentionId).toList())
-                        .build()).toList();
         List<CheckListResponse> checkLists = task.getCheckLists().stream()
                 .map(c -> CheckListResponse.builder()
                         .checkListId(c.getCheckListId())
@@ -349,16 +602,15 @@ public class TaskServiceImpl implements TaskService {
                 .creatorId(task.getCreatorId())
                 .assigneeIds(assigneeIds)
                 .labelIds(labelIds)
-                .comments(comments)
-                .checkLists(checkLists)
-                .build();
+                .checkLists(checkLists);
     }
 
     @Override
     @Transactional
     @CacheEvict(value = "taskDetail", key = "#taskId")
     public void updateTask(String projectId, String taskId, TaskRequest taskRequest) {
-        Task task = taskRepository.findTaskByProjectIdAndTaskId(projectId, taskId).orElseThrow(
+        // Snapshot UPDATE_TASK gửi kèm description nên nạp luôn trong câu khóa
+        Task task = taskRepository.findWithDescriptionByProjectIdAndTaskId(projectId, taskId).orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
         );
         Map<String, Object> data = new HashMap<>();
@@ -385,6 +637,7 @@ public class TaskServiceImpl implements TaskService {
                 task.setDueAt(normalizeToEndOfDay(taskRequest.getDueAt()));
             }
             newData.put("dueAt", task.getDueAt()!=null ? task.getDueAt().toString() : null);
+            taskReminderScheduler.schedule(taskId, Boolean.TRUE.equals(task.getCompleted()) ? null : task.getDueAt());
         }
         if (taskRequest.getPriority() != null && taskRequest.getPriority() != task.getPriority()) {
             oldData.put("priority", task.getPriority());
@@ -413,7 +666,7 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     @CacheEvict(value = "taskDetail", key = "#taskId")
     public void addAssigneeTask(String projectId, String taskId, String assigneeId) {
-        Task task = taskRepository.findTaskByProjectIdAndTaskId(projectId, taskId).orElseThrow(
+        Task task = taskRepository.findWithProjectByProjectIdAndTaskId(projectId, taskId).orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
         );
         UserPrincipal assignee = authServiceClient.getUsers(List.of(assigneeId)).getFirst();
@@ -436,10 +689,7 @@ public class TaskServiceImpl implements TaskService {
                 task.getTaskId(),
                 task.getTitle(),
                 null,
-                Map.of("assignees", List.of(ProjectMember.builder()
-                        .memberId(assigneeId)
-                        .email(assignee.getEmail())
-                        .build()))
+                Map.of("assignees", List.of(new MemberSnapshot(assigneeId, assignee.getEmail(), null, null)))
         ));
     }
 
@@ -451,17 +701,20 @@ public class TaskServiceImpl implements TaskService {
                 .findById(new TaskAssigneeId(assigneeId, taskId))
                 .orElseThrow();
         taskAssigneeRepository.delete(taskAssignee);
+        Task task = taskRepository.findWithProjectByProjectIdAndTaskId(projectId, taskId).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
+        );
 
         UserPrincipal assignee = authServiceClient.getUsers(List.of(assigneeId)).getFirst();
         if (assignee != null) {
             eventPublisher.publishEvent(new TaskEvent(
-                    taskAssignee.getTask(),
+                    task,
                     projectId,
                     getCurrentUser(),
                     ActionType.DELETE_MEMBER_TASK,
                     "Đã xóa " + assignee.getFullName() + " ra khỏi nhiệm vụ",
                     taskId,
-                    taskAssignee.getTask().getTitle(),
+                    task.getTitle(),
                     null,
                     Map.of("assignee", assignee)
             ));
@@ -524,6 +777,7 @@ public class TaskServiceImpl implements TaskService {
         Map<String, Object> oldData = new HashMap<>();
         oldData.put("completed", task.getCompleted());
         task.setCompleted(completed);
+        taskReminderScheduler.schedule(taskId, completed ? null : task.getDueAt());
         newData.put("completed", task.getCompleted());
         newData.put("updatedAt", Instant.now().toString());
         data.put("old", oldData);
@@ -557,6 +811,7 @@ public class TaskServiceImpl implements TaskService {
                 .body(body)
                 .build();
         CheckList savedCheckList = checkListRepository.save(checkList);
+        taskRepository.adjustCheckListCounts(taskId, 1, 0);
         eventPublisher.publishEvent(new TaskEvent(
                 task,
                 projectId,
@@ -585,6 +840,7 @@ public class TaskServiceImpl implements TaskService {
         CheckList checkList = checkListRepository.findById(checkListId).orElseThrow();
         if (done != null && checkList.isDone() != done) {
             checkList.setDone(done);
+            taskRepository.adjustCheckListCounts(checkList.getTaskId(), 0, done ? 1 : -1);
             if (done) {
                 eventPublisher.publishEvent(new TaskEvent(
                         checkList.getTask(), projectId, getCurrentUser(),
@@ -633,6 +889,7 @@ public class TaskServiceImpl implements TaskService {
     public void deleteCheckList(String projectId, String taskId, String checkListId) {
         CheckList checkList = checkListRepository.findById(checkListId).orElseThrow();
         checkListRepository.delete(checkList);
+        taskRepository.adjustCheckListCounts(checkList.getTaskId(), -1, checkList.isDone() ? -1 : 0);
         eventPublisher.publishEvent(new TaskEvent(
                 checkList.getTask(), projectId, getCurrentUser(),
                 ActionType.DELETE_CHECKLIST,
@@ -645,7 +902,10 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "taskDetail", key = "#taskId")
+    @Caching(evict = {
+            @CacheEvict(value = "taskDetail", key = "#taskId"),
+            @CacheEvict(value = "taskComments", key = "#projectId + ':' + #taskId")
+    })
     public CommentResponse createComment(String projectId, String taskId, String body) {
         Task task = taskRepository.findTaskByProjectIdAndTaskId(projectId, taskId).orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
@@ -664,6 +924,7 @@ public class TaskServiceImpl implements TaskService {
                 .collect(Collectors.toSet());
         comment.setCommentMentions(commentMentions);
         Comment savedComment = commentRepository.save(comment);
+        taskRepository.adjustCommentCount(taskId, 1);
 
         eventPublisher.publishEvent(new TaskEvent(
                 task,
@@ -674,7 +935,7 @@ public class TaskServiceImpl implements TaskService {
                 savedComment.getCommentId(),
                 null,
                 null,
-                Map.of("commentMentions", commentMentions)
+                Map.of("mentionIds", mentionIds)
         ));
 
 
@@ -691,11 +952,15 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "taskDetail", key = "#taskId")
+    @Caching(evict = {
+            @CacheEvict(value = "taskDetail", key = "#taskId"),
+            @CacheEvict(value = "taskComments", key = "#projectId + ':' + #taskId")
+    })
     public void deleteComment(String projectId, String taskId, String commentId) {
         Comment comment = commentRepository.findById(commentId).orElseThrow();
         if (Objects.equals(comment.getCreatorId(), getCurrentUser().getUserId())) {
             commentRepository.delete(comment);
+            taskRepository.adjustCommentCount(comment.getTaskId(), -1);
             eventPublisher.publishEvent(new TaskEvent(
                     comment.getTask(), projectId, getCurrentUser(),
                     ActionType.DELETE_COMMENT,
@@ -711,7 +976,10 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "taskDetail", key = "#taskId")
+    @Caching(evict = {
+            @CacheEvict(value = "taskDetail", key = "#taskId"),
+            @CacheEvict(value = "taskComments", key = "#projectId + ':' + #taskId")
+    })
     public CommentResponse updateComment(String projectId, String taskId, String commentId, String body) {
         Comment comment = commentRepository.findById(commentId).orElseThrow();
         if (!Objects.equals(comment.getCreatorId(), getCurrentUser().getUserId())) {
@@ -742,7 +1010,7 @@ public class TaskServiceImpl implements TaskService {
                     comment.getCommentId(),
                     null,
                     null,
-                    Map.of("commentMentions", commentMentions)
+                    Map.of("mentionIds", mentionIds)
             ));
         }
 
@@ -763,8 +1031,11 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TaskResponse> getMyTasks() {
-        List<Task> tasks = taskRepository.findAllByAssigneeId(getCurrentUser().getUserId());
+    public List<TaskResponse> getMyTasks(FieldSelection fields) {
+        String userId = getCurrentUser().getUserId();
+        List<Task> tasks = fields.includes("projectName")
+                ? taskRepository.findAllByAssigneeId(userId)
+                : taskRepository.findAllByAssigneeIdWithoutAssociations(userId);
         return tasks.stream().map(task -> TaskResponse.builder()
                 .projectId(task.getProjectId())
                 .taskId(task.getTaskId())
@@ -775,12 +1046,79 @@ public class TaskServiceImpl implements TaskService {
                 .completed(task.getCompleted())
                 .status(task.getStatus())
                 .creatorId(task.getCreatorId())
-                .projectName(task.getProject().getName())
+                .projectName(fields.includes("projectName") ? task.getProject().getName() : null)
                 .build()).toList();
     }
 
+    @Override
+    @UsePool(DataSourcePool.REPORTING)
+    @Transactional(readOnly = true)
+    public List<CalendarDayResponse> getMyCalendar(LocalDate from, LocalDate to, String zone, boolean includeCompleted) {
+        if (from.isAfter(to) || from.plusDays(MAX_CALENDAR_DAYS).isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Khoảng thời gian không hợp lệ");
+        }
+        ZoneId zoneId;
+        try {
+            zoneId = zone == null ? ZoneId.systemDefault() : ZoneId.of(zone);
+        } catch (DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Múi giờ không hợp lệ");
+        }
+        List<TaskRepository.CalendarTaskRow> rows = taskRepository.findCalendarTasks(
+                getCurrentUser().getUserId(),
+                from.atStartOfDay(zoneId).toInstant(),
+                to.plusDays(1).atStartOfDay(zoneId).toInstant(),
+                includeCompleted);
+
+        // rows đã sắp theo dueAt nên các ngày liền nhau, chỉ cần gom tuần tự
+        Map<LocalDate, List<CalendarTaskResponse>> days = new LinkedHashMap<>();
+        for (TaskRepository.CalendarTaskRow row : rows) {
+            days.computeIfAbsent(LocalDate.ofInstant(row.getDueAt(), zoneId), k -> new ArrayList<>())
+                    .add(CalendarTaskResponse.builder()
+                            .taskId(row.getTaskId())
+                            .projectId(row.getProjectId())
+                            .projectName(row.getProjectName())
+                            .title(row.getTitle())
+                            .priority(row.getPriority())
+                            .completed(row.getCompleted())
+                            .dueAt(row.getDueAt())
+                            .build());
+        }
+        return days.entrySet().stream()
+                .map(e -> CalendarDayResponse.builder().date(e.getKey()).tasks(e.getValue()).build())
+                .toList();
+    }
+
+
+    private Task findArchivedTask(String projectId, String taskId) {
+        return taskRepository.findArchiveTaskByProjectIdAndTaskId(projectId, taskId)
+                .or(() -> thawColdTask(projectId, taskId))
+                .orElseThrow(
+                        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại")
+                );
+    }
+
+    // Đưa task từ cold tier về bảng tasks (vẫn ở trạng thái ARCHIVED) để luồng khôi phục/xóa chạy như cũ
+    private Optional<Task> thawColdTask(String projectId, String taskId) {
+        if (taskArchiveRepository.thawTask(projectId, taskId) == 0) {
+            return Optional.empty();
+        }
+        taskArchiveRepository.thawTaskLabels(taskId);
+        taskArchiveRepository.thawTaskAssignees(taskId);
+        taskArchiveRepository.thawComments(taskId);
+        taskArchiveRepository.thawCommentMentions(taskId);
+        taskArchiveRepository.thawCheckLists(taskId);
+        taskArchiveRepository.thawTaskAttachments(taskId);
+        taskArchiveRepository.refreshCounters(taskId);
+        taskArchiveRepository.deleteColdTask(taskId);
+        return taskRepository.findArchiveTaskByProjectIdAndTaskId(projectId, taskId);
+    }
 
     private TaskResponse maptoTaskResponse(Task task) {
+        return maptoTaskResponse(task, FieldSelection.ALL);
+    }
+
+    // Association không nằm trong fields thì không được chạm tới để tránh lazy load
+    private TaskResponse maptoTaskResponse(Task task, FieldSelection fields) {
         return TaskResponse.builder()
                 .projectId(task.getProjectId())
                 .taskId(task.getTaskId())
@@ -793,13 +1131,17 @@ public class TaskServiceImpl implements TaskService {
                 .status(task.getStatus())
                 .boardColumnId(task.getBoardColumn().getBoardColumnId())
                 .creatorId(task.getCreatorId())
-                .assigneeIds(task.getAssignees() != null ?
+                .assigneeIds(!fields.includes("assigneeIds") ? null : task.getAssignees() != null ?
                         task.getAssignees().stream().map(TaskAssignee::getAssigneeId).collect(Collectors.toList()) :
                         List.of())
-                .labelIds(task.getTaskLabels() != null ?
+                .labelIds(!fields.includes("labelIds") ? null : task.getTaskLabels() != null ?
                         task.getTaskLabels().stream().map(TaskLabel::getLabelId).collect(Collectors.toList()) :
                         List.of())
-                .projectName(task.getProject().getName())
+                .projectName(fields.includes("projectName") ? task.getProject().getName() : null)
+                .commentCount(Objects.requireNonNullElse(task.getCommentCount(), 0))
+                .checkListCount(Objects.requireNonNullElse(task.getCheckListCount(), 0))
+                .checkListDoneCount(Objects.requireNonNullElse(task.getCheckListDoneCount(), 0))
+                .attachmentCount(Objects.requireNonNullElse(task.getAttachmentCount(), 0))
                 .build();
     }
 
@@ -0,0 +1,224 @@
+package com.tuanhust.coreservice;
+
+import com.tuanhust.coreservice.dto.ActionType;
+import com.tuanhust.coreservice.dto.ActivityEvent;
+import com.tuanhust.coreservice.listener.SecondLevelCacheInvalidationListener;
+import com.tuanhust.coreservice.publisher.ActivityPublisher;
+import com.tuanhust.coreservice.service.ArchiveRetentionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Chạy {@link ArchiveRetentionService#purge()} trên schema thật trong {@code init.sql}: cần cascade của khóa ngoại
+ * board_column -> tasks/tasks_archive và bảng cold tier, Hibernate không tạo được các thứ này.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "app.retention.enabled=true",
+        "app.retention.days=365",
+        "app.retention.batch-size=2",
+        "app.retention.pause-ms=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ArchiveRetentionService.class)
+class ArchiveRetentionServiceTest {
+    private static final Path INIT_SQL = Path.of(System.getProperty("queryplan.init-sql", "../../init.sql"));
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("citext.sql");
+
+    @SpringBootConfiguration
+    @AutoConfigurationPackage
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private SecondLevelCacheInvalidationListener cacheInvalidationListener;
+    @MockitoBean
+    private ActivityPublisher activityPublisher;
+
+    @Autowired
+    private ArchiveRetentionService archiveRetentionService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    // Schema phải có trước khi context Spring khởi tạo EntityManagerFactory
+    @BeforeAll
+    static void createSchema() throws Exception {
+        String schema = Files.readString(INIT_SQL, StandardCharsets.UTF_8);
+        schema = schema.substring(schema.indexOf("\\c core_db") + "\\c core_db".length());
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()); Statement statement = connection.createStatement()) {
+            statement.execute(schema);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("truncate projects cascade");
+        Instant expired = Instant.now().minus(400, ChronoUnit.DAYS);
+        Instant recent = Instant.now().minus(10, ChronoUnit.DAYS);
+
+        project("p1");
+        project("p2");
+        column("c-expired", "p1", 1, "ARCHIVED", expired);
+        column("c-active", "p1", 2, "ACTIVE", null);
+        column("c-other", "p2", 1, "ACTIVE", null);
+
+        // Nằm trong cột quá hạn: bị xóa theo cascade dù bản thân task chưa lưu trữ
+        task("t-in-column", "p1", "c-expired", 1, "ACTIVE", null);
+        coldTask("ct-in-column", "p1", "c-expired", expired);
+
+        task("t-expired", "p1", "c-active", 1, "ARCHIVED", expired);
+        task("t-recent", "p1", "c-active", 2, "ARCHIVED", recent);
+        task("t-active", "p1", "c-active", 3, "ACTIVE", null);
+        task("t-expired-other", "p2", "c-other", 1, "ARCHIVED", expired);
+        coldTask("ct-expired", "p1", "c-active", expired);
+        coldTask("ct-recent", "p1", "c-active", recent);
+    }
+
+    @Test
+    @DisplayName("purge: deletes expired columns with their tasks, then expired hot and cold tasks, keeping recent ones")
+    void purge_DeletesOnlyExpiredRows() {
+        archiveRetentionService.purge();
+
+        assertThat(ids("select board_column_id from board_columns")).containsExactlyInAnyOrder("c-active", "c-other");
+        assertThat(ids("select task_id from tasks")).containsExactlyInAnyOrder("t-recent", "t-active");
+        assertThat(ids("select task_id from tasks_archive")).containsExactly("ct-recent");
+    }
+
+    @Test
+    @DisplayName("purge: counters record deleted rows and batches per type")
+    void purge_RecordsCounters() {
+        archiveRetentionService.purge();
+
+        assertThat(purged("board_column")).isEqualTo(1);
+        assertThat(purged("task")).isEqualTo(2);
+        assertThat(purged("cold_task")).isEqualTo(1);
+        // Hai task quá hạn vừa đủ một lô nên cần thêm một lô rỗng để biết đã hết
+        assertThat(meterRegistry.counter("archive.retention.batches", "type", "task").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("archive.retention.batches", "type", "cold_task").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("purge: one DELETE event per project and batch, carrying the ids storage and ai services clean up")
+    void purge_PublishesDeleteEvents() {
+        archiveRetentionService.purge();
+
+        ArgumentCaptor<ActivityEvent> events = ArgumentCaptor.forClass(ActivityEvent.class);
+        verify(activityPublisher, atLeastOnce()).publish(events.capture());
+        List<ActivityEvent> published = events.getAllValues();
+        assertThat(published).hasSize(4);
+
+        ActivityEvent columns = published.getFirst();
+        assertThat(columns.getActionType()).isEqualTo(ActionType.DELETE_BOARD_COLUMN);
+        assertThat(columns.getProjectId()).isEqualTo("p1");
+        Map<String, ?> metadata = columns.getMetadata();
+        assertThat(metadata.get("boardColumnIds")).asInstanceOf(InstanceOfAssertFactories.LIST)
+                .containsExactly("c-expired");
+        assertThat(metadata.get("taskIds")).asInstanceOf(InstanceOfAssertFactories.LIST)
+                .containsExactlyInAnyOrder("t-in-column", "ct-in-column");
+
+        assertThat(published.subList(1, 4)).allSatisfy(e -> assertThat(e.getActionType())
+                .isEqualTo(ActionType.DELETE_TASK));
+        assertThat(published.subList(1, 4).stream()
+                .map(e -> e.getProjectId() + ":" + e.getMetadata().get("taskIds")).toList())
+                .containsExactlyInAnyOrder("p1:[t-expired]", "p2:[t-expired-other]", "p1:[ct-expired]");
+        verify(cacheInvalidationListener).invalidateBoardColumns("p1", List.of("c-expired"));
+    }
+
+    private double purged(String type) {
+        return meterRegistry.counter("archive.retention.purged", "type", type).count();
+    }
+
+    private List<String> ids(String sql) {
+        return jdbcTemplate.queryForList(sql, String.class);
+    }
+
+    private void project(String projectId) {
+        jdbcTemplate.update("insert into projects (project_id, name, status, creator_id) values (?, ?, 'ACTIVE', 'u1')",
+                projectId, "Project " + projectId);
+    }
+
+    private void column(String columnId, String projectId, double sortOrder, String status, Instant archivedAt) {
+        jdbcTemplate.update("""
+                        insert into board_columns (board_column_id, name, sort_order, status, archived_at, project_id)
+                        values (?, ?, ?, ?, ?, ?)
+                        """,
+                columnId, columnId, sortOrder, status, timestamp(archivedAt), projectId);
+    }
+
+    private void task(String taskId, String projectId, String columnId, double sortOrder, String status,
+                      Instant archivedAt) {
+        jdbcTemplate.update("""
+                        insert into tasks (task_id, title, status, creator_id, sort_order, archived_at,
+                                           project_id, board_column_id)
+                        values (?, ?, ?, 'u1', ?, ?, ?, ?)
+                        """,
+                taskId, taskId, status, sortOrder, timestamp(archivedAt), projectId, columnId);
+    }
+
+    private void coldTask(String taskId, String projectId, String columnId, Instant archivedAt) {
+        jdbcTemplate.update("""
+                        insert into tasks_archive (task_id, title, status, creator_id, archived_at,
+                                                   project_id, board_column_id)
+                        values (?, ?, 'ARCHIVED', 'u1', ?, ?, ?)
+                        """,
+                taskId, taskId, timestamp(archivedAt), projectId, columnId);
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+}
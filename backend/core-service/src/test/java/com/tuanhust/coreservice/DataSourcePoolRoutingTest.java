@@ -0,0 +1,225 @@
+package com.tuanhust.coreservice;
+
+import com.tuanhust.coreservice.annotation.ProjectRoles;
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.annotation.aspect.ProjectRoleAspect;
+import com.tuanhust.coreservice.annotation.aspect.UsePoolAspect;
+import com.tuanhust.coreservice.client.AuthServiceClient;
+import com.tuanhust.coreservice.config.DataSourceConfig;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.entity.BoardColumn;
+import com.tuanhust.coreservice.entity.Project;
+import com.tuanhust.coreservice.entity.ProjectMember;
+import com.tuanhust.coreservice.entity.Task;
+import com.tuanhust.coreservice.entity.enums.Role;
+import com.tuanhust.coreservice.entity.enums.Status;
+import com.tuanhust.coreservice.repository.ProjectMemberRepository;
+import com.tuanhust.coreservice.repository.ProjectRepository;
+import com.tuanhust.coreservice.service.TaskReminderScheduler;
+import com.tuanhust.coreservice.service.TaskService;
+import com.tuanhust.coreservice.service.impl.TaskServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Khoá việc chọn pool: lời gọi qua @ProjectRoles (kiểm tra quyền trên pool mặc định) rồi vào service
+ * {@code @UsePool(REPORTING)} phải chạy câu truy vấn trên connection của pool reporting. Pool được nhận ra
+ * qua statement_timeout riêng của từng pool.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.datasource.pools.oltp.statement-timeout-ms=5000",
+        "app.datasource.pools.reporting.statement-timeout-ms=30000",
+        "app.datasource.pools.background.statement-timeout-ms=60000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DataSourceConfig.class, UsePoolAspect.class, ProjectRoleAspect.class, TaskServiceImpl.class,
+        DataSourcePoolRoutingTest.ArchiveEndpoint.class, DataSourcePoolRoutingTest.ReportService.class})
+class DataSourcePoolRoutingTest {
+    private static final String MEMBER_ID = "member-id";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("citext.sql");
+
+    @SpringBootConfiguration
+    @AutoConfigurationPackage
+    @EnableJpaAuditing
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    // Đóng vai controller: @ProjectRoles đọc project_members trước khi vào service
+    static class ArchiveEndpoint {
+        private final ReportService reportService;
+
+        ArchiveEndpoint(ReportService reportService) {
+            this.reportService = reportService;
+        }
+
+        @ProjectRoles
+        public String getArchived(String projectId) {
+            return reportService.statementTimeout();
+        }
+    }
+
+    static class ReportService {
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @UsePool(DataSourcePool.REPORTING)
+        @Transactional(readOnly = true)
+        public String statementTimeout() {
+            return (String) entityManager.createNativeQuery("show statement_timeout").getSingleResult();
+        }
+
+        @Transactional(readOnly = true)
+        public String defaultStatementTimeout() {
+            return (String) entityManager.createNativeQuery("show statement_timeout").getSingleResult();
+        }
+    }
+
+    @MockitoBean
+    private AuthServiceClient authServiceClient;
+    @MockitoBean
+    private TaskReminderScheduler taskReminderScheduler;
+
+    @Autowired
+    private ArchiveEndpoint archiveEndpoint;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    private String projectId;
+
+    @BeforeEach
+    void setUp() {
+        projectId = transactionTemplate.execute(status -> {
+            Project project = projectRepository.save(Project.builder()
+                    .name("Project")
+                    .creatorId(MEMBER_ID)
+                    .status(Status.ACTIVE)
+                    .build());
+            projectMemberRepository.save(ProjectMember.builder()
+                    .project(project)
+                    .memberId(MEMBER_ID)
+                    .email("member@gmail.com")
+                    .role(Role.MEMBER)
+                    .build());
+            return project.getProjectId();
+        });
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                UserPrincipal.builder().userId(MEMBER_ID).build(), null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("projectId", projectId));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("@ProjectRoles + @UsePool(REPORTING): the report runs on the reporting pool, not the pool of the role check")
+    void roleCheckedReportRunsOnReportingPool() {
+        assertEquals("30s", archiveEndpoint.getArchived(projectId));
+        assertEquals("5s", reportService.defaultStatementTimeout());
+    }
+
+    @Test
+    @DisplayName("streamTaskSnapshots: the bulk export holds a background connection, not one of the OLTP pool")
+    void taskSnapshotsStreamOnBackgroundPool() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            BoardColumn column = BoardColumn.builder()
+                    .name("Todo")
+                    .sortOrder(1.0)
+                    .status(Status.ACTIVE)
+                    .project(project)
+                    .build();
+            entityManager.persist(column);
+            entityManager.persist(Task.builder()
+                    .title("Task")
+                    .status(Status.ACTIVE)
+                    .completed(false)
+                    .creatorId(MEMBER_ID)
+                    .sortOrder(1.0)
+                    .project(project)
+                    .boardColumn(column)
+                    .build());
+        });
+
+        // Sink chạy trong transaction của snapshot nên thấy connection mà nó đang giữ
+        List<String> timeouts = new ArrayList<>();
+        taskService.streamTaskSnapshots(projectId, null,
+                snapshot -> timeouts.add(reportService.defaultStatementTimeout()));
+
+        assertEquals(List.of("1min"), timeouts);
+    }
+
+    @Test
+    @DisplayName("open-in-view is off, otherwise the first connection of a request would serve every later query")
+    void openInViewDisabled() {
+        assertFalse(openInView);
+    }
+}
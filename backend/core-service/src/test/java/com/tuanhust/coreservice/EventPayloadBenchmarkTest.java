@@ -0,0 +1,114 @@
+package com.tuanhust.coreservice;
+
+import com.tuanhust.coreservice.dto.*;
+import com.tuanhust.coreservice.entity.BoardColumn;
+import com.tuanhust.coreservice.entity.Label;
+import com.tuanhust.coreservice.entity.Project;
+import com.tuanhust.coreservice.entity.ProjectMember;
+import com.tuanhust.coreservice.entity.enums.Role;
+import com.tuanhust.coreservice.entity.enums.Status;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * So sánh kích thước và thời gian chuyển đổi message activity khi metadata chứa entity
+ * (trước đây) với khi chứa snapshot record, qua đúng Jackson2JsonMessageConverter của RabbitMQConfig.
+ * <p>
+ * Không chạy trong build mặc định: {@code mvn test -Pbenchmark [-Dbenchmark.iterations=20000]}.
+ */
+@Tag("benchmark")
+class EventPayloadBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(EventPayloadBenchmarkTest.class);
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5_000);
+    private static final Instant NOW = Instant.parse("2025-06-01T08:00:00Z");
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private final Project project = Project.builder()
+            .projectId(id()).name("Dự án cập nhật giao diện đăng nhập").status(Status.ACTIVE).build();
+
+    @Test
+    void member() {
+        ProjectMember member = ProjectMember.builder()
+                .projectId(project.getProjectId()).memberId(id()).project(project)
+                .email("nguyen.van.a@example.com").role(Role.MEMBER).joinedAt(NOW).build();
+        compare("ADD_MEMBER", ActionType.ADD_MEMBER,
+                () -> Map.of("member", member), () -> Map.of("member", MemberSnapshot.of(member)));
+    }
+
+    @Test
+    void label() {
+        Label label = Label.builder()
+                .labelId(id()).projectId(project.getProjectId()).project(project)
+                .name("Khẩn cấp").color("#ff0000").build();
+        compare("ADD_LABEL", ActionType.ADD_LABEL,
+                () -> Map.of("label", label), () -> Map.of("label", LabelSnapshot.of(label)));
+    }
+
+    @Test
+    void column() {
+        BoardColumn column = BoardColumn.builder()
+                .boardColumnId(id()).projectId(project.getProjectId()).project(project)
+                .name("Đang thực hiện").sortOrder(3.0).status(Status.ACTIVE).build();
+        compare("ADD_BOARD_COLUMN", ActionType.ADD_BOARD_COLUMN,
+                () -> Map.of("column", column), () -> Map.of("column", BoardColumnSnapshot.of(column)));
+    }
+
+    private void compare(String name, ActionType actionType,
+                         Supplier<Map<String, ?>> entityMetadata, Supplier<Map<String, ?>> snapshotMetadata) {
+        int before = toMessage(actionType, entityMetadata).length;
+        int after = toMessage(actionType, snapshotMetadata).length;
+        double beforeNs = nsPerMessage(actionType, entityMetadata);
+        double afterNs = nsPerMessage(actionType, snapshotMetadata);
+
+        log.info("{}: entity {} B, {} us | snapshot {} B, {} us", name,
+                before, String.format("%.2f", beforeNs / 1000), after, String.format("%.2f", afterNs / 1000));
+        assertTrue(after <= before, name + ": snapshot không được lớn hơn entity");
+    }
+
+    private byte[] toMessage(ActionType actionType, Supplier<Map<String, ?>> metadata) {
+        ActivityEvent event = ActivityEvent.builder()
+                .projectId(project.getProjectId())
+                .actorId(id())
+                .actorName("Nguyễn Văn A")
+                .actorEmail("nguyen.van.a@example.com")
+                .actionType(actionType)
+                .description("Đã tạo")
+                .targetId(id())
+                .targetName("Đang thực hiện")
+                .metadata(metadata.get())
+                .createdAt(NOW)
+                .build();
+        return converter.toMessage(event, new MessageProperties()).getBody();
+    }
+
+    // Lượt đầu để JIT khởi động, chỉ đo lượt thứ hai
+    private double nsPerMessage(ActionType actionType, Supplier<Map<String, ?>> metadata) {
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += toMessage(actionType, metadata).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += toMessage(actionType, metadata).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink > 0);
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static String id() {
+        return UUID.randomUUID().toString();
+    }
+}
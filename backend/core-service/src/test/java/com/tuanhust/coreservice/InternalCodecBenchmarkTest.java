@@ -0,0 +1,191 @@
+package com.tuanhust.coreservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tuanhust.coreservice.entity.enums.Priority;
+import com.tuanhust.coreservice.entity.enums.Role;
+import com.tuanhust.coreservice.entity.enums.Status;
+import com.tuanhust.coreservice.response.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * So sánh kích thước payload và CPU giải mã JSON với CBOR cho các response của /internal/**
+ * trên đồ thị dự án/task cỡ thực tế (UUID, tên tiếng Việt, bình luận dài).
+ * <p>
+ * Không chạy trong build mặc định: {@code mvn test -Pbenchmark [-Dbenchmark.iterations=20000]}.
+ */
+@Tag("benchmark")
+class InternalCodecBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(InternalCodecBenchmarkTest.class);
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5_000);
+    private static final Instant NOW = Instant.parse("2025-06-01T08:00:00Z");
+    private static final String[] WORDS = {
+            "cập", "nhật", "giao", "diện", "đăng", "nhập", "kiểm", "thử", "triển", "khai", "báo", "cáo",
+            "dữ", "liệu", "người", "dùng", "thanh", "toán", "tối", "ưu", "truy", "vấn", "lỗi", "hiệu", "năng"
+    };
+
+    // Cùng cấu hình với Jackson2ObjectMapperBuilder của Spring Boot (ngày tháng dạng ISO)
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final Random random = new Random(42);
+
+    @Test
+    void projectDetail() throws Exception {
+        compare("ProjectDetailResponse (60 members)", project(8, 24, 60), ProjectDetailResponse.class);
+    }
+
+    @Test
+    void taskDetail() throws Exception {
+        compare("TaskDetailResponse (40 comments)", task(40, 15), TaskDetailResponse.class);
+    }
+
+    @Test
+    void users() throws Exception {
+        List<Map<String, Object>> users = IntStream.range(0, 60)
+                .mapToObj(i -> Map.<String, Object>of(
+                        "userId", id(), "email", "user" + i + "@example.com",
+                        "fullName", words(3), "roles", List.of("USER")))
+                .toList();
+        compare("/internal/users (60 users)", users, List.class);
+    }
+
+    private <T> void compare(String name, Object value, Class<T> type) throws Exception {
+        byte[] jsonBytes = json.writeValueAsBytes(value);
+        byte[] cborBytes = cbor.writeValueAsBytes(value);
+        assertEquals(json.readTree(jsonBytes), json.valueToTree(cbor.readValue(cborBytes, type)));
+
+        // JSON->Map là cách ai-service đọc response trước đây
+        Class<?> untyped = type == List.class ? List.class : Map.class;
+        double jsonToMap = nsPerDecode(() -> json.readValue(jsonBytes, untyped));
+        double jsonTyped = nsPerDecode(() -> json.readValue(jsonBytes, type));
+        double cborTyped = nsPerDecode(() -> cbor.readValue(cborBytes, type));
+
+        log.info("{}: JSON {} B, CBOR {} B ({}%) | decode JSON->Map {} us, JSON->typed {} us, CBOR->typed {} us",
+                name, jsonBytes.length, cborBytes.length, 100 * cborBytes.length / jsonBytes.length,
+                String.format("%.1f", jsonToMap / 1000), String.format("%.1f", jsonTyped / 1000),
+                String.format("%.1f", cborTyped / 1000));
+        assertTrue(cborBytes.length < jsonBytes.length, name + ": CBOR phải nhỏ hơn JSON");
+    }
+
+    // Lượt đầu để JIT khởi động, chỉ đo lượt thứ hai
+    private double nsPerDecode(Decode decode) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += decode.run().hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += decode.run().hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink != 1);
+        return (double) elapsed / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Decode {
+        Object run() throws Exception;
+    }
+
+    private ProjectDetailResponse project(int columns, int labels, int members) {
+        String projectId = id();
+        List<ProjectMemberResponse> memberList = IntStream.range(0, members)
+                .mapToObj(i -> ProjectMemberResponse.builder()
+                        .userId(id())
+                        .fullName(words(3))
+                        .email("member" + i + "@example.com")
+                        .roleInProject(i == 0 ? Role.OWNER : Role.values()[1 + i % (Role.values().length - 1)])
+                        .joinAt(NOW.minus(i, ChronoUnit.DAYS))
+                        .projectId(projectId)
+                        .build())
+                .toList();
+        return ProjectDetailResponse.builder()
+                .projectId(projectId)
+                .name("Dự án " + words(4))
+                .description(words(60))
+                .createdAt(NOW.minus(200, ChronoUnit.DAYS))
+                .updatedAt(NOW)
+                .dueAt(NOW.plus(90, ChronoUnit.DAYS))
+                .status(Status.ACTIVE)
+                .creator(memberList.getFirst())
+                .labels(IntStream.range(0, labels)
+                        .mapToObj(i -> LabelResponse.builder()
+                                .labelId(id()).name(words(2)).color("#%06x".formatted(random.nextInt(0xFFFFFF)))
+                                .projectId(projectId).build())
+                        .toList())
+                .boardColumns(IntStream.range(0, columns)
+                        .mapToObj(i -> BoardColumnResponse.builder()
+                                .boardColumnId(id()).name(words(2)).sortOrder((double) i)
+                                .status(Status.ACTIVE).projectId(projectId).build())
+                        .toList())
+                .members(memberList)
+                .build();
+    }
+
+    private TaskDetailResponse task(int comments, int checkLists) {
+        String taskId = id();
+        return TaskDetailResponse.builder()
+                .taskId(taskId)
+                .title(words(8))
+                .description(words(250))
+                .sortOrder(17.5)
+                .status(Status.ACTIVE)
+                .priority(Priority.HIGH)
+                .completed(false)
+                .createdAt(NOW.minus(30, ChronoUnit.DAYS))
+                .updatedAt(NOW)
+                .dueAt(NOW.plus(7, ChronoUnit.DAYS))
+                .projectId(id())
+                .boardColumnId(id())
+                .creatorId(id())
+                .assigneeIds(List.of(id(), id(), id()))
+                .labelIds(List.of(id(), id(), id(), id()))
+                .comments(IntStream.range(0, comments)
+                        .mapToObj(i -> CommentResponse.builder()
+                                .commentId(id()).body(words(10 + random.nextInt(60))).creatorId(id()).taskId(taskId)
+                                .createdAt(NOW.minus(i, ChronoUnit.HOURS)).updatedAt(NOW.minus(i, ChronoUnit.HOURS))
+                                .mentionIds(List.of(id(), id()))
+                                .build())
+                        .toList())
+                .checkLists(IntStream.range(0, checkLists)
+                        .mapToObj(i -> CheckListResponse.builder()
+                                .checkListId(id()).body(words(6)).taskId(taskId).creatorId(id()).done(i % 3 == 0)
+                                .createdAt(NOW.minus(i, ChronoUnit.DAYS)).updatedAt(NOW)
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private String id() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private String words(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
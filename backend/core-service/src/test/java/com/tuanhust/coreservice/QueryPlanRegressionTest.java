@@ -0,0 +1,343 @@
+package com.tuanhust.coreservice;
+
+import com.tuanhust.coreservice.entity.enums.Priority;
+import com.tuanhust.coreservice.repository.ArchiveRetentionRepository;
+import com.tuanhust.coreservice.repository.BoardColumnRepository;
+import com.tuanhust.coreservice.repository.CommentRepository;
+import com.tuanhust.coreservice.repository.ProjectMemberRepository;
+import com.tuanhust.coreservice.repository.ProjectRepository;
+import com.tuanhust.coreservice.repository.TaskAssigneeRepository;
+import com.tuanhust.coreservice.repository.TaskReminderRepository;
+import com.tuanhust.coreservice.repository.TaskRepository;
+import com.tuanhust.coreservice.request.TaskFilterRequest;
+import com.tuanhust.coreservice.support.PreparedStatementRecorder;
+import com.tuanhust.coreservice.support.QueryPlan;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chạy {@code EXPLAIN (ANALYZE, BUFFERS)} cho các truy vấn repository trên dataset lớn sinh ra từ
+ * {@code queryplan/core-dataset.sql} với schema thật trong {@code init.sql}. Test fail khi một truy vấn
+ * chuyển sang seq scan ngoài danh sách cho phép hoặc vượt ngân sách thời gian.
+ * <p>
+ * Truy vấn JPQL/derived/Criteria được gọi qua repository thật; câu SQL Hibernate sinh ra cùng tham số đã bind
+ * được {@link PreparedStatementRecorder} ghi lại rồi chạy lại dưới EXPLAIN, nên đổi query hay đổi cách Hibernate
+ * dịch đều được kiểm tra. Native query lấy nguyên văn từ {@code @Query}.
+ * <p>
+ * Không chạy trong build mặc định: {@code mvn test -Pquery-plan [-Dqueryplan.tasks=2000000]}.
+ */
+@Tag("query-plan")
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PreparedStatementRecorder.class)
+class QueryPlanRegressionTest {
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanRegressionTest.class);
+
+    private static final int TASKS = Integer.getInteger("queryplan.tasks", 2_000_000);
+    private static final int PROJECTS = Math.max(TASKS / 400, 100);
+    private static final int USERS = PROJECTS * 2;
+    private static final double DEFAULT_BUDGET_MS = Double.parseDouble(
+            System.getProperty("queryplan.budget-ms", "200"));
+    private static final Path INIT_SQL = Path.of(System.getProperty("queryplan.init-sql", "../../init.sql"));
+
+    private static final String HOT_PROJECT = "p0";
+    private static final String TYPICAL_PROJECT = "p" + PROJECTS / 50;
+    private static final Map<String, Object> FIXTURES = new HashMap<>();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCommand("postgres", "-c", "shared_buffers=256MB", "-c", "work_mem=16MB");
+
+    @SpringBootConfiguration
+    @AutoConfigurationPackage
+    static class TestConfig {
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private BoardColumnRepository boardColumnRepository;
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    // Schema và dataset phải có trước khi context Spring khởi tạo EntityManagerFactory
+    @BeforeAll
+    static void loadDataset() throws Exception {
+        String schema = Files.readString(INIT_SQL, StandardCharsets.UTF_8);
+        schema = schema.substring(schema.indexOf("\\c core_db") + "\\c core_db".length());
+        String dataset = new String(QueryPlanRegressionTest.class
+                .getResourceAsStream("/queryplan/core-dataset.sql").readAllBytes(), StandardCharsets.UTF_8)
+                .replace("${projects}", String.valueOf(PROJECTS))
+                .replace("${users}", String.valueOf(USERS))
+                .replace("${tasks}", String.valueOf(TASKS));
+
+        long start = System.currentTimeMillis();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute(schema);
+            statement.execute(dataset);
+            FIXTURES.put("archivedTaskId", single(statement,
+                    "select task_id from tasks where project_id='" + HOT_PROJECT + "' and status='ARCHIVED' limit 1"));
+            FIXTURES.put("archivedColumnId", single(statement,
+                    "select board_column_id from board_columns where project_id='" + HOT_PROJECT
+                            + "' and status='ARCHIVED' limit 1"));
+            FIXTURES.put("taskId", single(statement,
+                    "select task_id from tasks where project_id='" + TYPICAL_PROJECT
+                            + "' and status='ACTIVE' limit 1"));
+            FIXTURES.put("memberId", single(statement,
+                    "select member_id from project_members where project_id='" + HOT_PROJECT
+                            + "' and role='MEMBER' limit 1"));
+        }
+        log.info("Loaded {} tasks across {} projects in {} ms", TASKS, PROJECTS,
+                System.currentTimeMillis() - start);
+    }
+
+    static Stream<PlanCase> repositoryQueries() {
+        return Stream.of(
+                // TaskRepository
+                PlanCase.ofCall("TaskRepository.getMaxSortOrder", t -> t.taskRepository
+                        .getMaxSortOrder(HOT_PROJECT, HOT_PROJECT.replace("p", "c") + "_0")),
+                PlanCase.ofCall("TaskRepository.findTaskByProjectIdAndTaskId", t -> t.taskRepository
+                        .findTaskByProjectIdAndTaskId(TYPICAL_PROJECT, fixture("taskId"))),
+                PlanCase.ofCall("TaskRepository.findDetailByProjectIdAndTaskId", t -> t.taskRepository
+                        .findDetailByProjectIdAndTaskId(TYPICAL_PROJECT, fixture("taskId"))),
+                PlanCase.of("TaskRepository.findArchiveTaskByProjectIdAndTaskId",
+                        nativeQuery(TaskRepository.class, "findArchiveTaskByProjectIdAndTaskId"),
+                        Map.of("projectId", HOT_PROJECT, "taskId", "@archivedTaskId")),
+                PlanCase.ofCall("TaskRepository.findAllByAssigneeId", t -> t.taskRepository
+                        .findAllByAssigneeId(fixture("memberId"))),
+                PlanCase.ofCall("TaskRepository.findTasksDueBetween", t -> t.taskRepository
+                                .findTasksDueBetween(today(), today().plus(1, ChronoUnit.DAYS)))
+                        .allowSeqScan("projects"),
+                PlanCase.ofCall("TaskRepository.findCalendarTasks", t -> t.taskRepository
+                        .findCalendarTasks(fixture("memberId"), today().minus(7, ChronoUnit.DAYS),
+                                today().plus(35, ChronoUnit.DAYS), false)),
+                PlanCase.ofCall("TaskRepository.countByBoardColumnForProjects", t -> t.taskRepository
+                        .countByBoardColumnForProjects(List.of(TYPICAL_PROJECT), Instant.now(),
+                                Instant.now().plus(7, ChronoUnit.DAYS))),
+                PlanCase.of("TaskReminderRepository.findClaimable",
+                        nativeQuery(TaskReminderRepository.class, "findClaimable"),
+                        Map.of("horizon", OffsetDateTime.now().plusMinutes(10), "now", OffsetDateTime.now(),
+                                "limit", 500)),
+                PlanCase.of("ArchiveRetentionRepository.findExpiredColdTasks",
+                        nativeQuery(ArchiveRetentionRepository.class, "findExpiredColdTasks"),
+                        Map.of("cutoff", OffsetDateTime.now().minusDays(365), "batchSize", 200)),
+                PlanCase.ofCall("TaskRepository.getAllTaskByProject", t -> t.taskRepository
+                        .getAllTaskByProject(TYPICAL_PROJECT)),
+                PlanCase.of("TaskRepository.findBoardWindow",
+                        nativeQuery(TaskRepository.class, "findBoardWindow"),
+                        Map.of("projectId", HOT_PROJECT, "perColumn", 51)),
+                PlanCase.ofCall("TaskRepository.findColumnTaskIdsAfter", t -> t.taskRepository
+                        .findColumnTaskIdsAfter(HOT_PROJECT.replace("p", "c") + "_0", 1000.0,
+                                PageRequest.of(0, 51))),
+                PlanCase.ofCall("TaskRepository.findTaskIdsByFilter (priority, due range)", t -> t.taskRepository
+                        .findTaskIdsByFilter(HOT_PROJECT, TaskFilterRequest.builder()
+                                .priorities(List.of(Priority.HIGH, Priority.MEDIUM))
+                                .dueFrom(today())
+                                .dueTo(today().plus(14, ChronoUnit.DAYS))
+                                .sort("dueAt")
+                                .build(), 500)),
+                PlanCase.ofCall("TaskRepository.findTaskIdsByFilter (label, assignee)", t -> t.taskRepository
+                        .findTaskIdsByFilter(HOT_PROJECT, TaskFilterRequest.builder()
+                                .labelIds(List.of(HOT_PROJECT.replace("p", "l") + "_0"))
+                                .assigneeIds(List.of(fixture("memberId")))
+                                .build(), 500)),
+                PlanCase.of("CommentRepository.findLatestComments",
+                        nativeQuery(CommentRepository.class, "findLatestComments"),
+                        Map.of("taskId", "@taskId", "limit", 6)),
+                PlanCase.of("CommentRepository.findCommentIdsBefore",
+                        nativeQuery(CommentRepository.class, "findCommentIdsBefore"),
+                        Map.of("taskId", "@taskId", "createdAt", OffsetDateTime.now(), "commentId", "cm0",
+                                "limit", 21)),
+                // Câu thứ hai: fetch comment cùng mentions theo trang id vừa lấy
+                PlanCase.ofCall("CommentRepository.findWithMentionsByCommentIdIn", t -> t.commentRepository
+                                .findWithMentionsByCommentIdIn(t.commentRepository.findCommentIdsBefore(
+                                        fixture("taskId"), Instant.now(), "cm0", 21)))
+                        .statement(1),
+                // Derived delete: câu select nạp các dòng cần xóa; transaction của test rollback
+                PlanCase.ofCall("TaskAssigneeRepository.deleteAllByAssigneeIdAndTaskProjectId",
+                        t -> t.taskAssigneeRepository.deleteAllByAssigneeIdAndTaskProjectId(
+                                fixture("memberId"), HOT_PROJECT)),
+
+                // ProjectRepository
+                PlanCase.ofCall("ProjectRepository.findAllByUserId", t -> t.projectRepository
+                        .findAllByUserId(PageRequest.of(0, 20), fixture("memberId"))),
+                PlanCase.ofCall("ProjectRepository.findDetailById", t -> t.projectRepository
+                        .findDetailById(HOT_PROJECT)),
+                PlanCase.of("ProjectRepository.findArchivedByProjectId",
+                        nativeQuery(ProjectRepository.class, "findArchivedByProjectId") + " limit 20",
+                        Map.of("projectId", HOT_PROJECT)),
+                PlanCase.of("ProjectRepository.findArchivedByProjectId (count)",
+                        countQuery(ProjectRepository.class, "findArchivedByProjectId"),
+                        Map.of("projectId", HOT_PROJECT)),
+                PlanCase.of("ProjectRepository.findArchivedProjectsByOwnerId",
+                        nativeQuery(ProjectRepository.class, "findArchivedProjectsByOwnerId"),
+                        Map.of("userId", "u49")),
+
+                // BoardColumnRepository
+                PlanCase.ofCall("BoardColumnRepository.getMaxSortOrderFromProject", t -> t.boardColumnRepository
+                        .getMaxSortOrderFromProject(HOT_PROJECT)),
+                PlanCase.of("BoardColumnRepository.findArchivedByProjectIdAndBoardColumnId",
+                        nativeQuery(BoardColumnRepository.class, "findArchivedByProjectIdAndBoardColumnId"),
+                        Map.of("projectId", HOT_PROJECT, "columnId", "@archivedColumnId")),
+
+                // ProjectMemberRepository
+                PlanCase.ofCall("ProjectMemberRepository.getRole", t -> t.projectMemberRepository
+                        .getRole(HOT_PROJECT, fixture("memberId"))),
+                PlanCase.ofCall("ProjectMemberRepository.countByProjectId", t -> t.projectMemberRepository
+                        .countByProjectId(HOT_PROJECT))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void planStaysWithinBudget(PlanCase planCase) throws Exception {
+        PreparedStatementRecorder.Recorded recorded = planCase.call() == null ? null : record(planCase);
+        String sql = recorded == null ? planCase.sql() : recorded.sql();
+        // Cùng connection với Hibernate: câu có khóa (for no key update) không bị chặn bởi chính transaction của test
+        QueryPlan plan = entityManager.unwrap(Session.class).doReturningWork(connection -> recorded == null
+                ? QueryPlan.explain(connection, sql, planCase.resolvedParams())
+                : QueryPlan.explain(connection, sql, recorded::bind));
+        Set<String> seqScans = new HashSet<>(plan.seqScannedRelations());
+        log.info("{}: {} ms, {} shared blocks, seq scans {}", planCase.name(), plan.executionTimeMs(),
+                plan.sharedBlocks(), seqScans);
+
+        seqScans.removeAll(planCase.allowedSeqScans());
+        assertTrue(seqScans.isEmpty(), planCase.name() + " switched to a sequential scan on " + seqScans
+                + "\n" + sql + "\n" + plan.plan().toPrettyString());
+        assertTrue(plan.executionTimeMs() <= planCase.budgetMs(),
+                planCase.name() + " took " + plan.executionTimeMs() + " ms, budget " + planCase.budgetMs() + " ms");
+    }
+
+    private PreparedStatementRecorder.Recorded record(PlanCase planCase) throws Exception {
+        PreparedStatementRecorder.reset();
+        planCase.call().run(this);
+        List<PreparedStatementRecorder.Recorded> statements = PreparedStatementRecorder.statements();
+        assertTrue(statements.size() > planCase.statement(),
+                planCase.name() + " executed only " + statements.size() + " statements");
+        return statements.get(planCase.statement());
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static String fixture(String name) {
+        return (String) FIXTURES.get(name);
+    }
+
+    private static Instant today() {
+        return Instant.now().truncatedTo(ChronoUnit.DAYS);
+    }
+
+    private static String single(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private static Query queryAnnotation(Class<?> repository, String method) {
+        return Arrays.stream(repository.getMethods())
+                .filter(m -> m.getName().equals(method))
+                .map(m -> m.getAnnotation(Query.class))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(repository.getSimpleName() + "." + method));
+    }
+
+    private static String nativeQuery(Class<?> repository, String method) {
+        return queryAnnotation(repository, method).value().strip();
+    }
+
+    private static String countQuery(Class<?> repository, String method) {
+        return queryAnnotation(repository, method).countQuery().strip();
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(QueryPlanRegressionTest test) throws Exception;
+    }
+
+    // sql/params cho native query; call cho truy vấn Hibernate sinh SQL, EXPLAIN câu thứ statement mà nó chạy
+    record PlanCase(String name, String sql, Map<String, Object> params, RepositoryCall call, int statement,
+                    Set<String> allowedSeqScans, double budgetMs) {
+        static PlanCase of(String name, String sql, Map<String, Object> params) {
+            return new PlanCase(name, sql, params, null, 0, Set.of(), DEFAULT_BUDGET_MS);
+        }
+
+        static PlanCase ofCall(String name, RepositoryCall call) {
+            return new PlanCase(name, null, Map.of(), call, 0, Set.of(), DEFAULT_BUDGET_MS);
+        }
+
+        PlanCase statement(int statement) {
+            return new PlanCase(name, sql, params, call, statement, allowedSeqScans, budgetMs);
+        }
+
+        PlanCase allowSeqScan(String... relations) {
+            return new PlanCase(name, sql, params, call, statement, Set.of(relations), budgetMs);
+        }
+
+        PlanCase budget(double budgetMs) {
+            return new PlanCase(name, sql, params, call, statement, allowedSeqScans, budgetMs);
+        }
+
+        Map<String, Object> resolvedParams() {
+            Map<String, Object> resolved = new HashMap<>();
+            params.forEach((key, value) -> resolved.put(key,
+                    value instanceof String s && s.startsWith("@") ? FIXTURES.get(s.substring(1)) : value));
+            return resolved;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.tuanhust.coreservice;
+
+import com.tuanhust.coreservice.client.AuthServiceClient;
+import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.dto.FieldSelection;
+import com.tuanhust.coreservice.entity.*;
+import com.tuanhust.coreservice.entity.enums.Priority;
+import com.tuanhust.coreservice.entity.enums.Status;
+import com.tuanhust.coreservice.repository.TaskRepository;
+import com.tuanhust.coreservice.request.TaskFilterRequest;
+import com.tuanhust.coreservice.response.BoardColumnTasksResponse;
+import com.tuanhust.coreservice.response.CalendarDayResponse;
+import com.tuanhust.coreservice.response.CommentPageResponse;
+import com.tuanhust.coreservice.response.CommentResponse;
+import com.tuanhust.coreservice.response.TaskDetailResponse;
+import com.tuanhust.coreservice.response.TaskResponse;
+import com.tuanhust.coreservice.service.TaskReminderScheduler;
+import com.tuanhust.coreservice.service.TaskService;
+import com.tuanhust.coreservice.service.impl.TaskServiceImpl;
+import com.tuanhust.coreservice.support.JdbcRowCounter;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.tuanhust.coreservice.support.SqlStatementCounter.assertMaxStatements;
+import static com.tuanhust.coreservice.support.SqlStatementCounter.assertMaxStatementsAndRows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Khoá số câu SQL của các service method đọc Task để phát hiện N+1 khi fetch plan thay đổi.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.tuanhust.coreservice.support.SqlStatementCounter"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TaskServiceImpl.class, JdbcRowCounter.class})
+class TaskServiceQueryCountTest {
+    private static final int TASKS = 5;
+    private static final String OWNER_ID = "owner-id";
+    private static final String MEMBER_ID = "member-id";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("citext.sql");
+
+    @SpringBootConfiguration
+    @AutoConfigurationPackage
+    @EnableJpaAuditing
+    static class TestConfig {
+    }
+
+    @MockitoBean
+    private AuthServiceClient authServiceClient;
+    @MockitoBean
+    private TaskReminderScheduler taskReminderScheduler;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private String projectId;
+    private String columnId;
+    private final List<String> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Project project = entityManager.persist(Project.builder()
+                .name("Project")
+                .creatorId(OWNER_ID)
+                .status(Status.ACTIVE)
+                .build());
+        projectId = project.getProjectId();
+        BoardColumn column = entityManager.persist(BoardColumn.builder()
+                .name("Todo")
+                .sortOrder(1.0)
+                .status(Status.ACTIVE)
+                .project(project)
+                .build());
+        columnId = column.getBoardColumnId();
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            labels.add(entityManager.persist(Label.builder()
+                    .name("label-" + i)
+                    .color("#000000")
+                    .project(project)
+                    .build()));
+        }
+
+        for (int i = 0; i < TASKS; i++) {
+            Task task = Task.builder()
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .status(Status.ACTIVE)
+                    .priority(Priority.MEDIUM)
+                    .completed(false)
+                    .dueAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                    .creatorId(OWNER_ID)
+                    .sortOrder((double) i)
+                    .project(project)
+                    .boardColumn(column)
+                    .build();
+            for (String assigneeId : List.of(OWNER_ID, MEMBER_ID)) {
+                task.getAssignees().add(TaskAssignee.builder().task(task).assigneeId(assigneeId).build());
+            }
+            for (Label label : labels) {
+                task.getTaskLabels().add(TaskLabel.builder().task(task).label(label).build());
+            }
+            for (int c = 0; c < 3; c++) {
+                Comment comment = Comment.builder()
+                        .body("comment " + c)
+                        .creatorId(OWNER_ID)
+                        .task(task)
+                        .commentMentions(new HashSet<>())
+                        .build();
+                comment.getCommentMentions().add(CommentMentions.builder()
+                        .comment(comment).mentionId(MEMBER_ID).build());
+                comment.getCommentMentions().add(CommentMentions.builder()
+                        .comment(comment).mentionId(OWNER_ID).build());
+                task.getComments().add(comment);
+            }
+            for (int c = 0; c < 4; c++) {
+                task.getCheckLists().add(CheckList.builder()
+                        .body("item " + c)
+                        .creatorId(OWNER_ID)
+                        .task(task)
+                        .build());
+            }
+            taskIds.add(entityManager.persist(task).getTaskId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+
+        UserPrincipal principal = UserPrincipal.builder().userId(MEMBER_ID).email("member@gmail.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("getTask: task with assignees, one batch per collection, comments and mentions; no cartesian rows")
+    void getTask_BoundedStatements() {
+        // 2 assignees + 3 labels + 4 checklists + 3 comments + 6 mentions; một graph 3 collection sẽ là 2*3*4 dòng
+        TaskDetailResponse response = assertMaxStatementsAndRows(5, 2 + 3 + 4 + 3 + 6,
+                () -> taskService.getTask(projectId, taskIds.getFirst()));
+
+        assertEquals("Description 0", response.getDescription());
+        assertEquals(2, response.getAssigneeIds().size());
+        assertEquals(3, response.getLabelIds().size());
+        assertEquals(3, response.getComments().size());
+        assertEquals(3L, response.getCommentCount());
+        assertNull(response.getCommentCursor());
+        assertEquals(4, response.getCheckLists().size());
+        response.getComments().forEach(c -> assertEquals(2, c.getMentionIds().size()));
+    }
+
+    @Test
+    @DisplayName("getComments: keyset pages walk the thread newest first, mentions in one statement per page")
+    void getComments_KeysetPages() {
+        String taskId = taskIds.getFirst();
+        List<CommentResponse> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String after = cursor;
+            CommentPageResponse page = assertMaxStatements(3,
+                    () -> taskService.getComments(projectId, taskId, after, 2));
+            seen.addAll(page.getComments());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(3, seen.size());
+        assertEquals(3, seen.stream().map(CommentResponse::getCommentId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(!seen.get(i).getCreatedAt().isAfter(seen.get(i - 1).getCreatedAt()));
+        }
+        seen.forEach(c -> assertEquals(2, c.getMentionIds().size()));
+    }
+
+    @Test
+    @DisplayName("getTaskForProject: statement count does not grow with the number of tasks")
+    void getTaskForProject_BoundedStatements() {
+        List<TaskResponse> responses = assertMaxStatementsAndRows(3, 1 + TASKS * (2 + 3),
+                () -> taskService.getTaskForProject(projectId, FieldSelection.ALL));
+
+        assertEquals(TASKS, responses.size());
+        responses.forEach(r -> {
+            assertEquals(2, r.getAssigneeIds().size());
+            assertEquals(3, r.getLabelIds().size());
+            assertEquals("Project", r.getProjectName());
+        });
+    }
+
+    @Test
+    @DisplayName("card queries leave the TEXT description unloaded, the detail graph selects it with the task")
+    void description_LazyOnCardsFetchedOnDetail() {
+        List<Task> cards = taskRepository.getAllTaskByProject(projectId);
+        cards.forEach(t -> assertFalse(Hibernate.isPropertyInitialized(t, "description")));
+        taskRepository.findAllByAssigneeId(MEMBER_ID)
+                .forEach(t -> assertFalse(Hibernate.isPropertyInitialized(t.getProject(), "description")));
+        entityManager.clear();
+
+        Task detail = assertMaxStatements(1, () -> {
+            Task task = taskRepository.findDetailByProjectIdAndTaskId(projectId, taskIds.getFirst()).orElseThrow();
+            assertEquals("Description 0", task.getDescription());
+            return task;
+        });
+        assertTrue(Hibernate.isPropertyInitialized(detail, "description"));
+    }
+
+    @Test
+    @DisplayName("getMyCalendar: only tasks assigned to the caller come back bucketed per day in one statement")
+    void getMyCalendar_SingleStatement() {
+        // Cùng dự án, cùng hạn nhưng không giao cho người gọi: không được hiện trên lịch
+        entityManager.persist(Task.builder()
+                .title("Unassigned")
+                .status(Status.ACTIVE)
+                .priority(Priority.MEDIUM)
+                .completed(false)
+                .dueAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .creatorId(OWNER_ID)
+                .sortOrder((double) TASKS)
+                .project(entityManager.find(Project.class, projectId))
+                .boardColumn(entityManager.find(BoardColumn.class, columnId))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<CalendarDayResponse> days = assertMaxStatements(1,
+                () -> taskService.getMyCalendar(today.minusDays(1), today.plusDays(1), "UTC", false));
+
+        assertEquals(TASKS, days.stream().mapToInt(d -> d.getTasks().size()).sum());
+        assertTrue(days.stream().flatMap(d -> d.getTasks().stream()).allMatch(t -> taskIds.contains(t.getTaskId())));
+        assertEquals("Project", days.getFirst().getTasks().getFirst().getProjectName());
+    }
+
+    @Test
+    @DisplayName("getTaskForProject: card counters follow comment and checklist writes without loading children")
+    void getTaskForProject_CountersFromTaskRow() {
+        String taskId = taskIds.getFirst();
+        taskService.createComment(projectId, taskId, "new comment");
+        String checkListId = taskService.createCheckList(projectId, taskId, "new item").getCheckListId();
+        taskService.updateCheckList(projectId, taskId, checkListId, null, true);
+        entityManager.flush();
+        entityManager.clear();
+
+        FieldSelection fields = FieldSelection.parse(
+                "taskId,commentCount,checkListCount,checkListDoneCount,attachmentCount", TaskResponse.class);
+        List<TaskResponse> responses = assertMaxStatements(2,
+                () -> taskService.getTaskForProject(projectId, fields));
+
+        TaskResponse card = responses.stream().filter(r -> r.getTaskId().equals(taskId)).findFirst().orElseThrow();
+        assertEquals(1, card.getCommentCount());
+        assertEquals(1, card.getCheckListCount());
+        assertEquals(1, card.getCheckListDoneCount());
+        assertEquals(0, card.getAttachmentCount());
+    }
+
+    @Test
+    @DisplayName("getTaskForProject: fields without associations never loads assignees, labels or project")
+    void getTaskForProject_SparseFieldsSkipAssociations() {
+        FieldSelection fields = FieldSelection.parse("taskId,title,boardColumnId,sortOrder", TaskResponse.class);
+        List<TaskResponse> responses = assertMaxStatements(2,
+                () -> taskService.getTaskForProject(projectId, fields));
+
+        assertEquals(TASKS, responses.size());
+        responses.forEach(r -> {
+            assertNull(r.getAssigneeIds());
+            assertNull(r.getLabelIds());
+            assertNull(r.getProjectName());
+        });
+    }
+
+    @Test
+    @DisplayName("getBoard: one windowed statement for all columns, bounded by limit")
+    void getBoard_WindowedPerColumn() {
+        List<BoardColumnTasksResponse> board = assertMaxStatementsAndRows(4, 1 + 3 + 3 * (2 + 3),
+                () -> taskService.getBoard(projectId, 2, FieldSelection.ALL));
+
+        assertEquals(1, board.size());
+        BoardColumnTasksResponse column = board.getFirst();
+        assertEquals(columnId, column.getBoardColumnId());
+        assertEquals(taskIds.subList(0, 2), column.getTasks().stream().map(TaskResponse::getTaskId).toList());
+        assertNotNull(column.getNextCursor());
+        column.getTasks().forEach(r -> assertEquals(2, r.getAssigneeIds().size()));
+    }
+
+    @Test
+    @DisplayName("getBoardColumnTasks: following cursors returns every task of the column once, in order")
+    void getBoardColumnTasks_KeysetPages() {
+        List<String> seen = new ArrayList<>();
+        String cursor = taskService.getBoard(projectId, 2, FieldSelection.ALL).getFirst().getNextCursor();
+        seen.addAll(taskIds.subList(0, 2));
+        while (cursor != null) {
+            String after = cursor;
+            BoardColumnTasksResponse page = assertMaxStatements(4,
+                    () -> taskService.getBoardColumnTasks(projectId, columnId, after, 2, FieldSelection.ALL));
+            page.getTasks().forEach(r -> seen.add(r.getTaskId()));
+            cursor = page.getNextCursor();
+        }
+
+        assertEquals(taskIds, seen);
+    }
+
+    @Test
+    @DisplayName("filterTasks: matching ids are filtered, sorted and limited in SQL before cards load")
+    void filterTasks_BoundedStatements() {
+        TaskFilterRequest filter = TaskFilterRequest.builder()
+                .assigneeIds(List.of(MEMBER_ID))
+                .labelIds(List.of("other-label"))
+                .priorities(List.of(Priority.MEDIUM))
+                .completed(false)
+                .sort("sortOrder")
+                .direction("desc")
+                .limit(3)
+                .build();
+        assertTrue(taskService.filterTasks(projectId, filter, FieldSelection.ALL).isEmpty());
+
+        filter.setLabelIds(null);
+        List<TaskResponse> responses = assertMaxStatementsAndRows(4, 1 + 3 * (1 + 2 + 3),
+                () -> taskService.filterTasks(projectId, filter, FieldSelection.ALL));
+
+        assertEquals(taskIds.reversed().subList(0, 3), responses.stream().map(TaskResponse::getTaskId).toList());
+        responses.forEach(r -> assertEquals(3, r.getLabelIds().size()));
+    }
+
+    @Test
+    @DisplayName("streamTaskSnapshots: ids, tasks and one batch per collection, without comments")
+    void streamTaskSnapshots_BoundedStatements() {
+        List<TaskDetailResponse> snapshots = new ArrayList<>();
+        assertMaxStatements(5, () -> {
+            taskService.streamTaskSnapshots(projectId, null, snapshots::add);
+            return snapshots;
+        });
+
+        assertEquals(taskIds.stream().sorted().toList(), snapshots.stream().map(TaskDetailResponse::getTaskId).toList());
+        snapshots.forEach(s -> {
+            assertEquals(2, s.getAssigneeIds().size());
+            assertEquals(3, s.getLabelIds().size());
+            assertEquals(4, s.getCheckLists().size());
+            assertNull(s.getComments());
+        });
+    }
+
+    @Test
+    @DisplayName("streamTaskSnapshots: requested ids outside the project are skipped")
+    void streamTaskSnapshots_OnlyRequestedIdsOfProject() {
+        List<TaskDetailResponse> snapshots = new ArrayList<>();
+        taskService.streamTaskSnapshots(projectId, List.of(taskIds.getFirst(), "other-task"), snapshots::add);
+
+        assertEquals(List.of(taskIds.getFirst()), snapshots.stream().map(TaskDetailResponse::getTaskId).toList());
+    }
+
+    @Test
+    @DisplayName("getMyTasks: tasks and project names load in a single statement")
+    void getMyTasks_BoundedStatements() {
+        List<TaskResponse> responses = assertMaxStatementsAndRows(1, TASKS * 2,
+                () -> taskService.getMyTasks(FieldSelection.ALL));
+
+        assertEquals(TASKS, responses.size());
+        responses.forEach(r -> assertEquals("Project", r.getProjectName()));
+    }
+
+    @Test
+    @DisplayName("findTasksDueBetween: reminder plan loads assignees and project with the tasks")
+    void findTasksDueBetween_BoundedStatements() {
+        int assignees = assertMaxStatements(1, () -> taskRepository
+                .findTasksDueBetween(Instant.now(), Instant.now().plus(1, ChronoUnit.DAYS))
+                .stream()
+                .peek(t -> assertTrue(t.getProject().getName().startsWith("Project")))
+                .mapToInt(t -> t.getAssignees().size())
+                .sum());
+
+        assertEquals(TASKS * 2, assignees);
+    }
+}
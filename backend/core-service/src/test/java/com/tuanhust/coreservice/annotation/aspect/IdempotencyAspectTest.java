@@ -0,0 +1,118 @@
+package com.tuanhust.coreservice.annotation.aspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuanhust.coreservice.annotation.Idempotent;
+import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.request.CommentRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class IdempotencyAspectTest {
+    private static final String URI = "/project/p1/task/t1/comment";
+    private static final String KEY = "idempotency:u1:POST:" + URI + ":key-1";
+
+    static class CommentEndpoint {
+        int calls;
+
+        @Idempotent
+        public ResponseEntity<Map<String, String>> createComment(String taskId, CommentRequest request) {
+            calls++;
+            return ResponseEntity.ok(Map.of("commentId", "c" + calls, "body", request.getBody()));
+        }
+    }
+
+    // Đóng vai Redis: setIfAbsent/get/set trên một map
+    private final Map<String, String> store = new HashMap<>();
+    private final CommentEndpoint target = new CommentEndpoint();
+    private CommentEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(i -> store.putIfAbsent(i.getArgument(0), i.getArgument(1)) == null);
+        when(values.get(anyString())).thenAnswer(i -> store.get(i.<String>getArgument(0)));
+        doAnswer(i -> store.put(i.getArgument(0), i.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+
+        IdempotencyAspect aspect = new IdempotencyAspect(redis, new ObjectMapper());
+        ReflectionTestUtils.setField(aspect, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(aspect, "inFlightSeconds", 30L);
+        ReflectionTestUtils.setField(aspect, "waitSeconds", 1L);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        endpoint = factory.getProxy();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", URI);
+        request.addHeader(IdempotencyAspect.HEADER, "key-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                UserPrincipal.builder().userId("u1").build(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sameKeyAndBodyReplaysFirstResponse() {
+        endpoint.createComment("t1", new CommentRequest("Xin chào"));
+        ResponseEntity<?> replayed = endpoint.createComment("t1", new CommentRequest("Xin chào"));
+
+        assertThat(target.calls).isEqualTo(1);
+        assertThat(replayed.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(replayed.getBody().toString()).contains("c1");
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() {
+        endpoint.createComment("t1", new CommentRequest("Xin chào"));
+
+        assertThatThrownBy(() -> endpoint.createComment("t1", new CommentRequest("Tạm biệt")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(target.calls).isEqualTo(1);
+    }
+
+    @Test
+    void differentBodyWhileFirstIsInFlightIsRejectedWithoutWaiting() {
+        store.put(KEY, "IN_FLIGHT:another-request");
+
+        assertThatThrownBy(() -> endpoint.createComment("t1", new CommentRequest("Xin chào")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(target.calls).isZero();
+    }
+}
@@ -0,0 +1,65 @@
+package com.tuanhust.coreservice.annotation.aspect;
+
+import com.tuanhust.coreservice.annotation.UsePool;
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.PoolRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UsePoolAspectTest {
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    static class Job {
+        DataSourcePool current() {
+            return PoolRoutingDataSource.current();
+        }
+
+        @UsePool(DataSourcePool.REPORTING)
+        public DataSourcePool report() {
+            return current();
+        }
+
+        public DataSourcePool background() {
+            return current();
+        }
+
+        @UsePool(DataSourcePool.REPORTING)
+        public void fail() {
+            throw new IllegalStateException();
+        }
+    }
+
+    private final Job job = proxy();
+
+    @AfterEach
+    void tearDown() {
+        PoolRoutingDataSource.bind(null);
+    }
+
+    @Test
+    void methodAnnotationOverridesClassAnnotation() {
+        assertThat(job.report()).isEqualTo(DataSourcePool.REPORTING);
+        assertThat(job.background()).isEqualTo(DataSourcePool.BACKGROUND);
+    }
+
+    @Test
+    void previousPoolIsRestoredAfterCall() {
+        PoolRoutingDataSource.bind(DataSourcePool.OLTP);
+
+        job.report();
+        assertThatThrownBy(job::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(PoolRoutingDataSource.bind(null)).isEqualTo(DataSourcePool.OLTP);
+    }
+
+    private static Job proxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Job());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new UsePoolAspect());
+        return factory.getProxy();
+    }
+}
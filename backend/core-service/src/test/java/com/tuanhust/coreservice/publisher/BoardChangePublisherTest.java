@@ -0,0 +1,81 @@
+package com.tuanhust.coreservice.publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tuanhust.coreservice.dto.BoardDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BoardChangePublisherTest {
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private BoardChangePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new BoardChangePublisher(redis, objectMapper);
+        ReflectionTestUtils.setField(publisher, "coalesceWindowMs", 50L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void burstOfMovesIsCoalescedIntoLastPosition() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            publisher.publishMove(move("t1", i));
+        }
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redis, timeout(1000).times(1)).convertAndSend(eq("board:p1"), payload.capture());
+        Thread.sleep(100);
+        verifyNoMoreInteractions(redis);
+        assertThat(objectMapper.readValue(payload.getValue(), BoardDelta.class).getSortOrder()).isEqualTo(10.0);
+    }
+
+    @Test
+    void pendingMoveIsSentBeforeOtherChangeOfSameTask() throws Exception {
+        publisher.publishMove(move("t1", 3));
+        publisher.publish(BoardDelta.builder()
+                .type(BoardDelta.Type.TASK_REMOVED).projectId("p1").taskId("t1").build());
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redis, times(2)).convertAndSend(eq("board:p1"), payload.capture());
+        List<BoardDelta.Type> types = payload.getAllValues().stream()
+                .map(this::read).map(BoardDelta::getType).toList();
+        assertThat(types).containsExactly(BoardDelta.Type.TASK_MOVED, BoardDelta.Type.TASK_REMOVED);
+
+        Thread.sleep(100);
+        verifyNoMoreInteractions(redis);
+    }
+
+    private BoardDelta move(String taskId, double sortOrder) {
+        return BoardDelta.builder()
+                .type(BoardDelta.Type.TASK_MOVED)
+                .projectId("p1")
+                .taskId(taskId)
+                .boardColumnId("c1")
+                .sortOrder(sortOrder)
+                .build();
+    }
+
+    private BoardDelta read(String json) {
+        try {
+            return objectMapper.readValue(json, BoardDelta.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.tuanhust.coreservice.publisher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tuanhust.coreservice.config.ActivitySnapshotProperties;
+import com.tuanhust.coreservice.dto.TaskSnapshot;
+import com.tuanhust.coreservice.entity.Task;
+import com.tuanhust.coreservice.entity.enums.Priority;
+import com.tuanhust.coreservice.entity.enums.Status;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskSnapshotSelectorTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void onlyConfiguredFieldsOfConfiguredRoutingKeysAreSent() {
+        TaskSnapshotSelector selector = selector(8192, Map.of(
+                "activity.move_task", List.of("boardColumnId", "sortOrder")));
+
+        JsonNode snapshot = selector.select("activity.move_task", task("short"));
+
+        assertThat(objectMapper.convertValue(snapshot, Map.class).keySet())
+                .containsExactlyInAnyOrder("version", "taskId", "boardColumnId", "sortOrder");
+        assertThat(snapshot.get("version").asInt()).isEqualTo(TaskSnapshot.VERSION);
+        assertThat(selector.select("activity.delete_task", task("short"))).isNull();
+    }
+
+    @Test
+    void descriptionIsDroppedWhenSnapshotExceedsLimit() {
+        TaskSnapshotSelector selector = selector(512, Map.of(
+                "activity.update_task", List.of("title", "description", "priority")));
+
+        JsonNode snapshot = selector.select("activity.update_task", task("x".repeat(2000)));
+
+        assertThat(snapshot.has("description")).isFalse();
+        assertThat(snapshot.get("truncated").asBoolean()).isTrue();
+        assertThat(snapshot.get("title").asText()).isEqualTo("Title");
+    }
+
+    @Test
+    void snapshotIsOmittedWhenStillTooLarge() {
+        TaskSnapshotSelector selector = selector(64, Map.of(
+                "activity.update_task", List.of("title", "description")));
+
+        assertThat(selector.select("activity.update_task", task("short"))).isNull();
+    }
+
+    @Test
+    void unknownConfiguredFieldFailsFast() {
+        TaskSnapshotSelector selector = selector(8192, Map.of("activity.create_task", List.of("comments")));
+
+        assertThatThrownBy(selector::validate).isInstanceOf(IllegalStateException.class);
+    }
+
+    private TaskSnapshotSelector selector(int maxBytes, Map<String, List<String>> fields) {
+        return new TaskSnapshotSelector(new ActivitySnapshotProperties(maxBytes, fields), objectMapper);
+    }
+
+    private TaskSnapshot task(String description) {
+        return TaskSnapshot.of(Task.builder()
+                .taskId("0b6f3c2e-3a57-4a53-9d1e-2f0c1d7f6a11")
+                .title("Title")
+                .description(description)
+                .status(Status.ACTIVE)
+                .priority(Priority.HIGH)
+                .completed(false)
+                .sortOrder(3.0)
+                .boardColumnId("c1")
+                .dueAt(Instant.parse("2025-06-01T08:00:00Z"))
+                .build());
+    }
+}
@@ -0,0 +1,63 @@
+package com.tuanhust.coreservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+    private static final long START = 1_700_000_000_000L;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 60, START);
+
+    @Test
+    void entryFiresOnItsTickNotBefore() {
+        wheel.add("a", START + 5_500);
+
+        assertThat(wheel.advance(START + 4_999)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expiredEntryIsReturnedOnNextAdvance() {
+        wheel.add("late", START - 60_000);
+
+        assertThat(wheel.advance(START)).containsExactly("late");
+    }
+
+    @Test
+    void entriesBeyondFirstLevelCascadeDown() {
+        wheel.add("minutes", START + 10 * 60_000 + 250);
+        wheel.add("hours", START + 3 * 3_600_000 + 250);
+
+        assertThat(wheel.advance(START + 10 * 60_000 - 1_000)).isEmpty();
+        assertThat(wheel.advance(START + 10 * 60_000)).containsExactly("minutes");
+        assertThat(wheel.advance(START + 3 * 3_600_000 - 1_000)).isEmpty();
+        assertThat(wheel.advance(START + 3 * 3_600_000)).containsExactly("hours");
+    }
+
+    @Test
+    void everyEntryFiresExactlyOnceWithinOneTick() {
+        Random random = new Random(42);
+        List<Long> expirations = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long expiration = START + random.nextLong(2 * 3_600_000L);
+            expirations.add(expiration);
+            wheel.add(String.valueOf(i), expiration);
+        }
+
+        List<String> fired = new ArrayList<>();
+        for (long now = START; now <= START + 2 * 3_600_000L + 1_000; now += 7_000) {
+            for (String id : wheel.advance(now)) {
+                long expiration = expirations.get(Integer.parseInt(id));
+                assertThat(expiration).isLessThan(now + 1_000);
+                fired.add(id);
+            }
+        }
+        assertThat(fired).hasSize(2_000).doesNotHaveDuplicates();
+    }
+}
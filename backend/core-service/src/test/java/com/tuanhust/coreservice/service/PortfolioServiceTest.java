@@ -0,0 +1,123 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.client.ActivityServiceClient;
+import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.entity.enums.Role;
+import com.tuanhust.coreservice.repository.BoardColumnRepository;
+import com.tuanhust.coreservice.repository.ProjectRepository;
+import com.tuanhust.coreservice.repository.TaskRepository;
+import com.tuanhust.coreservice.response.PaginatedResponse;
+import com.tuanhust.coreservice.response.PortfolioResponse;
+import com.tuanhust.coreservice.response.ProjectSummaryResponse;
+import com.tuanhust.coreservice.response.RecentActivityResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PortfolioServiceTest {
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final BoardColumnRepository boardColumnRepository = mock(BoardColumnRepository.class);
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final ActivityServiceClient activityServiceClient = mock(ActivityServiceClient.class);
+    private PortfolioService portfolioService;
+
+    @BeforeEach
+    void setUp() {
+        portfolioService = new PortfolioService(projectRepository, boardColumnRepository, taskRepository,
+                activityServiceClient);
+        ReflectionTestUtils.setField(portfolioService, "maxProjects", 50);
+        ReflectionTestUtils.setField(portfolioService, "activitySize", 3);
+        ReflectionTestUtils.setField(portfolioService, "budgetMs", 200L);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                UserPrincipal.builder().userId("u1").build(), null, List.of()));
+
+        // Tạo mock projection trước, stub lồng trong thenReturn sẽ lỗi UnfinishedStubbing
+        var projects = List.of(project("p1"), project("p2"));
+        var columns = List.of(column("p1", "c1"), column("p1", "c2"), column("p2", "c3"));
+        var stats = List.of(stats("c1", 4, 1, 2), stats("c3", 2, 0, 1), stats("archived", 9, 9, 0));
+        when(projectRepository.findPortfolioProjects(eq("u1"), any())).thenReturn(projects);
+        when(boardColumnRepository.findPortfolioColumns(List.of("p1", "p2"))).thenReturn(columns);
+        when(taskRepository.countByBoardColumnForProjects(eq(List.of("p1", "p2")), any(), any())).thenReturn(stats);
+    }
+
+    @AfterEach
+    void tearDown() {
+        portfolioService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void countsAreMergedPerColumnAndProject() {
+        when(activityServiceClient.getActivities(anyString(), eq(0), eq(3))).thenReturn(activities());
+
+        PortfolioResponse portfolio = portfolioService.getPortfolio("UTC");
+
+        assertThat(portfolio.isPartial()).isFalse();
+        ProjectSummaryResponse p1 = portfolio.getProjects().getFirst();
+        assertThat(p1.getTaskCount()).isEqualTo(4);
+        assertThat(p1.getOverdueCount()).isEqualTo(1);
+        assertThat(p1.getDueThisWeekCount()).isEqualTo(2);
+        assertThat(p1.getColumns()).extracting("boardColumnId").containsExactly("c1", "c2");
+        assertThat(p1.getRecentActivities()).hasSize(1);
+        assertThat(portfolio.getProjects().get(1).getTaskCount()).isEqualTo(2);
+    }
+
+    @Test
+    void slowActivityServiceYieldsPartialResultWithinBudget() {
+        when(activityServiceClient.getActivities(eq("p1"), anyInt(), anyInt())).thenReturn(activities());
+        when(activityServiceClient.getActivities(eq("p2"), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return activities();
+        });
+
+        long start = System.nanoTime();
+        PortfolioResponse portfolio = portfolioService.getPortfolio("UTC");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(1_000);
+        assertThat(portfolio.isPartial()).isTrue();
+        assertThat(portfolio.getProjects().getFirst().getRecentActivities()).hasSize(1);
+        assertThat(portfolio.getProjects().get(1).getRecentActivities()).isNull();
+        assertThat(portfolio.getProjects().get(1).getTaskCount()).isEqualTo(2);
+    }
+
+    private static PaginatedResponse<RecentActivityResponse> activities() {
+        return PaginatedResponse.<RecentActivityResponse>builder()
+                .content(List.of(RecentActivityResponse.builder().actionType("CREATE_TASK").build()))
+                .build();
+    }
+
+    private static ProjectRepository.PortfolioProjectRow project(String projectId) {
+        ProjectRepository.PortfolioProjectRow row = mock(ProjectRepository.PortfolioProjectRow.class);
+        when(row.getProjectId()).thenReturn(projectId);
+        when(row.getName()).thenReturn("Project " + projectId);
+        when(row.getRole()).thenReturn(Role.MEMBER);
+        return row;
+    }
+
+    private static BoardColumnRepository.PortfolioColumnRow column(String projectId, String columnId) {
+        BoardColumnRepository.PortfolioColumnRow row = mock(BoardColumnRepository.PortfolioColumnRow.class);
+        when(row.getProjectId()).thenReturn(projectId);
+        when(row.getBoardColumnId()).thenReturn(columnId);
+        when(row.getName()).thenReturn("Column " + columnId);
+        return row;
+    }
+
+    private static TaskRepository.ColumnTaskStatsRow stats(String columnId, long tasks, long overdue, long dueThisWeek) {
+        TaskRepository.ColumnTaskStatsRow row = mock(TaskRepository.ColumnTaskStatsRow.class);
+        when(row.getBoardColumnId()).thenReturn(columnId);
+        when(row.getTaskCount()).thenReturn(tasks);
+        when(row.getOverdueCount()).thenReturn(overdue);
+        when(row.getDueThisWeekCount()).thenReturn(dueThisWeek);
+        return row;
+    }
+}
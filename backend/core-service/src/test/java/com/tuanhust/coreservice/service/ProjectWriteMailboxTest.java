@@ -0,0 +1,209 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.config.DataSourcePool;
+import com.tuanhust.coreservice.config.PoolRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProjectWriteMailboxTest {
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private ProjectWriteMailbox mailbox;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(i -> new SimpleTransactionStatus());
+        mailbox = new ProjectWriteMailbox(new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(mailbox, "workerCount", 2);
+        ReflectionTestUtils.setField(mailbox, "batchSize", 16);
+        ReflectionTestUtils.setField(mailbox, "queueCapacity", 100);
+        ReflectionTestUtils.setField(mailbox, "timeoutMs", 5000L);
+        mailbox.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        mailbox.shutdown();
+        MDC.clear();
+        PoolRoutingDataSource.bind(null);
+    }
+
+    @Test
+    void writesOfSameProjectNeverOverlap() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            int value = i;
+            results.add(callers.submit(() -> submit("p1", () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                Thread.sleep(1);
+                active.decrementAndGet();
+                return value;
+            })));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(i);
+        }
+        assertThat(maxActive.get()).isEqualTo(1);
+    }
+
+    @Test
+    void queuedBatchableWritesOfProjectShareOneTransaction() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ProjectWriteMailbox.Command first = block("p1", release);
+        List<ProjectWriteMailbox.Command> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            queued.add(mailbox.enqueue("p1", true, () -> value));
+        }
+        release.countDown();
+
+        first.result().get(5, TimeUnit.SECONDS);
+        for (int i = 0; i < queued.size(); i++) {
+            assertThat(queued.get(i).result().get(5, TimeUnit.SECONDS)).isEqualTo(i);
+        }
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void nonBatchableWritesRunAlone() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        block("p1", release);
+        List<ProjectWriteMailbox.Command> queued = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(mailbox.enqueue("p1", false, () -> "ok"));
+        }
+        release.countDown();
+
+        for (ProjectWriteMailbox.Command command : queued) {
+            assertThat(command.result().get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        }
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void failingWriteInBatchDoesNotFailOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        block("p1", release);
+        ProjectWriteMailbox.Command ok1 = mailbox.enqueue("p1", true, () -> "a");
+        ProjectWriteMailbox.Command failed = mailbox.enqueue("p1", true, () -> {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nhiệm vụ không tồn tại");
+        });
+        ProjectWriteMailbox.Command ok2 = mailbox.enqueue("p1", true, () -> "b");
+        release.countDown();
+
+        assertThat(ok1.result().get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(ok2.result().get(5, TimeUnit.SECONDS)).isEqualTo("b");
+        assertThatThrownBy(() -> failed.result().get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ResponseStatusException.class);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void errorInBatchFailsWholeBatchAndWorkerSurvives() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        block("p1", release);
+        ProjectWriteMailbox.Command ok = mailbox.enqueue("p1", true, () -> "a");
+        ProjectWriteMailbox.Command broken = mailbox.enqueue("p1", true, () -> {
+            throw new StackOverflowError();
+        });
+        release.countDown();
+
+        assertThatThrownBy(() -> ok.result().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> broken.result().get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(callers.submit(() -> submit("p1", () -> "after")).get(5, TimeUnit.SECONDS)).isEqualTo("after");
+    }
+
+    @Test
+    void stuckRunningWriteReleasesCallerAfterSecondTimeout() {
+        ReflectionTestUtils.setField(mailbox, "timeoutMs", 100L);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertThatThrownBy(() -> mailbox.submit("p1", () -> {
+                release.await();
+                return null;
+            }))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                    .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shutdownFailsQueuedWrites() throws Exception {
+        ProjectWriteMailbox.Command running = block("p1", new CountDownLatch(1));
+        ProjectWriteMailbox.Command queued = mailbox.enqueue("p1", false, () -> "never");
+
+        mailbox.shutdown();
+
+        assertThat(running.result()).isDone();
+        assertThatThrownBy(() -> queued.result().get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> mailbox.enqueue("p1", false, () -> "late"))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void workerSeesCallerMdcAndPool() throws Exception {
+        MDC.put("traceId", "t-1");
+        PoolRoutingDataSource.bind(DataSourcePool.REPORTING);
+
+        ProjectWriteMailbox.Command command = mailbox.enqueue("p1", false,
+                () -> MDC.get("traceId") + "/" + PoolRoutingDataSource.current());
+
+        assertThat(command.result().get(5, TimeUnit.SECONDS)).isEqualTo("t-1/REPORTING");
+    }
+
+    @Test
+    void nestedWriteRunsInPlace() throws Exception {
+        Future<Object> result = callers.submit(() -> submit("p1", () -> mailbox.submit("p1", () -> "nested")));
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("nested");
+    }
+
+    // Lệnh chiếm worker của dự án cho tới khi release, trả về khi worker đã thực sự chạy nó
+    private ProjectWriteMailbox.Command block(String projectId, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        ProjectWriteMailbox.Command command = mailbox.enqueue(projectId, true, () -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return command;
+    }
+
+    private Object submit(String projectId, ProjectWriteMailbox.Mutation mutation) throws Exception {
+        try {
+            return mailbox.submit(projectId, mutation);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExecutionException(e);
+        }
+    }
+}
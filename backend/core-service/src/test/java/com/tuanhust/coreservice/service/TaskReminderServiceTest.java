@@ -0,0 +1,80 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.client.AuthServiceClient;
+import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.entity.Project;
+import com.tuanhust.coreservice.entity.Task;
+import com.tuanhust.coreservice.entity.TaskAssignee;
+import com.tuanhust.coreservice.publisher.NotificationPublisher;
+import com.tuanhust.coreservice.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskReminderServiceTest {
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final TaskReminderService taskReminderService = new TaskReminderService(
+            taskRepository, authServiceClient, new NotificationPublisher(rabbitTemplate));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskReminderService, "frontendUrl", "http://localhost:5173");
+        Task task = Task.builder()
+                .taskId("t1")
+                .title("Task")
+                .projectId("p1")
+                .project(Project.builder().projectId("p1").name("Project").build())
+                .dueAt(Instant.now().plus(30, ChronoUnit.MINUTES))
+                .build();
+        task.getAssignees().add(TaskAssignee.builder().task(task).assigneeId("u1").build());
+        task.getAssignees().add(TaskAssignee.builder().task(task).assigneeId("u2").build());
+        when(taskRepository.findDueSoonByTaskIdIn(eq(List.of("t1")), any())).thenReturn(List.of(task));
+        when(authServiceClient.getUsers(any())).thenReturn(List.of(
+                UserPrincipal.builder().userId("u1").email("u1@gmail.com").build(),
+                UserPrincipal.builder().userId("u2").email("u2@gmail.com").build()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void dueSoonMailsAreSentOnlyAfterCommit() {
+        taskReminderService.notifyDueSoon(List.of("t1"), 60);
+        verifyNoInteractions(rabbitTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(rabbitTemplate, times(2)).convertAndSend(anyString(), eq("notification.email"), any(Object.class));
+    }
+
+    @Test
+    void rolledBackReminderSendsNothing() {
+        taskReminderService.notifyDueSoon(List.of("t1"), 60);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
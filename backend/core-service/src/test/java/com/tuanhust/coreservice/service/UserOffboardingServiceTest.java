@@ -0,0 +1,59 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.entity.ProjectMember;
+import com.tuanhust.coreservice.entity.enums.Role;
+import com.tuanhust.coreservice.listener.SecondLevelCacheInvalidationListener;
+import com.tuanhust.coreservice.repository.ProjectMemberRepository;
+import com.tuanhust.coreservice.repository.TaskAssigneeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserOffboardingServiceTest {
+    private static final String USER_ID = "u1";
+
+    private final ProjectMemberRepository projectMemberRepository = mock(ProjectMemberRepository.class);
+    private final TaskAssigneeRepository taskAssigneeRepository = mock(TaskAssigneeRepository.class);
+    private final SecondLevelCacheInvalidationListener cacheInvalidationListener =
+            mock(SecondLevelCacheInvalidationListener.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final UserOffboardingService userOffboardingService = new UserOffboardingService(
+            projectMemberRepository, taskAssigneeRepository, cacheInvalidationListener, stringRedisTemplate);
+
+    @Test
+    void removesNonOwnerMembershipsInBulkAndEvictsCaches() {
+        when(projectMemberRepository.findByMemberId(USER_ID)).thenReturn(List.of(
+                member("p1", Role.MEMBER), member("p2", Role.ADMIN), member("p3", Role.OWNER)));
+        when(taskAssigneeRepository.findTaskIdsByAssigneeIdAndProjectIdIn(USER_ID, List.of("p1", "p2")))
+                .thenReturn(List.of("t1"));
+
+        assertThat(userOffboardingService.offboard(USER_ID)).isEqualTo(2);
+
+        verify(taskAssigneeRepository).deleteByAssigneeIdAndProjectIdIn(USER_ID, List.of("p1", "p2"));
+        verify(projectMemberRepository).deleteByMemberIdAndProjectIdIn(USER_ID, List.of("p1", "p2"));
+        verify(cacheInvalidationListener).invalidateProjects(USER_ID, List.of("p1", "p2"));
+        verify(stringRedisTemplate).delete(List.of(
+                "projectDetail::p1", "roleInCurrentProject::p1:u1",
+                "projectDetail::p2", "roleInCurrentProject::p2:u1",
+                "taskDetail::t1"));
+        verifyNoMoreInteractions(cacheInvalidationListener, stringRedisTemplate);
+    }
+
+    @Test
+    void redeliveredEventIsNoOp() {
+        when(projectMemberRepository.findByMemberId(USER_ID)).thenReturn(List.of());
+
+        assertThat(userOffboardingService.offboard(USER_ID)).isZero();
+
+        verify(projectMemberRepository, never()).deleteByMemberIdAndProjectIdIn(any(), any());
+        verifyNoInteractions(taskAssigneeRepository, cacheInvalidationListener, stringRedisTemplate);
+    }
+
+    private static ProjectMember member(String projectId, Role role) {
+        return ProjectMember.builder().projectId(projectId).memberId(USER_ID).role(role).build();
+    }
+}
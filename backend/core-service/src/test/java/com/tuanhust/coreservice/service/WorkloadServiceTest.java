@@ -0,0 +1,82 @@
+package com.tuanhust.coreservice.service;
+
+import com.tuanhust.coreservice.config.UserPrincipal;
+import com.tuanhust.coreservice.dto.ActionType;
+import com.tuanhust.coreservice.dto.MemberSnapshot;
+import com.tuanhust.coreservice.dto.TaskSnapshot;
+import com.tuanhust.coreservice.entity.enums.Priority;
+import com.tuanhust.coreservice.entity.enums.Status;
+import com.tuanhust.coreservice.listener.TaskEvent;
+import com.tuanhust.coreservice.repository.MemberWorkloadRepository;
+import com.tuanhust.coreservice.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+class WorkloadServiceTest {
+    private static final String PROJECT_ID = "p1";
+    private static final String TASK_ID = "t1";
+    private static final Instant PAST = Instant.now().minus(1, ChronoUnit.DAYS);
+    private static final Instant FUTURE = Instant.now().plus(1, ChronoUnit.DAYS);
+
+    private final MemberWorkloadRepository repository = mock(MemberWorkloadRepository.class);
+    private final WorkloadService workloadService = new WorkloadService(
+            repository, mock(ProjectRepository.class), mock(TransactionTemplate.class));
+
+    @Test
+    void createTaskCountsInitialAssigneesWithoutOverdue() {
+        workloadService.apply(event(ActionType.CREATE_TASK, snapshot(Status.ACTIVE, false, PAST, List.of("u1", "u2")),
+                Map.of(), Map.of("assignees", List.of())));
+
+        verify(repository).adjust(PROJECT_ID, List.of("u1", "u2"), 1);
+    }
+
+    @Test
+    void addAndRemoveAssigneeOnlyCountOpenTasks() {
+        workloadService.apply(event(ActionType.ADD_MEMBER_TASK, snapshot(Status.ACTIVE, false, FUTURE, null),
+                null, Map.of("assignees", List.of(new MemberSnapshot("u1", "u1@example.com", null, null)))));
+        workloadService.apply(event(ActionType.DELETE_MEMBER_TASK, snapshot(Status.ACTIVE, true, FUTURE, null),
+                null, Map.of("assignee", UserPrincipal.builder().userId("u2").build())));
+
+        verify(repository).adjust(PROJECT_ID, List.of("u1"), 1);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void completingTwiceDecrementsOnce() {
+        workloadService.apply(event(ActionType.COMPLETE_TASK, snapshot(Status.ACTIVE, true, PAST, null),
+                Map.of("old", Map.of("completed", false), "new", Map.of("completed", true)), null));
+        workloadService.apply(event(ActionType.COMPLETE_TASK, snapshot(Status.ACTIVE, true, PAST, null),
+                Map.of("old", Map.of("completed", true), "new", Map.of("completed", true)), null));
+
+        verify(repository, times(1)).adjustForTask(TASK_ID, -1);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void archiveAndRestoreSkipCompletedTasks() {
+        workloadService.apply(event(ActionType.ARCHIVE_TASK, snapshot(Status.ARCHIVED, false, FUTURE, null), Map.of(), null));
+        workloadService.apply(event(ActionType.RESTORE_TASK, snapshot(Status.ACTIVE, true, FUTURE, null), Map.of(), null));
+        workloadService.apply(event(ActionType.DELETE_TASK, snapshot(Status.ARCHIVED, false, FUTURE, List.of("u1")), Map.of(), null));
+
+        verify(repository).adjustForTask(TASK_ID, -1);
+        verifyNoMoreInteractions(repository);
+    }
+
+    private static TaskSnapshot snapshot(Status status, boolean completed, Instant dueAt, List<String> assigneeIds) {
+        return new TaskSnapshot(TaskSnapshot.VERSION, TASK_ID, "Task", null, status, Priority.MEDIUM,
+                completed, 1.0, dueAt, "c1", null, assigneeIds, null);
+    }
+
+    private static TaskEvent event(ActionType actionType, TaskSnapshot task,
+                                   Map<String, Object> metadata, Map<String, Object> notifyProps) {
+        return new TaskEvent(task, PROJECT_ID, UserPrincipal.builder().userId("actor").build(),
+                actionType, "", TASK_ID, "Task", metadata, notifyProps);
+    }
+}
@@ -0,0 +1,69 @@
+package com.tuanhust.coreservice.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Đếm số dòng JDBC trả về (mỗi lần {@link ResultSet#next()} thành công), để phát hiện tích Descartes
+ * mà số câu SQL không thấy được. Đăng ký bằng {@code @Import(JdbcRowCounter.class)}: bọc bean DataSource.
+ */
+public class JdbcRowCounter implements BeanPostProcessor {
+    private static final AtomicInteger ROWS = new AtomicInteger();
+
+    public static void reset() {
+        ROWS.set(0);
+    }
+
+    public static int count() {
+        return ROWS.get();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? wrap(dataSource, DataSource.class) : bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet resultSet && !(result instanceof Proxy)) {
+                return wrap(resultSet, ResultSet.class);
+            }
+            if (result instanceof Statement statement && !(result instanceof Proxy)) {
+                return wrap(statement, (Class<Statement>) statementType(statement));
+            }
+            if (result instanceof Connection connection && !(result instanceof Proxy)) {
+                return wrap(connection, Connection.class);
+            }
+            if (type == ResultSet.class && "next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                ROWS.incrementAndGet();
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(JdbcRowCounter.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Class<? extends Statement> statementType(Statement statement) {
+        if (statement instanceof java.sql.CallableStatement) {
+            return java.sql.CallableStatement.class;
+        }
+        if (statement instanceof java.sql.PreparedStatement) {
+            return java.sql.PreparedStatement.class;
+        }
+        return Statement.class;
+    }
+}
@@ -0,0 +1,103 @@
+package com.tuanhust.coreservice.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ghi lại từng câu SQL Hibernate thực sự chạy cùng các tham số đã bind, để chạy lại y hệt (vd. dưới EXPLAIN)
+ * trên connection khác. Statement inspector chỉ thấy câu SQL, không thấy giá trị tham số, nên phải bắt ở tầng
+ * JDBC. Đăng ký bằng {@code @Import(PreparedStatementRecorder.class)}: bọc bean DataSource.
+ */
+public class PreparedStatementRecorder implements BeanPostProcessor {
+    private static final List<Recorded> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    public record Binding(Method method, Object[] args) {
+    }
+
+    public record Recorded(String sql, List<Binding> bindings) {
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.method().invoke(statement, binding.args());
+                } catch (IllegalAccessException e) {
+                    throw new SQLException(e);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause() instanceof SQLException sqlException ? sqlException : new SQLException(e);
+                }
+            }
+        }
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static List<Recorded> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource
+                ? proxy(DataSource.class, dataSource, (target, method, args) -> {
+                    Object result = method.invoke(target, args);
+                    return result instanceof Connection connection ? connection(connection) : result;
+                })
+                : bean;
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof PreparedStatement statement && method.getName().startsWith("prepare")) {
+                return statement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement statement(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+            Class<?>[] types = method.getParameterTypes();
+            // setString(int, ...), setObject(int, ...), setNull(int, int)...; bỏ qua setFetchSize, setMaxRows
+            if (method.getName().startsWith("set") && types.length >= 2 && types[0] == int.class) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (method.getName().equals("clearParameters")) {
+                bindings.clear();
+            } else if (method.getName().startsWith("execute")) {
+                STATEMENTS.add(new Recorded(sql, List.copyOf(bindings)));
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(PreparedStatementRecorder.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+}
@@ -0,0 +1,80 @@
+package com.tuanhust.coreservice.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Kết quả {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)} của một câu SQL có tham số dạng {@code :name}, hoặc
+ * của câu SQL Hibernate sinh ra cùng tham số đã bind (xem {@link PreparedStatementRecorder}).
+ */
+public record QueryPlan(JsonNode plan, double executionTimeMs) {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern NAMED_PARAM = Pattern.compile("(?<!:):(\\w+)");
+
+    @FunctionalInterface
+    public interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    public static QueryPlan explain(Connection connection, String sql, Map<String, ?> params)
+            throws SQLException {
+        List<Object> values = new ArrayList<>();
+        Matcher matcher = NAMED_PARAM.matcher(sql);
+        StringBuilder positional = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            if (!params.containsKey(name)) {
+                throw new IllegalArgumentException("Missing parameter :" + name);
+            }
+            values.add(params.get(name));
+            matcher.appendReplacement(positional, "?");
+        }
+        matcher.appendTail(positional);
+
+        return explain(connection, positional.toString(), statement -> {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+        });
+    }
+
+    public static QueryPlan explain(Connection connection, String sql, Binder binder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+            binder.bind(statement);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                JsonNode root = MAPPER.readTree(rs.getString(1)).get(0);
+                return new QueryPlan(root.get("Plan"), root.get("Execution Time").asDouble());
+            } catch (JsonProcessingException e) {
+                throw new SQLException("Cannot parse plan", e);
+            }
+        }
+    }
+
+    public Set<String> seqScannedRelations() {
+        Set<String> relations = new TreeSet<>();
+        collect(plan, relations);
+        return relations;
+    }
+
+    public long sharedBlocks() {
+        return plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+    }
+
+    private static void collect(JsonNode node, Set<String> relations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collect(child, relations));
+    }
+}
@@ -0,0 +1,48 @@
+package com.tuanhust.coreservice.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Đếm số câu SQL Hibernate chuẩn bị, dùng để khoá fetch plan của từng service method.
+ * Đăng ký qua {@code hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+    public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+        reset();
+        T result = action.get();
+        int executed = count();
+        assertTrue(executed <= max,
+                "Expected at most " + max + " SQL statements but " + executed + " were executed");
+        return result;
+    }
+
+    // Cần @Import(JdbcRowCounter.class); số dòng bắt được tích Descartes khi fetch join nhiều collection
+    public static <T> T assertMaxStatementsAndRows(int maxStatements, int maxRows, Supplier<T> action) {
+        JdbcRowCounter.reset();
+        T result = assertMaxStatements(maxStatements, action);
+        int rows = JdbcRowCounter.count();
+        assertTrue(rows <= maxRows, "Expected at most " + maxRows + " JDBC rows but " + rows + " were read");
+        return result;
+    }
+}
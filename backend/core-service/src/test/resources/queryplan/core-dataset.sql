@@ -0,0 +1,122 @@
+-- Dataset cho QueryPlanRegressionTest, chạy sau phần core_db của init.sql.
+-- ${projects}, ${users}, ${tasks} được thay bởi test. Kích thước project theo power-law:
+-- p0 là dự án "nóng" nhất, các dự án có chỉ số lớn chỉ có vài task.
+select setseed(0.42);
+
+insert into projects (project_id, name, description, status, creator_id, due_at, created_at, updated_at, archived_at)
+select 'p' || i,
+       'Project ' || i,
+       'Description ' || i,
+       case when i % 50 = 49 then 'ARCHIVED' else 'ACTIVE' end,
+       'u' || (i % ${users}),
+       now() + (i % 90) * interval '1 day',
+       now() - (i % 365) * interval '1 day',
+       now(),
+       case when i % 50 = 49 then now() - interval '10 days' end
+from generate_series(0, ${projects} - 1) i;
+
+insert into board_columns (board_column_id, name, sort_order, status, archived_at, project_id)
+select 'c' || p || '_' || k,
+       'Column ' || k,
+       k,
+       case when k = 4 and p % 10 = 0 then 'ARCHIVED' else 'ACTIVE' end,
+       case when k = 4 and p % 10 = 0 then now() - interval '5 days' end,
+       'p' || p
+from generate_series(0, ${projects} - 1) p,
+     generate_series(0, 4) k;
+
+insert into labels (label_id, color, name, project_id)
+select 'l' || p || '_' || k, '#00000' || k, 'Label ' || k, 'p' || p
+from generate_series(0, ${projects} - 1) p,
+     generate_series(0, 5) k;
+
+insert into project_members (member_id, project_id, email, joined_at, role)
+select 'u' || m.id,
+       'p' || p,
+       'u' || m.id || '@example.com',
+       now(),
+       case when m.id = p % ${users} then 'OWNER' else 'MEMBER' end
+from generate_series(0, ${projects} - 1) p
+         cross join lateral (
+    select p % ${users} as id
+    union
+    select (p * 31 + k * 17) % ${users}
+    from generate_series(1, 2 + floor(30 * power(random(), 4))::int + 0 * p) k
+    ) m;
+
+insert into tasks (task_id, title, description, status, priority, completed, due_at, archived_at,
+                   created_at, updated_at, creator_id, sort_order, project_id, board_column_id)
+select 't' || g,
+       'Task ' || g,
+       'Description ' || g,
+       case when g % 20 = 7 then 'ARCHIVED' else 'ACTIVE' end,
+       (array ['LOW','MEDIUM','HIGH'])[1 + g % 3],
+       r.a > 0.7,
+       case when g % 5 = 0 then null else now() + ((g % 121) - 60) * interval '1 day' end,
+       case when g % 20 = 7 then now() - (g % 400) * interval '1 day' end,
+       now() - (g % 400) * interval '1 day',
+       now(),
+       'u' || (g % ${users}),
+       g,
+       'p' || r.p,
+       'c' || r.p || '_' || (g % 4)
+from generate_series(0, ${tasks} - 1) g
+         cross join lateral (
+    select least(floor(${projects} * power(random(), 3))::int + 0 * g, ${projects} - 1) as p,
+           random() as a
+    ) r;
+
+insert into task_assignee (assignee_id, task_id, join_at)
+select 'u' || ((g * 7) % ${users}), 't' || g, now()
+from generate_series(0, ${tasks} - 1) g
+where g % 4 <> 3
+union all
+select 'u' || ((g * 13 + 1) % ${users}), 't' || g, now()
+from generate_series(0, ${tasks} - 1) g
+where g % 2 = 0
+on conflict do nothing;
+
+insert into task_labels (label_id, task_id)
+select 'l' || substr(t.project_id, 2) || '_' || (t.sort_order::bigint % 6), t.task_id
+from tasks t
+where t.sort_order::bigint % 3 = 0;
+
+insert into comments (comment_id, body, created_at, creator_id, task_id, updated_at)
+select 'cm' || g,
+       'Comment ' || g,
+       now() - (g % 1000) * interval '1 hour',
+       'u' || (g % ${users}),
+       't' || ((g * 2) % ${tasks}),
+       now() - (g % 1000) * interval '1 hour'
+from generate_series(0, ${tasks} / 2 - 1) g;
+
+insert into comment_mentions (comment_id, mention_id)
+select 'cm' || g, 'u' || ((g * 3) % ${users})
+from generate_series(0, ${tasks} / 4 - 1) g;
+
+insert into check_list (check_list_id, body, created_at, creator_id, done, task_id, updated_at)
+select 'cl' || g,
+       'Item ' || g,
+       now(),
+       'u' || (g % ${users}),
+       g % 3 = 0,
+       't' || ((g * 2 + 1) % ${tasks}),
+       now()
+from generate_series(0, ${tasks} / 2 - 1) g;
+
+insert into task_reminders (task_id, fire_at)
+select task_id, due_at - interval '1 hour'
+from tasks
+where status <> 'ARCHIVED' and completed = false and due_at > now();
+
+-- Cold tier: task lưu trữ quá 90 ngày nằm ở tasks_archive như sau khi TaskArchiveService chạy
+insert into tasks_archive (task_id, title, description, status, priority, completed, due_at, archived_at,
+                           created_at, updated_at, creator_id, sort_order, project_id, board_column_id)
+select task_id, title, description, status, priority, completed, due_at, archived_at,
+       created_at, updated_at, creator_id, sort_order, project_id, board_column_id
+from tasks
+where status = 'ARCHIVED' and archived_at < now() - interval '90 days';
+
+delete from tasks where status = 'ARCHIVED' and archived_at < now() - interval '90 days';
+
+analyze;
@@ -24,7 +24,19 @@ public class ActivityConsumer {
         try {
             switch (event.actionType()) {
                 case "DELETE_TASK": {
-                    storageService.deleteFilesByTask(event.projectId(), event.taskId());
+                    if (event.taskId() != null) {
+                        storageService.deleteFilesByTask(event.projectId(), event.taskId());
+                    }
+                    // Lô task do core-service xóa theo hạn giữ lại
+                    for (String taskId : taskIds(event)) {
+                        storageService.deleteFilesByTask(event.projectId(), taskId);
+                    }
+                    break;
+                }
+                case "DELETE_BOARD_COLUMN": {
+                    for (String taskId : taskIds(event)) {
+                        storageService.deleteFilesByTask(event.projectId(), taskId);
+                    }
                     break;
                 }
                 case "DELETE_PROJECT": {
@@ -41,6 +53,13 @@ public class ActivityConsumer {
             log.error("Failed to publish activity event: {}", event, e);
         }
     }
+
+    private static List<String> taskIds(ActivityEvent event) {
+        if (event.metadata() == null || !(event.metadata().get("taskIds") instanceof List<?> ids)) {
+            return List.of();
+        }
+        return ids.stream().map(String::valueOf).toList();
+    }
 }
 
 
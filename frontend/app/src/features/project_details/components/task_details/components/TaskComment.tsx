@@ -48,7 +48,7 @@ export const TaskComment: React.FC<TaskCommentProps> = ({task}) => {
     );
     const {
         newComment, setNewComment,
-        createCommentMutation, handleDeleteComment, updateCommentMutation
+        createCommentMutation, handleDeleteComment, updateCommentMutation, loadMoreCommentsMutation
     } = useComment(task);
 
     const [editCommentId, setEditCommentId] = useState<string>("");
@@ -192,6 +192,19 @@ export const TaskComment: React.FC<TaskCommentProps> = ({task}) => {
                         </div>
                     </div>
                 })}
+                {task.commentCursor && (
+                    <button
+                        onClick={() => loadMoreCommentsMutation.mutate()}
+                        disabled={loadMoreCommentsMutation.isPending}
+                        className="w-full px-3 py-1.5 text-xs text-gray-600 hover:bg-gray-100 rounded
+                                   disabled:opacity-50 flex items-center justify-center gap-1"
+                    >
+                        {loadMoreCommentsMutation.isPending && (
+                            <Loader2 className="h-3 w-3 animate-spin"/>
+                        )}
+                        Xem thêm bình luận ({task.commentCount - task.comments.length})
+                    </button>
+                )}
             </div>
         </div>
     )
@@ -20,7 +20,8 @@ export const useComment = (task: TaskDetailResponse) => {
                 if (!old) return old;
                 return {
                     ...old,
-                    comments: [newComment, ...(old.comments || [])]
+                    comments: [newComment, ...(old.comments || [])],
+                    commentCount: old.commentCount + 1
                 };
             });
             setNewComment("");
@@ -37,7 +38,8 @@ export const useComment = (task: TaskDetailResponse) => {
                 if (!old) return old;
                 return {
                     ...old,
-                    comments: old.comments.filter(c => c.commentId !== commentId)
+                    comments: old.comments.filter(c => c.commentId !== commentId),
+                    commentCount: Math.max(old.commentCount - 1, 0)
                 };
             });
         },
@@ -63,6 +65,24 @@ export const useComment = (task: TaskDetailResponse) => {
         }
     });
 
+    const loadMoreCommentsMutation = useMutation({
+        mutationFn: () => TaskService.getComments(projectId, taskId, task.commentCursor ?? undefined),
+        onSuccess: (page) => {
+            queryClient.setQueryData(["task", taskId], (old: TaskDetailResponse) => {
+                if (!old) return old;
+                const loaded = new Set(old.comments.map(c => c.commentId));
+                return {
+                    ...old,
+                    comments: [...old.comments, ...page.comments.filter(c => !loaded.has(c.commentId))],
+                    commentCursor: page.nextCursor
+                };
+            });
+        },
+        onError: (e) => {
+            toast.error(e.message);
+        }
+    });
+
     const handleDeleteComment = async (id: string) => {
         const confirmed = await confirm({
             title: 'Xóa bình luận?',
@@ -79,6 +99,6 @@ export const useComment = (task: TaskDetailResponse) => {
 
     return {
         newComment, setNewComment, createCommentMutation,
-        updateCommentMutation, handleDeleteComment
+        updateCommentMutation, handleDeleteComment, loadMoreCommentsMutation
     }
 }
\ No newline at end of file
@@ -1,3 +1,4 @@
 export * from "./useProjectDetail"
 export * from "./useActivityStream"
-export * from "./useCreateTask"
\ No newline at end of file
+export * from "./useCreateTask"
+export * from "./useBoardStream"
\ No newline at end of file
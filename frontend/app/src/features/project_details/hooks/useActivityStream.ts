@@ -82,7 +82,10 @@ export const useActivityStream = (projectId: string) => {
                     queryClient.invalidateQueries({queryKey: ['archived', projectId]});
                 } else {
                     queryClient.invalidateQueries({queryKey: ['task', activity.taskId]});
-                    queryClient.invalidateQueries({queryKey: ['tasks', projectId]});
+                    // Vị trí thẻ đã được useBoardStream cập nhật
+                    if (activity.actionType !== "MOVE_TASK") {
+                        queryClient.invalidateQueries({queryKey: ['tasks', projectId]});
+                    }
                 }
             }
             if (activity.actionType.includes("ARCHIVE") ||
@@ -0,0 +1,80 @@
+import {useEffect} from "react";
+import {EventSourcePolyfill} from 'event-source-polyfill';
+import {useQueryClient} from "@tanstack/react-query";
+import type {BoardDelta, ProjectDetailResponse, TaskResponse} from "@/shared/types";
+import {useAuthStore} from "@/store";
+
+// Áp delta của board trực tiếp vào cache, không refetch danh sách task
+export const useBoardStream = (projectId: string) => {
+    const queryClient = useQueryClient();
+    const accessToken = useAuthStore((state) => state.accessToken);
+    const userId = useAuthStore(state => state.userInfo!.userId);
+
+    useEffect(() => {
+        if (!projectId) return;
+        if (!accessToken) return;
+
+        const sseUrl = import.meta.env.VITE_API_BASE_URL + `/api/project/${projectId}/board/stream`;
+        const eventSource = new EventSourcePolyfill(sseUrl, {
+            headers: {
+                'Authorization': `Bearer ${accessToken}`
+            },
+            heartbeatTimeout: 120000,
+        });
+
+        eventSource.addEventListener('board', (event: any) => {
+            const delta: BoardDelta = JSON.parse(event.data);
+            // Thay đổi của chính mình đã được cập nhật optimistic
+            if (delta.actorId === userId) return;
+            switch (delta.type) {
+                case "TASK_MOVED":
+                    queryClient.setQueryData(["tasks", projectId], (old: TaskResponse[] | undefined) =>
+                        old?.map(t => t.taskId === delta.taskId
+                            ? {...t, boardColumnId: delta.boardColumnId!, sortOrder: delta.sortOrder!}
+                            : t));
+                    break;
+                case "TASK_UPDATED":
+                    queryClient.setQueryData(["tasks", projectId], (old: TaskResponse[] | undefined) =>
+                        old?.map(t => t.taskId === delta.taskId
+                            ? {
+                                ...t,
+                                title: delta.title ?? t.title,
+                                priority: delta.priority ?? t.priority,
+                                dueAt: delta.dueAt ?? null,
+                                completed: delta.completed ?? t.completed
+                            }
+                            : t));
+                    break;
+                case "TASK_REMOVED":
+                    queryClient.setQueryData(["tasks", projectId], (old: TaskResponse[] | undefined) =>
+                        old?.filter(t => t.taskId !== delta.taskId));
+                    break;
+                case "COLUMN_MOVED":
+                    queryClient.setQueryData(["projectDetails", projectId], (old: ProjectDetailResponse | undefined) =>
+                        old && {
+                            ...old,
+                            boardColumns: old.boardColumns.map(c => c.boardColumnId === delta.boardColumnId
+                                ? {...c, sortOrder: delta.sortOrder!}
+                                : c)
+                        });
+                    break;
+                case "COLUMN_REMOVED":
+                    queryClient.setQueryData(["projectDetails", projectId], (old: ProjectDetailResponse | undefined) =>
+                        old && {
+                            ...old,
+                            boardColumns: old.boardColumns.filter(c => c.boardColumnId !== delta.boardColumnId)
+                        });
+                    break;
+            }
+        });
+
+        eventSource.onerror = (err: any) => {
+            if (err.status === 401) {
+                eventSource.close();
+            }
+        };
+        return () => {
+            eventSource.close();
+        };
+    }, [accessToken, projectId]);
+}
@@ -1,6 +1,6 @@
 import React from "react";
 import {Link, Outlet, useParams} from "react-router-dom";
-import {useActivityStream, useProjectDetail} from "@/features/project_details/hooks";
+import {useActivityStream, useBoardStream, useProjectDetail} from "@/features/project_details/hooks";
 import {Loader2} from "lucide-react";
 import {ProjectDetailHeader} from "@/features/project_details/layouts";
 import type {ProjectDetailResponse, TaskResponse} from "@/shared/types";
@@ -17,6 +17,7 @@ export const ProjectDetailPage: React.FC = () => {
 
     const {projectDetail, tasks, isLoading, isError} = useProjectDetail(projectId!);
     const activityStream = useActivityStream(projectId!);
+    useBoardStream(projectId!);
 
     const outletContext: ProjectDetailContext = {
         projectDetail: projectDetail!,
@@ -4,7 +4,7 @@ import {useSortable} from "@dnd-kit/sortable";
 import {CSS} from '@dnd-kit/utilities';
 import {useLocation, useNavigate, useOutletContext} from "react-router-dom";
 import type {ProjectDetailContext} from "@/features/project_details";
-import {CalendarDays} from "lucide-react";
+import {CalendarDays, CheckSquare, MessageSquare, Paperclip} from "lucide-react";
 import {formatDate, isOverdue, PRIORITY_CONFIG} from "@/utils";
 import {Avatar} from "@/shared/components";
 
@@ -79,6 +79,27 @@ export const TaskCard = React.memo<TaskCardProps>(({task, isDragging}) => {
                         {priority.label}
                     </span>
                 </div>
+                {(task.commentCount > 0 || task.checkListCount > 0 || task.attachmentCount > 0) && (
+                    <div className="flex items-center gap-2.5 mb-1.5 text-[11px] text-gray-500">
+                        {task.commentCount > 0 && (
+                            <span className="flex items-center gap-0.5" title="Bình luận">
+                                <MessageSquare className="h-3 w-3"/>{task.commentCount}
+                            </span>
+                        )}
+                        {task.checkListCount > 0 && (
+                            <span
+                                className={`flex items-center gap-0.5 ${task.checkListDoneCount === task.checkListCount ? "text-green-600" : ""}`}
+                                title="Công việc">
+                                <CheckSquare className="h-3 w-3"/>{task.checkListDoneCount}/{task.checkListCount}
+                            </span>
+                        )}
+                        {task.attachmentCount > 0 && (
+                            <span className="flex items-center gap-0.5" title="File đính kèm">
+                                <Paperclip className="h-3 w-3"/>{task.attachmentCount}
+                            </span>
+                        )}
+                    </div>
+                )}
                 <div className="flex items-center justify-between text-xs">
                     <div
                         className={`flex items-center gap-1 ${overdue ? "text-red-600 font-medium" : "text-gray-600"}`}
@@ -4,7 +4,7 @@ import type {
     BoardColumnRequest,
     BoardColumnResponse,
     CreateProjectRequest, EditProjectData, InviteMemberRequest, LabelRequest, LabelResponse,
-    PaginatedResponse, ProjectDetailResponse, ProjectMemberResponse,
+    MemberWorkloadResponse, PaginatedResponse, PortfolioResponse, ProjectDetailResponse, ProjectMemberResponse,
     ProjectResponse, ProjectRole,
 } from '@/shared/types';
 
@@ -108,4 +108,17 @@ export const ProjectService = {
     getMyArchivedProjects: async (): Promise<ArchivedItemResponse[]> => {
         return await privateApi.get('/project/archived/me');
     },
+    getProjectWorkload: async (projectId: string): Promise<MemberWorkloadResponse[]> => {
+        return await privateApi.get(`/project/${projectId}/workload`);
+    },
+    getPortfolioWorkload: async (): Promise<MemberWorkloadResponse[]> => {
+        return await privateApi.get('/project/workload/me');
+    },
+    getPortfolio: async (): Promise<PortfolioResponse> => {
+        return await privateApi.get('/project/portfolio', {
+            params: {
+                zone: Intl.DateTimeFormat().resolvedOptions().timeZone
+            }
+        });
+    },
 }
\ No newline at end of file
@@ -1,16 +1,20 @@
 import {privateApi} from '@/shared/api';
 import type {
-    TaskResponse, CheckListResponse, CommentResponse,
-    TaskDetailResponse, TaskRequest, FileResponse
+    TaskResponse, CheckListResponse, CommentResponse, CommentPageResponse,
+    TaskDetailResponse, TaskRequest, FileResponse, CalendarDayResponse
 } from '@/shared/types';
 
 
+// Mỗi lần gọi một key mới; axios gửi lại cùng config (vd. sau khi refresh token) nên giữ nguyên key
+const idempotencyHeader = () => ({'Idempotency-Key': crypto.randomUUID()});
+
 export const TaskService = {
     getTasksByProject: async (projectId: string): Promise<TaskResponse[]> => {
         return await privateApi.get(`/project/${projectId}/task`);
     },
     createTask: async (projectId: string, taskRequest: TaskRequest): Promise<TaskResponse> => {
-        return await privateApi.post(`/project/${projectId}/task`, taskRequest);
+        return await privateApi.post(`/project/${projectId}/task`, taskRequest,
+            {headers: idempotencyHeader()});
     },
     archiveTask: async (projectId: string, taskId: string): Promise<TaskResponse> => {
         return await privateApi.post(`/project/${projectId}/task/${taskId}/archive`);
@@ -86,7 +90,8 @@ export const TaskService = {
             {
                 params: {
                     body
-                }
+                },
+                headers: idempotencyHeader()
             });
     },
     updateCheckList: async (
@@ -110,8 +115,16 @@ export const TaskService = {
             `/project/${projectId}/task/${taskId}/checkList/${checkListId}`
         );
     },
+    getComments: async (projectId: string, taskId: string, cursor?: string): Promise<CommentPageResponse> => {
+        return await privateApi.get(`/project/${projectId}/task/${taskId}/comment`, {
+            params: {
+                cursor: cursor
+            }
+        });
+    },
     createComment: async (projectId: string, taskId: string, body: string): Promise<CommentResponse> => {
-        return await privateApi.post(`/project/${projectId}/task/${taskId}/comment`, {body: body});
+        return await privateApi.post(`/project/${projectId}/task/${taskId}/comment`, {body: body},
+            {headers: idempotencyHeader()});
     },
     deleteComment: async (projectId: string, taskId: string, commentId: string): Promise<void> => {
         return await privateApi.delete(`/project/${projectId}/task/${taskId}/comment/${commentId}`);
@@ -122,6 +135,15 @@ export const TaskService = {
     getMyTask: async (): Promise<TaskResponse[]> => {
         return await privateApi.get(`/tasks/me`);
     },
+    // from/to dạng yyyy-MM-dd, tính cả ngày cuối
+    getMyCalendar: async (from: string, to: string, includeCompleted = false): Promise<CalendarDayResponse[]> => {
+        return await privateApi.get(`/tasks/me/calendar`, {
+            params: {
+                from, to, includeCompleted,
+                zone: Intl.DateTimeFormat().resolvedOptions().timeZone
+            }
+        });
+    },
     uploadFile: async (projectId: string, taskId: string, file: File): Promise<FileResponse> => {
         const formData = new FormData();
         formData.append('file', file);
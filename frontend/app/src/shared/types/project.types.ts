@@ -89,4 +89,48 @@ export interface ArchivedItemResponse {
     name: string;
     type: string;
     archivedAt: string;
-}
\ No newline at end of file
+}
+
+export interface MemberWorkloadResponse {
+    projectId: string;
+    memberId: string;
+    openCount: number;
+    overdueCount: number;
+    reconciledAt: string | null;
+}
+
+export interface ColumnSummaryResponse {
+    boardColumnId: string;
+    name: string;
+    taskCount: number;
+    overdueCount: number;
+    dueThisWeekCount: number;
+}
+
+export interface RecentActivityResponse {
+    taskId: string | null;
+    actorId: string | null;
+    actorName: string | null;
+    actionType: string;
+    description: string;
+    targetName: string | null;
+    createdAt: string;
+}
+
+export interface ProjectSummaryResponse {
+    projectId: string;
+    name: string;
+    role: ProjectRole;
+    dueAt: string | null;
+    taskCount: number;
+    overdueCount: number;
+    dueThisWeekCount: number;
+    columns: ColumnSummaryResponse[];
+    // null khi activity-service không trả kịp
+    recentActivities: RecentActivityResponse[] | null;
+}
+
+export interface PortfolioResponse {
+    projects: ProjectSummaryResponse[];
+    partial: boolean;
+}
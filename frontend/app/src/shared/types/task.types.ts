@@ -19,6 +19,11 @@ export interface TaskResponse {
     labelIds: string[];
 
     projectName: string;
+
+    commentCount: number;
+    checkListCount: number;
+    checkListDoneCount: number;
+    attachmentCount: number;
 }
 
 export interface TaskRequest {
@@ -54,6 +59,26 @@ export interface CommentResponse {
     mentionIds: string[];
 }
 
+export interface CommentPageResponse {
+    comments: CommentResponse[];
+    nextCursor: string | null;
+}
+
+export interface CalendarTaskResponse {
+    taskId: string;
+    projectId: string;
+    projectName: string;
+    title: string;
+    priority: TaskPriority;
+    completed: boolean;
+    dueAt: string;
+}
+
+export interface CalendarDayResponse {
+    date: string;
+    tasks: CalendarTaskResponse[];
+}
+
 export interface TaskDetailResponse {
     taskId: string;
     title: string;
@@ -72,7 +97,10 @@ export interface TaskDetailResponse {
     assigneeIds: string[];
     labelIds: string[];
 
+    // Chỉ vài bình luận mới nhất, phần còn lại tải thêm qua commentCursor
     comments: CommentResponse[];
+    commentCount: number;
+    commentCursor: string | null;
     checkLists: CheckListResponse[];
 }
 
@@ -80,4 +108,19 @@ export interface FileResponse {
     fileName: string;
     key: string;
     size: number;
-}
\ No newline at end of file
+}
+export type BoardDeltaType = "TASK_MOVED" | "TASK_UPDATED" | "TASK_REMOVED" | "COLUMN_MOVED" | "COLUMN_REMOVED";
+
+export interface BoardDelta {
+    type: BoardDeltaType;
+    projectId: string;
+    taskId?: string;
+    boardColumnId?: string;
+    sortOrder?: number;
+    title?: string;
+    priority?: TaskPriority;
+    dueAt?: string;
+    completed?: boolean;
+    actorId: string;
+    createdAt: string;
+}
@@ -114,6 +114,20 @@ create table project_members
     primary key (member_id, project_id),
     constraint project_members_role_check check ( role in ('OWNER', 'ADMIN', 'MEMBER', 'OBSERVER'))
 );
+create index idx_project_members_project_id on project_members (project_id);
+
+-- Read model workload (WorkloadService): cộng dồn theo event task, đối soát định kỳ; xóa theo thành viên
+create table member_workloads
+(
+    project_id    varchar not null,
+    member_id     varchar not null,
+    open_count    integer not null default 0,
+    overdue_count integer not null default 0,
+    reconciled_at timestamptz,
+
+    primary key (project_id, member_id),
+    foreign key (member_id, project_id) references project_members (member_id, project_id) on delete cascade
+);
 
 create table tasks
 (
@@ -129,11 +143,26 @@ create table tasks
     updated_at      timestamptz,
     creator_id      varchar not null,
     sort_order      double precision,
+    -- Bộ đếm cho thẻ, cập nhật cùng transaction với thao tác trên bảng con
+    comment_count         integer not null default 0,
+    check_list_count      integer not null default 0,
+    check_list_done_count integer not null default 0,
+    attachment_count      integer not null default 0,
     project_id      varchar references projects (project_id) on delete cascade,
     board_column_id varchar references board_columns (board_column_id) on delete cascade,
     constraint uk_board_column_sort unique (board_column_id, sort_order)
 );
 create index idx_project_id on tasks (project_id);
+-- Truy vấn qua entity Task luôn kèm @SQLRestriction "status <> 'ARCHIVED'", predicate của partial index
+-- phải viết y hệt thì planner mới dùng được; các native query cho mục lưu trữ dùng status = 'ARCHIVED'.
+create index idx_tasks_active_project on tasks (project_id) where status <> 'ARCHIVED';
+create index idx_tasks_active_column_sort on tasks (board_column_id, sort_order) where status <> 'ARCHIVED';
+create index idx_tasks_active_due_at on tasks (due_at) where status <> 'ARCHIVED';
+create index idx_tasks_archived_project on tasks (project_id, archived_at) where status = 'ARCHIVED';
+-- Bộ lọc board (TaskFilterRepositoryImpl); lọc nhãn/người thực hiện đi qua khóa chính (label_id, task_id)
+-- và (assignee_id, task_id) của task_labels/task_assignee
+create index idx_tasks_active_project_priority_due on tasks (project_id, priority, due_at) where status <> 'ARCHIVED';
+create index idx_tasks_active_project_creator on tasks (project_id, creator_id) where status <> 'ARCHIVED';
 
 create table task_labels
 (
@@ -141,6 +170,7 @@ create table task_labels
     task_id  varchar not null references tasks (task_id) on delete cascade,
     primary key (label_id, task_id)
 );
+create index idx_task_labels_task_id on task_labels (task_id);
 
 create table task_assignee
 (
@@ -150,6 +180,7 @@ create table task_assignee
 
     primary key (assignee_id, task_id)
 );
+create index idx_task_assignee_task_id on task_assignee (task_id);
 
 create table comments
 (
@@ -161,6 +192,8 @@ create table comments
     updated_at timestamptz
 );
 create index idx_comment_task_id on comments (task_id);
+-- Phân trang keyset bình luận theo (created_at, comment_id), mới nhất trước (quét ngược index)
+create index idx_comments_task_created on comments (task_id, created_at, comment_id);
 
 create table comment_mentions
 (
@@ -168,6 +201,7 @@ create table comment_mentions
     mention_id varchar not null,
     primary key (mention_id, comment_id)
 );
+create index idx_comment_mentions_comment_id on comment_mentions (comment_id);
 
 create table check_list
 (
@@ -181,4 +215,82 @@ create table check_list
 
     constraint uk_checklist_task_id_body unique (body, task_id)
 );
-create index idx_checklist_task_id on check_list (task_id);
\ No newline at end of file
+create index idx_checklist_task_id on check_list (task_id);
+
+-- File đính kèm đã được đếm vào tasks.attachment_count (từ event UPLOAD_FILE/DELETE_FILE của storage-service)
+create table task_attachments
+(
+    file_key   varchar primary key,
+    task_id    varchar not null references tasks (task_id) on delete cascade,
+    created_at timestamptz default now()
+);
+create index idx_task_attachments_task_id on task_attachments (task_id);
+
+-- Lời nhắc trước hạn (TaskReminderScheduler): mỗi task một dòng, instance nhận lease lời nhắc sắp tới hạn
+create table task_reminders
+(
+    task_id       varchar primary key references tasks (task_id) on delete cascade,
+    fire_at       timestamptz not null,
+    claimed_by    varchar,
+    claimed_until timestamptz
+);
+create index idx_task_reminders_fire_at on task_reminders (fire_at);
+-- Backfill cho task đã có hạn trước khi có bảng này (lời nhắc chỉ được tạo khi ghi task);
+-- 60 phút khớp app.reminder.lead-minutes mặc định, lời nhắc đã qua giờ nhắc sẽ được gửi ngay ở lần nạp đầu
+insert into task_reminders (task_id, fire_at)
+select task_id, due_at - interval '60 minutes'
+from tasks
+where due_at > now() and completed = false and status <> 'ARCHIVED'
+on conflict (task_id) do nothing;
+
+-- Cold tier: task lưu trữ lâu được chuyển khỏi bảng tasks (TaskArchiveService), nhãn/người thực hiện
+-- và mention được giữ dạng mảng để khôi phục lại.
+create table tasks_archive
+(
+    task_id         varchar primary key,
+    title           varchar not null,
+    description     text,
+    status          varchar,
+    priority        varchar,
+    completed       boolean,
+    due_at          timestamptz,
+    archived_at     timestamptz,
+    created_at      timestamptz,
+    updated_at      timestamptz,
+    creator_id      varchar not null,
+    sort_order      double precision,
+    project_id      varchar references projects (project_id) on delete cascade,
+    board_column_id varchar references board_columns (board_column_id) on delete cascade,
+    label_ids       varchar[] not null default '{}',
+    assignee_ids    varchar[] not null default '{}',
+    attachment_keys varchar[] not null default '{}',
+    frozen_at       timestamptz default now()
+);
+create index idx_tasks_archive_project on tasks_archive (project_id, archived_at);
+create index idx_tasks_archive_column on tasks_archive (board_column_id);
+-- Xóa theo hạn giữ lại (ArchiveRetentionService)
+create index idx_tasks_archive_archived_at on tasks_archive (archived_at);
+
+create table comments_archive
+(
+    comment_id  varchar primary key,
+    body        text    not null,
+    created_at  timestamptz,
+    creator_id  varchar not null,
+    task_id     varchar not null references tasks_archive (task_id) on delete cascade,
+    updated_at  timestamptz,
+    mention_ids varchar[] not null default '{}'
+);
+create index idx_comments_archive_task_id on comments_archive (task_id);
+
+create table check_list_archive
+(
+    check_list_id varchar primary key,
+    body          varchar,
+    created_at    timestamptz,
+    creator_id    varchar not null,
+    done          boolean,
+    task_id       varchar not null references tasks_archive (task_id) on delete cascade,
+    updated_at    timestamptz
+);
+create index idx_check_list_archive_task_id on check_list_archive (task_id);